@@ -0,0 +1,65 @@
+package com.example.sms.config;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.CacheSpec;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import com.example.sms.utils.cache.codec.EmployeeResponseCodec;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public RegionCacheManager cacheManager(CacheProperties cacheProperties) {
+        Map<String, CacheSpec> regionSpecs = new LinkedHashMap<>();
+        cacheProperties.getRegions().forEach((name, region) -> regionSpecs.put(name, region.toSpec()));
+        RegionCacheManager cacheManager = new RegionCacheManager(
+                regionSpecs, cacheProperties.getDefaults().toSpec());
+
+        RegionCache employees = cacheManager.getCache(CacheNames.EMPLOYEES);
+        CacheProperties.Region employeesRegion = cacheProperties.getRegions().get(CacheNames.EMPLOYEES);
+        if (employeesRegion != null && employeesRegion.getOffHeapSize() != null) {
+            employees.enableOffHeap(new EmployeeResponseCodec(), employeesRegion.getOffHeapSize().toBytes());
+        }
+        employees.trackDependencies(value ->
+                ((EmployeeResponse) value).assignments().stream()
+                        .map(AssignmentResponse::id)
+                        .toList());
+        return cacheManager;
+    }
+
+    /**
+     * Runs refresh-ahead loads, which block on JDBC, on a few named threads with a bounded
+     * queue; refreshes that do not fit are skipped. Not a default candidate, so Spring Boot
+     * still configures its application task executor.
+     */
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(CacheProperties cacheProperties) {
+        CacheProperties.Refresh refresh = cacheProperties.getRefresh();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refresh.getThreads());
+        executor.setMaxPoolSize(refresh.getThreads());
+        executor.setQueueCapacity(refresh.getQueueCapacity());
+        executor.setThreadNamePrefix("cache-refresh-");
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(RegionCacheManager cacheManager) {
+        return registry -> cacheManager.getRegions()
+                .forEach(region -> new RegionCacheMetrics(region, List.of()).bindTo(registry));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.sms.config;
+
+import com.example.sms.utils.cache.CacheSpec;
+import com.example.sms.utils.cache.EvictionPolicy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "sms.cache")
+public class CacheProperties {
+
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new LinkedHashMap<>();
+    private Snapshot snapshot = new Snapshot();
+    private Refresh refresh = new Refresh();
+
+    public static class Region {
+        private int capacity = 1000;
+        private int concurrencyLevel = CacheSpec.DEFAULT_CONCURRENCY_LEVEL;
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LFU;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        private DataSize offHeapSize;
+        private DataSize maximumWeight;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getConcurrencyLevel() {
+            return concurrencyLevel;
+        }
+
+        public void setConcurrencyLevel(int concurrencyLevel) {
+            this.concurrencyLevel = concurrencyLevel;
+        }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+
+        public DataSize getOffHeapSize() {
+            return offHeapSize;
+        }
+
+        public void setOffHeapSize(DataSize offHeapSize) {
+            this.offHeapSize = offHeapSize;
+        }
+
+        public DataSize getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(DataSize maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public CacheSpec toSpec() {
+            return new CacheSpec(capacity, concurrencyLevel, evictionPolicy,
+                    expireAfterWrite, expireAfterAccess, refreshAfterWrite,
+                    maximumWeight != null ? maximumWeight.toBytes() : 0);
+        }
+    }
+
+    public static class Snapshot {
+        private boolean enabled;
+        private Path directory = Path.of("data", "cache");
+        private Duration interval = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+    }
+
+    public static class Refresh {
+        private int threads = 4;
+        private int queueCapacity = 100;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public Region getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Region defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    public void setRefresh(Refresh refresh) {
+        this.refresh = refresh;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.sms.config;
+
+import com.example.sms.mapper.AssignmentMapper;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCacheManager;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Registers the loaders used to refresh hot entity regions ahead of expiry. Loads run on the
+ * cache refresh executor in a read-only transaction, so lazy associations can be mapped off
+ * the request thread.
+ */
+@Configuration
+public class CacheRefreshConfig {
+
+    public CacheRefreshConfig(RegionCacheManager cacheManager,
+                              EmployeeRepository employeeRepository,
+                              EmployeeMapper employeeMapper,
+                              AssignmentRepository assignmentRepository,
+                              AssignmentMapper assignmentMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        cacheManager.getCache(CacheNames.EMPLOYEES).refreshWith(id -> readOnly.execute(status ->
+                employeeRepository.findById((Long) id)
+                        .map(employeeMapper::toEmployeeResponse)
+                        .orElse(null)), refreshExecutor);
+        cacheManager.getCache(CacheNames.ASSIGNMENTS).refreshWith(id -> readOnly.execute(status ->
+                assignmentRepository.findById((Long) id)
+                        .map(assignmentMapper::toAssignmentResponse)
+                        .orElse(null)), refreshExecutor);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sms.config;
+
+import com.example.sms.mapper.ResponseStamps;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import com.example.sms.utils.cache.codec.AssignmentResponseCodec;
+import com.example.sms.utils.cache.codec.EmployeeResponseCodec;
+import com.example.sms.utils.cache.codec.ValueCodec;
+import com.example.sms.utils.cache.snapshot.RegionSnapshotter;
+import com.example.sms.utils.cache.snapshot.RegionStamps;
+import com.example.sms.utils.cache.snapshot.VersionStamps;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Snapshots the entity regions to disk every {@code sms.cache.snapshot.interval} and on
+ * shutdown, and restores them before the web server starts taking requests, so a restart
+ * does not begin with an empty cache. Each cached response is stamped, beside the cache, with
+ * the entity versions it was mapped from, folded the same way as the database rows they are
+ * checked against, and anything changed in the database since it was cached is not restored.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "sms.cache.snapshot", name = "enabled", havingValue = "true")
+public class CacheSnapshotConfig implements SchedulingConfigurer, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotConfig.class);
+
+    private record SnapshotRegion(RegionCache cache, ValueCodec<?> codec, RegionStamps stamps,
+                                  VersionStamps current) {
+    }
+
+    private final CacheProperties.Snapshot properties;
+    private final RegionSnapshotter snapshotter;
+    private final List<SnapshotRegion> regions;
+
+    public CacheSnapshotConfig(CacheProperties cacheProperties,
+                               RegionCacheManager cacheManager,
+                               ResponseStamps responseStamps,
+                               EmployeeRepository employeeRepository,
+                               AssignmentRepository assignmentRepository) {
+
+        this.properties = cacheProperties.getSnapshot();
+        this.snapshotter = new RegionSnapshotter(properties.getDirectory());
+        RegionCache employees = cacheManager.getCache(CacheNames.EMPLOYEES);
+        RegionCache assignments = cacheManager.getCache(CacheNames.ASSIGNMENTS);
+        RegionStamps employeeStamps = stampsOf(employees);
+        RegionStamps assignmentStamps = stampsOf(assignments);
+        responseStamps.trackEmployees(employeeStamps);
+        responseStamps.trackAssignments(assignmentStamps);
+        this.regions = List.of(
+                new SnapshotRegion(employees, new EmployeeResponseCodec(), employeeStamps,
+                        ids -> VersionStamps.fold(employeeRepository.findVersionRows(ids))),
+                new SnapshotRegion(assignments, new AssignmentResponseCodec(), assignmentStamps,
+                        ids -> VersionStamps.fold(assignmentRepository.findVersionRows(ids))));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (SnapshotRegion region : regions) {
+            try {
+                int restored = snapshotter.restore(region.cache(), region.codec(), region.stamps(),
+                        region.current());
+                logger.info("Restored {} entries into cache region {}", restored, region.cache().getName());
+            } catch (Exception e) {
+                logger.warn("Could not restore cache region {}", region.cache().getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(
+                this::saveAll, properties.getInterval(), properties.getInterval()));
+    }
+
+    @PreDestroy
+    public synchronized void saveAll() {
+        for (SnapshotRegion region : regions) {
+            try {
+                snapshotter.save(region.cache(), region.codec(), region.stamps());
+            } catch (Exception e) {
+                logger.warn("Could not snapshot cache region {}", region.cache().getName(), e);
+            }
+        }
+    }
+
+    private static RegionStamps stampsOf(RegionCache region) {
+        RegionStamps stamps = new RegionStamps(region.getNativeCache().getCapacity());
+        region.getNativeCache().addListener(stamps);
+        return stamps;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.sms.config;
+
+import com.example.sms.utils.cache.CacheStats;
+import com.example.sms.utils.cache.RegionCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the counters of one {@link RegionCache} as the standard {@code cache.*} meters,
+ * plus load counts and time, expirations and weighted size. Meters read the region's
+ * {@link CacheStats} when scraped, nothing is recorded on the cache's hot path.
+ */
+public class RegionCacheMetrics extends CacheMeterBinder<RegionCache> {
+
+    public RegionCacheMetrics(RegionCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return stat(CacheStats::size);
+    }
+
+    @Override
+    protected long hitCount() {
+        return stat(CacheStats::hitCount);
+    }
+
+    @Override
+    protected Long missCount() {
+        return stat(CacheStats::missCount);
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return stat(CacheStats::evictionCount);
+    }
+
+    @Override
+    protected long putCount() {
+        return stat(CacheStats::putCount);
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        RegionCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        FunctionCounter.builder("cache.load", cache, counter(CacheStats::loadSuccessCount))
+                .tags(getTagsWithCacheName())
+                .tag("result", "success")
+                .description("The number of loads that completed")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, counter(CacheStats::loadFailureCount))
+                .tags(getTagsWithCacheName())
+                .tag("result", "failure")
+                .description("The number of loads that threw")
+                .register(registry);
+        FunctionTimer.builder("cache.load.duration", cache,
+                        region -> region.stats().loadSuccessCount() + region.stats().loadFailureCount(),
+                        counter(CacheStats::totalLoadTime), TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("The time spent loading values")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", cache, counter(CacheStats::expirationCount))
+                .tags(getTagsWithCacheName())
+                .description("The number of entries dropped on expiry")
+                .register(registry);
+        Gauge.builder("cache.weighted.size", cache, RegionCache::weightedSize)
+                .tags(getTagsWithCacheName())
+                .baseUnit(BaseUnits.BYTES)
+                .description("The estimated heap held by the entries of a weighted region")
+                .register(registry);
+    }
+
+    private long stat(ToLongFunction<CacheStats> stat) {
+        RegionCache cache = getCache();
+        return cache != null ? stat.applyAsLong(cache.stats()) : 0L;
+    }
+
+    private static ToDoubleFunction<RegionCache> counter(ToLongFunction<CacheStats> stat) {
+        return region -> stat.applyAsLong(region.stats());
+    }
+}
@@ -4,12 +4,13 @@ import com.example.sms.dto.request.AssignmentRequest;
 import com.example.sms.dto.request.FeedBackRequest;
 import com.example.sms.dto.response.AssignmentResponse;
 import com.example.sms.dto.response.FeedBackResponse;
+import com.example.sms.dto.response.PageResponse;
+import com.example.sms.model.ResponseView;
 import com.example.sms.repository.AssignmentRepository;
 import com.example.sms.service.AssignmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -37,9 +39,18 @@ public class AssignmentController {
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Get all assignments")
-    public ResponseEntity<List<AssignmentResponse>> getAllAssignments() {
-        return ResponseEntity.ok(assignmentService.getAll());
+    @Operation(summary = "Get a page of assignments",
+            description = "Pages are ordered by id. Pass nextCursor as cursor to get the next page; "
+                    + "a cursor keeps the sort it was started with. "
+                    + "view=summary returns the assignments without their feedbacks")
+    public ResponseEntity<PageResponse<?>> getAllAssignments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${sms.paging.default-size:50}") int size,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(ResponseView.parse(view) == ResponseView.SUMMARY
+                ? assignmentService.getSummaryPage(cursor, size, sort)
+                : assignmentService.getPage(cursor, size, sort));
     }
 
     @GetMapping("/{id}")
@@ -95,4 +106,4 @@ public class AssignmentController {
                 feedBackId,
                 feedBackRequest));
     }
-}
\ No newline at end of file
+}
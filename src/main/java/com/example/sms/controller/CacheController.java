@@ -0,0 +1,44 @@
+package com.example.sms.controller;
+
+import com.example.sms.utils.cache.CacheStats;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/cache")
+@Tag(name = "Cache", description = "Endpoints for inspecting cache regions")
+public class CacheController {
+
+    private final RegionCacheManager cacheManager;
+
+    public CacheController(RegionCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Returns hit, miss, put, eviction and load counters, total load time in"
+                    + " nanoseconds and current size of every cache region"
+    )
+    @ApiResponses(value = {@ApiResponse
+            (responseCode = "200", description = "Statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, CacheStats>> getStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        for (RegionCache region : cacheManager.getRegions()) {
+            stats.put(region.getName(), region.stats());
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,12 +1,29 @@
 package com.example.sms.controller;
 
 import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeNameResponse;
 import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.dto.response.PageResponse;
+import com.example.sms.exception.BadRequestException;
+import com.example.sms.model.ExportFormat;
+import com.example.sms.model.ImportFormat;
+import com.example.sms.model.ImportStatus;
+import com.example.sms.model.LookupField;
+import com.example.sms.model.ResponseView;
+import com.example.sms.service.EmployeeImportService;
 import com.example.sms.service.EmployeeService;
+import com.example.sms.service.implementation.EmployeeExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,23 +34,59 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("employees")
 @Tag(name = "Employee Management")
 public class EmployeeController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeExporter employeeExporter;
 
     public EmployeeController(
-            EmployeeService employeeService) {
+            EmployeeService employeeService,
+            EmployeeImportService employeeImportService,
+            EmployeeExporter employeeExporter) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.employeeExporter = employeeExporter;
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Get all employees")
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAll());
+    @Operation(summary = "Get a page of employees",
+            description = "Pages are ordered by id. Pass nextCursor as cursor to get the next page; "
+                    + "a cursor keeps the sort it was started with. "
+                    + "view=summary returns the employees without their assignments")
+    public ResponseEntity<PageResponse<?>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${sms.paging.default-size:50}") int size,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(ResponseView.parse(view) == ResponseView.SUMMARY
+                ? employeeService.getSummaryPage(cursor, size, sort)
+                : employeeService.getPage(cursor, size, sort));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all employees",
+            description = "Streams every employee in id order as a JSON array or as CSV")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "json") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null) {
+            throw new BadRequestException("Format must be json or csv");
+        }
+        boolean csv = exportFormat == ExportFormat.CSV;
+        StreamingResponseBody body = out -> employeeExporter.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees." + (csv ? "csv" : "json") + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -50,13 +103,37 @@ public class EmployeeController {
     }
 
     @PostMapping("/bulk")
-    @Operation(summary = "Upsert a list of employees")
-    public ResponseEntity<List<EmployeeResponse>> upsertEmployees(
+    @Operation(summary = "Upsert a list of employees",
+            description = "Matches employees by phone number or email and returns one result per row")
+    public ResponseEntity<List<BulkRowResponse>> upsertEmployees(
             @Valid @RequestBody List<EmployeeRequest> employeeRequests) {
-        List<EmployeeResponse> responses = employeeService.bulkUpsertEmployees(employeeRequests);
+        List<BulkRowResponse> responses = employeeService.bulkUpsertEmployees(employeeRequests);
         return ResponseEntity.ok(responses);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "Stream an NDJSON or CSV import of employees",
+            description = "Commits rows in chunks and streams one NDJSON result per row. "
+                    + "Pass the Import-Id response header as importId to resume a failed import")
+    public void importEmployees(
+            @RequestParam(required = false) String importId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ImportStatus status = employeeImportService.begin(importId);
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader("Import-Id", status.getId());
+        employeeImportService.importRows(status, request.getInputStream(), format, response.getOutputStream());
+    }
+
+    @GetMapping("/import/{importId}")
+    @Operation(summary = "Get the progress of an import")
+    public ResponseEntity<ImportStatus> getImportStatus(@PathVariable String importId) {
+        return ResponseEntity.ok(employeeImportService.getStatus(importId));
+    }
+
     @PutMapping("/update/{id}")
     @Operation(summary = "Update an employee")
     public ResponseEntity<EmployeeResponse> updateEmployee(
@@ -72,11 +149,50 @@ public class EmployeeController {
     }
 
     @GetMapping("/employees/search")
-    public ResponseEntity<List<EmployeeResponse>> searchEmployees(
+    public ResponseEntity<List<?>> searchEmployees(
             @RequestParam(required = false) String firstName,
-            @RequestParam(required = false) String lastName) {
-        List<EmployeeResponse> employees = employeeService.searchByInitials(firstName, lastName);
-        return ResponseEntity.ok(employees);
+            @RequestParam(required = false) String lastName,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(ResponseView.parse(view) == ResponseView.SUMMARY
+                ? employeeService.searchSummariesByInitials(firstName, lastName)
+                : employeeService.searchByInitials(firstName, lastName));
+    }
+
+    @GetMapping("/search/similar")
+    @Operation(summary = "Search employees by name similarity",
+            description = "Ranks employees by trigram similarity of their full name to q, "
+                    + "so misspelled names still match")
+    public ResponseEntity<List<EmployeeResponse>> searchSimilarEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.searchSimilar(q, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete employee names",
+            description = "Returns employees whose first name, last name or full name starts with q, "
+                    + "from an in-memory index. q needs at least two characters")
+    public ResponseEntity<List<EmployeeNameResponse>> autocomplete(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.autocomplete(q, limit));
+    }
+
+    @GetMapping("/lookup")
+    @Operation(summary = "Look up employees by the start of a field",
+            description = "field is phoneNumber, email, firstName or lastName; matching ignores case. "
+                    + "Results are ordered by the field value. Pass nextCursor as cursor to get the next page. "
+                    + "Encode a leading + of a phone number as %2B")
+    public ResponseEntity<PageResponse<EmployeeSummaryResponse>> lookupEmployees(
+            @RequestParam String field,
+            @RequestParam String prefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${sms.paging.default-size:50}") int size) {
+        LookupField lookupField = LookupField.of(field);
+        if (lookupField == null) {
+            throw new BadRequestException("Field must be phoneNumber, email, firstName or lastName");
+        }
+        return ResponseEntity.ok(employeeService.searchByPrefix(lookupField, prefix, cursor, size));
     }
 
     @PostMapping("/{employeeId}/add-assignment/{assignmentId}")
@@ -94,8 +210,11 @@ public class EmployeeController {
 
     @GetMapping("/search-by-assignment/{id}")
     @Operation(summary = "Search by assignment ID")
-    public ResponseEntity<List<EmployeeResponse>> searchByAssignmentTitle(
-            @PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.searchEmployeesByAssignmentId(id));
+    public ResponseEntity<List<?>> searchByAssignmentTitle(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(ResponseView.parse(view) == ResponseView.SUMMARY
+                ? employeeService.searchSummariesByAssignmentId(id)
+                : employeeService.searchEmployeesByAssignmentId(id));
     }
-}
\ No newline at end of file
+}
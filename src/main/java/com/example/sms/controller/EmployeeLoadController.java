@@ -0,0 +1,43 @@
+package com.example.sms.controller;
+
+import com.example.sms.dto.response.EmployeeLoadResponse;
+import com.example.sms.service.implementation.EmployeeCopyLoader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/employees")
+@ConditionalOnProperty(prefix = "sms.bulk.copy-load", name = "enabled", havingValue = "true")
+@Tag(name = "Employee Load", description = "Admin endpoints for mass loading employees")
+public class EmployeeLoadController {
+
+    private final EmployeeCopyLoader copyLoader;
+
+    public EmployeeLoadController(EmployeeCopyLoader copyLoader) {
+        this.copyLoader = copyLoader;
+    }
+
+    @PostMapping(value = "/load", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Load employees with PostgreSQL COPY",
+            description = "Stages NDJSON rows with a binary COPY and merges them by phone number or email"
+                    + " in one transaction. Employee caches are cleared afterwards"
+    )
+    @ApiResponses(value = {@ApiResponse
+            (responseCode = "200", description = "Rows loaded"), @ApiResponse
+            (responseCode = "500", description = "Load rolled back")
+    })
+    public ResponseEntity<EmployeeLoadResponse> load(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(copyLoader.load(request.getInputStream()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sms.dto.response;
+
+public record AssignmentSummaryResponse(
+        Long id,
+        String title,
+        String description
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.example.sms.dto.response;
+
+import com.example.sms.model.BulkRowStatus;
+
+public record BulkRowResponse(
+        int index,
+        BulkRowStatus status,
+        EmployeeResponse employee,
+        String message
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.example.sms.dto.response;
+
+public record EmployeeLoadResponse(
+        int received,
+        int invalid,
+        int superseded,
+        int conflicts,
+        int created,
+        int updated,
+        int assignmentLinks,
+        long elapsedMillis
+) {
+
+}
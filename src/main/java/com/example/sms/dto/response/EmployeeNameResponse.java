@@ -0,0 +1,9 @@
+package com.example.sms.dto.response;
+
+public record EmployeeNameResponse(
+        Long id,
+        String firstName,
+        String lastName
+) {
+
+}
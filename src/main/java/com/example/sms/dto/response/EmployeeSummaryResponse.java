@@ -0,0 +1,11 @@
+package com.example.sms.dto.response;
+
+public record EmployeeSummaryResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String email
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.example.sms.dto.response;
+
+import java.util.List;
+
+public record PageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+}
@@ -8,19 +8,27 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "assignments")
 public class Assignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignments_seq")
+    @SequenceGenerator(name = "assignments_seq", sequenceName = "assignments_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
+    // Update counter, see Employee#version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private long version;
+
     @Column(name = "title")
     private String title;
 
@@ -31,6 +39,7 @@ public class Assignment {
     private List<Employee> employees = new ArrayList<>();
 
     @OneToMany(mappedBy = "assignment", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<FeedBack> feedBacks = new ArrayList<>();
 
     public Assignment(String title, String description) {
@@ -48,6 +57,15 @@ public class Assignment {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @PreUpdate
+    void incrementVersion() {
+        version++;
+    }
+
     public String getTitle() {
         return title;
     }
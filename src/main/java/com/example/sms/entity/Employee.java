@@ -9,19 +9,28 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "employees")
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
+    // Counts updates of the row so that cache snapshots can tell stale entries apart. Not a
+    // lock, concurrent updates still overwrite each other.
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private long version;
+
     @Column(name = "first_name")
     private String firstName;
 
@@ -35,6 +44,7 @@ public class Employee {
     private String email;
 
     @ManyToMany(cascade = CascadeType.REFRESH)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "employee_assignments",
             joinColumns = @JoinColumn(name = "employee_id"),
@@ -59,6 +69,15 @@ public class Employee {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @PreUpdate
+    void incrementVersion() {
+        version++;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -7,6 +7,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
@@ -15,9 +17,14 @@ import java.time.LocalDateTime;
 public class FeedBack {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
     private Long id;
 
+    // Update counter, see Employee#version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private long version;
+
     @Column(name = "comment", columnDefinition = "TEXT")
     private String comment;
 
@@ -60,6 +67,15 @@ public class FeedBack {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @PreUpdate
+    void incrementVersion() {
+        version++;
+    }
+
     public void setComment(String comment) {
         this.comment = comment;
     }
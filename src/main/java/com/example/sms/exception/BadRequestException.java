@@ -1,6 +1,6 @@
 package com.example.sms.exception;
 
-class BadRequestException extends RuntimeException {
+public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
         super(message);
     }
@@ -3,7 +3,6 @@ package com.example.sms.exception;
 import com.example.sms.dto.response.ErrorResponse;
 import java.util.HashMap;
 import java.util.Map;
-import org.apache.coyote.BadRequestException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -29,21 +28,21 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 HttpStatus.NOT_FOUND.value()
         );
-        logger.error("Error [{}]: Resource not found - {}",
+        logger.debug("Error [{}]: Resource not found - {}",
                 HttpStatus.NOT_FOUND.value(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
-    @ExceptionHandler(BadRequestException.class)
+    @ExceptionHandler({BadRequestException.class, org.apache.coyote.BadRequestException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponse> handleBadRequestException(
-            BadRequestException ex, WebRequest request) {
+            Exception ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
                 "Invalid request",
                 ex.getMessage(),
                 HttpStatus.BAD_REQUEST.value()
         );
-        logger.error("Error [{}]: Invalid request - {}",
+        logger.debug("Error [{}]: Invalid request - {}",
                 HttpStatus.BAD_REQUEST.value(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
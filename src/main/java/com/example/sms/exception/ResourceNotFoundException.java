@@ -4,4 +4,16 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    private ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Not-found for a lookup by id. Filling in the stack trace is most of the cost of a
+     * thrown exception and a 404 never needs it, so this one has none.
+     */
+    public static ResourceNotFoundException withoutStackTrace(String message) {
+        return new ResourceNotFoundException(message, false);
+    }
 }
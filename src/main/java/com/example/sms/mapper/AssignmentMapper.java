@@ -16,7 +16,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ResponseStamps.class)
 public interface AssignmentMapper {
 
     @Mapping(target = "description", defaultValue = "")
@@ -2,6 +2,7 @@ package com.example.sms.mapper;
 
 import com.example.sms.dto.request.EmployeeRequest;
 import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.EmployeeSummaryResponse;
 import com.example.sms.entity.Employee;
 import java.util.List;
 import org.mapstruct.BeanMapping;
@@ -10,13 +11,15 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = ResponseStamps.class)
 public interface EmployeeMapper {
 
     EmployeeResponse toEmployeeResponse(Employee employee);
 
     List<EmployeeResponse> toEmployeeResponseList(List<Employee> employees);
 
+    EmployeeSummaryResponse toEmployeeSummary(EmployeeResponse employeeResponse);
+
     @Mapping(target = "id", ignore = true)
     Employee toEmployee(EmployeeRequest employeeRequest);
 
@@ -0,0 +1,92 @@
+package com.example.sms.mapper;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.entity.FeedBack;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.snapshot.RegionStamps;
+import com.example.sms.utils.cache.snapshot.VersionStamps;
+import java.util.ArrayList;
+import java.util.List;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.MappingTarget;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offers each mapped employee and assignment response, with the version stamp of the entities
+ * it was mapped from, to the stamps of the region it may be cached in. Nothing is offered
+ * until cache snapshots register their regions.
+ */
+@Component
+public class ResponseStamps {
+
+    private volatile RegionStamps employees;
+    private volatile RegionStamps assignments;
+
+    public void trackEmployees(RegionStamps employees) {
+        this.employees = employees;
+    }
+
+    public void trackAssignments(RegionStamps assignments) {
+        this.assignments = assignments;
+    }
+
+    @AfterMapping
+    void offer(Employee employee, @MappingTarget EmployeeResponse response) {
+        RegionStamps stamps = employees;
+        if (stamps != null && response.id() != null) {
+            stamps.offer(response.id(), response, stampOf(employee));
+        }
+    }
+
+    @AfterMapping
+    void offer(Assignment assignment, @MappingTarget AssignmentResponse response) {
+        RegionStamps stamps = assignments;
+        if (stamps != null && response.id() != null) {
+            stamps.offer(response.id(), response, stampOf(assignment));
+        }
+    }
+
+    /**
+     * Mirrors the rows of {@link EmployeeRepository#findVersionRows}: one per feedback, or per
+     * assignment without feedbacks, or a single row for an employee without assignments.
+     */
+    public static long stampOf(Employee employee) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Assignment assignment : orEmpty(employee.getAssignments())) {
+            for (Object[] row : rowsOf(assignment)) {
+                rows.add(new Object[]{employee.getId(), employee.getVersion(), row[0], row[1], row[2], row[3]});
+            }
+        }
+        if (rows.isEmpty()) {
+            rows.add(new Object[]{employee.getId(), employee.getVersion(), null, null, null, null});
+        }
+        return VersionStamps.fold(rows).get(employee.getId());
+    }
+
+    /**
+     * Mirrors the rows of {@link AssignmentRepository#findVersionRows}.
+     */
+    public static long stampOf(Assignment assignment) {
+        return VersionStamps.fold(rowsOf(assignment)).get(assignment.getId());
+    }
+
+    private static List<Object[]> rowsOf(Assignment assignment) {
+        List<Object[]> rows = new ArrayList<>();
+        for (FeedBack feedBack : orEmpty(assignment.getFeedBacks())) {
+            rows.add(new Object[]{assignment.getId(), assignment.getVersion(), feedBack.getId(),
+                    feedBack.getVersion()});
+        }
+        if (rows.isEmpty()) {
+            rows.add(new Object[]{assignment.getId(), assignment.getVersion(), null, null});
+        }
+        return rows;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sms.model;
+
+public enum BulkRowStatus {
+    CREATED,
+    UPDATED,
+    CONFLICT,
+    INVALID,
+    FAILED
+}
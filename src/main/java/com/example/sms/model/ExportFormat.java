@@ -0,0 +1,18 @@
+package com.example.sms.model;
+
+public enum ExportFormat {
+    JSON,
+    CSV;
+
+    /**
+     * Returns the format with this name ignoring case, or {@code null} if there is none.
+     */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.sms.model;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,78 @@
+package com.example.sms.model;
+
+/**
+ * Progress of a streaming employee import. {@code committedRows} counts the rows from the
+ * start of the file that are finished, so a failed import resumes by skipping them.
+ * {@link #finishedAt()} lets finished imports be dropped after a while.
+ */
+public class ImportStatus {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String id;
+    private volatile String status;
+    private volatile int committedRows;
+    private volatile String message;
+    private volatile long finishedAt;
+
+    public ImportStatus(String id) {
+        this.id = id;
+        this.status = RUNNING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getCommittedRows() {
+        return committedRows;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Marks a failed import as running again; returns {@code false} if it is running or done.
+     */
+    public synchronized boolean resume() {
+        if (!FAILED.equals(status)) {
+            return false;
+        }
+        status = RUNNING;
+        message = null;
+        return true;
+    }
+
+    public boolean hasFinished() {
+        return !RUNNING.equals(status);
+    }
+
+    /**
+     * {@link System#nanoTime()} of when the import last completed or failed.
+     */
+    public long finishedAt() {
+        return finishedAt;
+    }
+
+    public void commit(int rows) {
+        committedRows = rows;
+    }
+
+    public synchronized void complete() {
+        status = COMPLETED;
+        finishedAt = System.nanoTime();
+    }
+
+    public synchronized void fail(String message) {
+        this.status = FAILED;
+        this.message = message;
+        finishedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.sms.model;
+
+/**
+ * Employee columns that support starts-with lookup.
+ */
+public enum LookupField {
+    PHONE_NUMBER,
+    EMAIL,
+    FIRST_NAME,
+    LAST_NAME;
+
+    /**
+     * Returns the field with this name ignoring case and accepting {@code phoneNumber} style,
+     * or {@code null} if there is none.
+     */
+    public static LookupField of(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.replace("_", "");
+        for (LookupField field : values()) {
+            if (field.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.sms.model;
+
+import java.util.Locale;
+
+/**
+ * Employee name search as it is cached: each part is trimmed and upper-cased the way the
+ * repository compares names, and a {@code null} part matches every name.
+ */
+public record NameSearchKey(String firstName, String lastName) {
+
+    public static NameSearchKey of(String firstName, String lastName) {
+        return new NameSearchKey(normalize(firstName), normalize(lastName));
+    }
+
+    /**
+     * Whether an employee with these names could appear in the result of this search.
+     * Terms containing {@code LIKE} wildcards match conservatively.
+     */
+    public boolean matches(String employeeFirstName, String employeeLastName) {
+        return contains(employeeFirstName, firstName) && contains(employeeLastName, lastName);
+    }
+
+    private static boolean contains(String name, String term) {
+        if (term == null) {
+            return true;
+        }
+        if (name == null) {
+            return false;
+        }
+        return term.indexOf('%') >= 0 || term.indexOf('_') >= 0
+                || name.toUpperCase(Locale.ROOT).contains(term);
+    }
+
+    private static String normalize(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return term.trim().toUpperCase(Locale.ROOT);
+    }
+}
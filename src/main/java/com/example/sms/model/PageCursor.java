@@ -0,0 +1,31 @@
+package com.example.sms.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by id: the last id returned and the sort direction. Clients
+ * get it as an opaque URL-safe token and the next page starts strictly after {@code lastId}.
+ */
+public record PageCursor(long lastId, boolean descending) {
+
+    public static PageCursor first(boolean descending) {
+        return new PageCursor(descending ? Long.MAX_VALUE : Long.MIN_VALUE, descending);
+    }
+
+    public String encode() {
+        String value = (descending ? "d:" : "a:") + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String token) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        if (value.length() < 3 || value.charAt(1) != ':' || (value.charAt(0) != 'a' && value.charAt(0) != 'd')) {
+            throw new IllegalArgumentException("Malformed page cursor");
+        }
+        return new PageCursor(Long.parseLong(value.substring(2)), value.charAt(0) == 'd');
+    }
+}
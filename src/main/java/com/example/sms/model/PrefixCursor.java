@@ -0,0 +1,28 @@
+package com.example.sms.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a starts-with lookup ordered by key and then id: the last key and id returned.
+ * Clients get it as an opaque URL-safe token and the next page starts strictly after it.
+ */
+public record PrefixCursor(String lastKey, long lastId) {
+
+    public String encode() {
+        String value = lastId + ":" + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static PrefixCursor decode(String token) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = value.indexOf(':');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Malformed prefix cursor");
+        }
+        return new PrefixCursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sms.model;
+
+import com.example.sms.exception.BadRequestException;
+
+/**
+ * How much of an entity a list endpoint returns: {@code SUMMARY} is the entity's own columns
+ * selected straight into a DTO, {@code FULL} includes the nested collections.
+ */
+public enum ResponseView {
+    SUMMARY,
+    FULL;
+
+    /**
+     * Returns the view with this name ignoring case, or {@code null} if there is none.
+     */
+    public static ResponseView of(String name) {
+        for (ResponseView view : values()) {
+            if (view.name().equalsIgnoreCase(name)) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #of}, but rejects an unknown name with a {@link BadRequestException}.
+     */
+    public static ResponseView parse(String name) {
+        ResponseView view = of(name);
+        if (view == null) {
+            throw new BadRequestException("View must be summary or full");
+        }
+        return view;
+    }
+}
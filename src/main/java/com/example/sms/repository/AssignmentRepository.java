@@ -1,7 +1,11 @@
 package com.example.sms.repository;
 
+import com.example.sms.dto.response.AssignmentSummaryResponse;
 import com.example.sms.entity.Assignment;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,4 +18,23 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     @Query("SELECT COUNT(a) > 0 FROM Assignment a "
             + "WHERE LOWER(a.title) = LOWER(:title)")
     boolean existsByTitle(@Param("title") String title);
+
+    @Query("SELECT a FROM Assignment a WHERE a.id > :after ORDER BY a.id ASC")
+    List<Assignment> findPageAfter(@Param("after") long after, Pageable limit);
+
+    @Query("SELECT a FROM Assignment a WHERE a.id < :before ORDER BY a.id DESC")
+    List<Assignment> findPageBefore(@Param("before") long before, Pageable limit);
+
+    @Query("SELECT new com.example.sms.dto.response.AssignmentSummaryResponse(a.id, a.title, a.description) "
+            + "FROM Assignment a WHERE a.id > :after ORDER BY a.id ASC")
+    List<AssignmentSummaryResponse> findSummariesAfter(@Param("after") long after, Pageable limit);
+
+    @Query("SELECT new com.example.sms.dto.response.AssignmentSummaryResponse(a.id, a.title, a.description) "
+            + "FROM Assignment a WHERE a.id < :before ORDER BY a.id DESC")
+    List<AssignmentSummaryResponse> findSummariesBefore(@Param("before") long before, Pageable limit);
+
+    @Query("SELECT a.id, a.version, f.id, f.version FROM Assignment a "
+            + "LEFT JOIN a.feedBacks f "
+            + "WHERE a.id IN :ids")
+    List<Object[]> findVersionRows(@Param("ids") Collection<Long> ids);
 }
@@ -1,8 +1,12 @@
 package com.example.sms.repository;
 
+import com.example.sms.dto.response.EmployeeSummaryResponse;
 import com.example.sms.entity.Employee;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,27 +16,104 @@ import org.springframework.stereotype.Repository;
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     @Query(value = "SELECT e FROM Employee e "
-            + "WHERE (:firstName IS NULL OR UPPER(e.firstName) LIKE UPPER(CONCAT('%', :firstName, '%'))) "
-            + "AND (:lastName IS NULL OR UPPER(e.lastName) LIKE UPPER(CONCAT('%', :lastName, '%')))")
-    List<Employee> findByFirstNameAndLastName(
+            + "JOIN e.assignments a "
+            + "WHERE (:assignmentId IS NULL OR a.id = :assignmentId)")
+    List<Employee> findEmployeesByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    /**
+     * Ids of the employees whose names contain the given terms, in id order; a {@code null}
+     * term matches every name. Each combination has its own query so the planner can use the
+     * trigram index on {@code upper(first_name)} or {@code upper(last_name)}.
+     */
+    default List<Long> findIdsByName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return findAllIds();
+        }
+        if (lastName == null) {
+            return findIdsByFirstNameContaining(firstName);
+        }
+        if (firstName == null) {
+            return findIdsByLastNameContaining(lastName);
+        }
+        return findIdsByFullNameContaining(firstName, lastName);
+    }
+
+    @Query(value = "SELECT e.id FROM Employee e ORDER BY e.id")
+    List<Long> findAllIds();
+
+    @Query(value = "SELECT e.id FROM employees e "
+            + "WHERE upper(e.first_name) LIKE '%' || upper(:firstName) || '%' "
+            + "ORDER BY e.id", nativeQuery = true)
+    List<Long> findIdsByFirstNameContaining(@Param("firstName") String firstName);
+
+    @Query(value = "SELECT e.id FROM employees e "
+            + "WHERE upper(e.last_name) LIKE '%' || upper(:lastName) || '%' "
+            + "ORDER BY e.id", nativeQuery = true)
+    List<Long> findIdsByLastNameContaining(@Param("lastName") String lastName);
+
+    @Query(value = "SELECT e.id FROM employees e "
+            + "WHERE upper(e.first_name) LIKE '%' || upper(:firstName) || '%' "
+            + "AND upper(e.last_name) LIKE '%' || upper(:lastName) || '%' "
+            + "ORDER BY e.id", nativeQuery = true)
+    List<Long> findIdsByFullNameContaining(
             @Param("firstName") String firstName,
             @Param("lastName") String lastName);
 
-    @Query(value = "SELECT e FROM Employee e "
-            + "WHERE (:firstName IS NULL OR UPPER(e.firstName) LIKE UPPER(CONCAT('%', :firstName, '%')))")
-    List<Employee> findByFirstName(@Param("firstName") String firstName);
+    /**
+     * Ids of the employees whose full name is trigram-similar to the query (above
+     * {@code pg_trgm.similarity_threshold}), most similar first.
+     */
+    @Query(value = "SELECT e.id FROM employees e "
+            + "WHERE upper(coalesce(e.first_name, '') || ' ' || coalesce(e.last_name, '')) % upper(:query) "
+            + "ORDER BY similarity(upper(coalesce(e.first_name, '') || ' ' || coalesce(e.last_name, '')), "
+            + "upper(:query)) DESC, e.id "
+            + "LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsBySimilarName(@Param("query") String query, @Param("limit") int limit);
 
-    @Query(value = "SELECT e FROM Employee e "
-            + "WHERE (:lastName IS NULL OR UPPER(e.lastName) LIKE UPPER(CONCAT('%', :lastName, '%')))")
-    List<Employee> findByLastName(@Param("lastName") String lastName);
+    @Query(value = "SELECT e.id FROM Employee e WHERE e.id > :after ORDER BY e.id ASC")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable limit);
 
-    @Query(value = "SELECT e FROM Employee e "
+    @Query(value = "SELECT e.id FROM Employee e WHERE e.id < :before ORDER BY e.id DESC")
+    List<Long> findIdsBefore(@Param("before") long before, Pageable limit);
+
+    @Query(value = "SELECT new com.example.sms.dto.response.EmployeeSummaryResponse("
+            + "e.id, e.firstName, e.lastName, e.phoneNumber, e.email) FROM Employee e "
+            + "WHERE e.id > :after ORDER BY e.id ASC")
+    List<EmployeeSummaryResponse> findSummariesAfter(@Param("after") long after, Pageable limit);
+
+    @Query(value = "SELECT new com.example.sms.dto.response.EmployeeSummaryResponse("
+            + "e.id, e.firstName, e.lastName, e.phoneNumber, e.email) FROM Employee e "
+            + "WHERE e.id < :before ORDER BY e.id DESC")
+    List<EmployeeSummaryResponse> findSummariesBefore(@Param("before") long before, Pageable limit);
+
+    @Query(value = "SELECT new com.example.sms.dto.response.EmployeeSummaryResponse("
+            + "e.id, e.firstName, e.lastName, e.phoneNumber, e.email) FROM Employee e "
+            + "WHERE e.id IN :ids")
+    List<EmployeeSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT DISTINCT e.id FROM Employee e "
             + "JOIN e.assignments a "
-            + "WHERE (:assignmentId IS NULL OR a.id = :assignmentId)")
-    List<Employee> findEmployeesByAssignmentId(@Param("assignmentId") Long assignmentId);
+            + "WHERE a.id = :assignmentId "
+            + "ORDER BY e.id")
+    List<Long> findIdsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query(value = "SELECT e.id, e.version, a.id, a.version, f.id, f.version FROM Employee e "
+            + "LEFT JOIN e.assignments a "
+            + "LEFT JOIN a.feedBacks f "
+            + "WHERE e.id IN :ids")
+    List<Object[]> findVersionRows(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT e FROM Employee e "
+            + "WHERE e.phoneNumber IN :phoneNumbers OR e.email IN :emails")
+    List<Employee> findByPhoneNumberInOrEmailIn(
+            @Param("phoneNumbers") Collection<String> phoneNumbers,
+            @Param("emails") Collection<String> emails);
 
     Optional<Employee> findById(Long id);
 
+    @EntityGraph(attributePaths = "assignments")
+    List<Employee> findAllById(Iterable<Long> ids);
+
     Employee save(Employee employee);
 
     boolean existsByPhoneNumber(String phoneNumber);
@@ -4,8 +4,10 @@ import com.example.sms.dto.request.AssignmentRequest;
 import com.example.sms.dto.request.EmployeeRequest;
 import com.example.sms.dto.request.FeedBackRequest;
 import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.AssignmentSummaryResponse;
 import com.example.sms.dto.response.EmployeeResponse;
 import com.example.sms.dto.response.FeedBackResponse;
+import com.example.sms.dto.response.PageResponse;
 
 import java.util.List;
 
@@ -18,7 +20,9 @@ public interface AssignmentService {
                                     Long feedBackId,
                                     FeedBackRequest feedBackRequest);
 
-    List<AssignmentResponse> getAll();
+    PageResponse<AssignmentResponse> getPage(String cursor, int size, String sort);
+
+    PageResponse<AssignmentSummaryResponse> getSummaryPage(String cursor, int size, String sort);
 
     AssignmentResponse getById(Long id);
 
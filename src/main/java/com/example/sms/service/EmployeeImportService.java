@@ -0,0 +1,16 @@
+package com.example.sms.service;
+
+import com.example.sms.model.ImportFormat;
+import com.example.sms.model.ImportStatus;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface EmployeeImportService {
+    ImportStatus begin(String importId);
+
+    void importRows(ImportStatus status, InputStream in, ImportFormat format, OutputStream out)
+            throws IOException;
+
+    ImportStatus getStatus(String importId);
+}
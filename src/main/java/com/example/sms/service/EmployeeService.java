@@ -1,7 +1,12 @@
 package com.example.sms.service;
 
 import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeNameResponse;
 import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.dto.response.PageResponse;
+import com.example.sms.model.LookupField;
 import java.util.List;
 
 public interface EmployeeService {
@@ -11,13 +16,17 @@ public interface EmployeeService {
 
     List<EmployeeResponse> searchEmployeesByAssignmentId(Long assignmentId);
 
+    List<EmployeeSummaryResponse> searchSummariesByAssignmentId(Long assignmentId);
+
     EmployeeResponse addAssignmentToEmployee(Long employeeId, Long assignmentId);
 
     EmployeeResponse deleteAssignmentFromEmployee(Long employeeId, Long assignmentId);
 
-    List<EmployeeResponse> bulkUpsertEmployees(List<EmployeeRequest> employeeRequests);
+    List<BulkRowResponse> bulkUpsertEmployees(List<EmployeeRequest> employeeRequests);
+
+    PageResponse<EmployeeResponse> getPage(String cursor, int size, String sort);
 
-    List<EmployeeResponse> getAll();
+    PageResponse<EmployeeSummaryResponse> getSummaryPage(String cursor, int size, String sort);
 
     EmployeeResponse getById(Long id);
 
@@ -28,4 +37,12 @@ public interface EmployeeService {
     void delete(Long id);
 
     List<EmployeeResponse> searchByInitials(String firstName, String lastName);
+
+    List<EmployeeSummaryResponse> searchSummariesByInitials(String firstName, String lastName);
+
+    List<EmployeeResponse> searchSimilar(String query, int limit);
+
+    List<EmployeeNameResponse> autocomplete(String query, int limit);
+
+    PageResponse<EmployeeSummaryResponse> searchByPrefix(LookupField field, String prefix, String cursor, int size);
 }
@@ -3,19 +3,29 @@ package com.example.sms.service.implementation;
 import com.example.sms.dto.request.AssignmentRequest;
 import com.example.sms.dto.request.FeedBackRequest;
 import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.AssignmentSummaryResponse;
 import com.example.sms.dto.response.FeedBackResponse;
+import com.example.sms.dto.response.PageResponse;
 import com.example.sms.entity.Assignment;
 import com.example.sms.entity.Employee;
 import com.example.sms.entity.FeedBack;
 import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
 import com.example.sms.mapper.AssignmentMapper;
 import com.example.sms.mapper.FeedBackMapper;
+import com.example.sms.model.PageCursor;
 import com.example.sms.repository.AssignmentRepository;
 import com.example.sms.repository.EmployeeRepository;
 import com.example.sms.repository.FeedBackRepository;
 import com.example.sms.service.AssignmentService;
-import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -23,21 +33,23 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class AssignmentServiceImpl implements AssignmentService {
 
+    private final RegionCache employeeCache;
+    private final RegionCache missingIds;
     private final AssignmentRepository assignmentRepository;
     private final AssignmentMapper assignmentMapper;
     private final EmployeeRepository employeeRepository;
     private final FeedBackMapper feedBackMapper;
     private final FeedBackRepository feedBackRepository;
-    private final Cache<Long, AssignmentResponse> cache;
 
-    public AssignmentServiceImpl(Cache<Long, AssignmentResponse> cache,
+    public AssignmentServiceImpl(RegionCacheManager cacheManager,
                                  AssignmentRepository assignmentRepository,
                                  AssignmentMapper assignmentMapper,
                                  EmployeeRepository employeeRepository,
                                  FeedBackMapper feedBackMapper,
                                  FeedBackRepository feedBackRepository) {
 
-        this.cache = cache;
+        this.employeeCache = cacheManager.getCache(CacheNames.EMPLOYEES);
+        this.missingIds = cacheManager.getCache(CacheNames.MISSING_ASSIGNMENTS);
         this.assignmentRepository = assignmentRepository;
         this.assignmentMapper = assignmentMapper;
         this.employeeRepository = employeeRepository;
@@ -46,22 +58,37 @@ public class AssignmentServiceImpl implements AssignmentService {
     }
 
     @Override
-    public List<AssignmentResponse> getAll() {
-        return assignmentMapper.toAssignmentResponseList(assignmentRepository.findAll());
+    public PageResponse<AssignmentResponse> getPage(String cursor, int size, String sort) {
+        PageCursor position = KeysetPages.cursor(cursor, sort);
+        List<Assignment> rows = position.descending()
+                ? assignmentRepository.findPageBefore(position.lastId(), KeysetPages.limit(size))
+                : assignmentRepository.findPageAfter(position.lastId(), KeysetPages.limit(size));
+        PageResponse<Assignment> page = KeysetPages.page(rows, size, position, Assignment::getId);
+        return new PageResponse<>(assignmentMapper.toAssignmentResponseList(page.items()), page.nextCursor());
     }
 
+    @Override
+    public PageResponse<AssignmentSummaryResponse> getSummaryPage(String cursor, int size, String sort) {
+        PageCursor position = KeysetPages.cursor(cursor, sort);
+        List<AssignmentSummaryResponse> rows = position.descending()
+                ? assignmentRepository.findSummariesBefore(position.lastId(), KeysetPages.limit(size))
+                : assignmentRepository.findSummariesAfter(position.lastId(), KeysetPages.limit(size));
+        return KeysetPages.page(rows, size, position, AssignmentSummaryResponse::id);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.ASSIGNMENTS, key = "#id", sync = true)
     public AssignmentResponse getById(Long id) {
-        if (cache.containsKey(id)) {
-            return cache.get(id);
+        if (missingIds.get(id) != null) {
+            throw notFound(id);
+        }
+        Optional<Assignment> assignmentEntity = assignmentRepository.findById(id);
+        if (assignmentEntity.isEmpty()) {
+            missingIds.put(id, Boolean.TRUE);
+            throw notFound(id);
         }
 
-        Assignment assignmentEntity = assignmentRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Assignment not found with id  = " + id));
-
-        AssignmentResponse assignment = assignmentMapper.toAssignmentResponse(assignmentEntity);
-        cache.put(id, assignment);
-        return assignment;
+        return assignmentMapper.toAssignmentResponse(assignmentEntity.get());
     }
 
     @Override
@@ -70,11 +97,13 @@ public class AssignmentServiceImpl implements AssignmentService {
             throw new ConflictException(
                     "Title " + assignmentRequest.title() + " is already in use");
         }
-        return assignmentMapper.toAssignmentResponse(
-                assignmentRepository.save(assignmentMapper.toAssignment(assignmentRequest)));
+        Assignment assignment = assignmentRepository.save(assignmentMapper.toAssignment(assignmentRequest));
+        missingIds.evict(assignment.getId());
+        return assignmentMapper.toAssignmentResponse(assignment);
     }
 
     @Override
+    @CachePut(cacheNames = CacheNames.ASSIGNMENTS, key = "#id")
     public AssignmentResponse update(Long id, AssignmentRequest assignmentRequest) {
         Assignment currentAssignment = assignmentRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -89,11 +118,13 @@ public class AssignmentServiceImpl implements AssignmentService {
         Assignment assignment = assignmentMapper.partialUpdate(
                 assignmentRequest, currentAssignment);
         Assignment updatedAssignment = saveUpdates(assignment);
+        employeeCache.evictDependents(id);
 
         return assignmentMapper.toAssignmentResponse(updatedAssignment);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.ASSIGNMENTS, key = "#assignmentId")
     public void delete(Long assignmentId) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -103,11 +134,12 @@ public class AssignmentServiceImpl implements AssignmentService {
             employee.getAssignments().remove(assignment);
         }
 
-        cache.remove(assignmentId);
-
         assignmentRepository.deleteById(assignmentId);
+        employeeCache.evictDependents(assignmentId);
     }
 
+    @Override
+    @CachePut(cacheNames = CacheNames.ASSIGNMENTS, key = "#assignmentId")
     public AssignmentResponse addFeedBack(Long assignmentId, FeedBackRequest feedBackRequest) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -117,11 +149,14 @@ public class AssignmentServiceImpl implements AssignmentService {
         feedBack.setAssignment(assignment);
 
         assignment.getFeedBacks().add(feedBack);
+        Assignment updatedAssignment = saveUpdates(assignment);
+        employeeCache.evictDependents(assignmentId);
 
-        return assignmentMapper.toAssignmentResponse(saveUpdates(assignment));
+        return assignmentMapper.toAssignmentResponse(updatedAssignment);
     }
 
     @Override
+    @CachePut(cacheNames = CacheNames.ASSIGNMENTS, key = "#assignmentId")
     public AssignmentResponse deleteFeedBack(Long assignmentId, Long feedBackId) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -140,11 +175,14 @@ public class AssignmentServiceImpl implements AssignmentService {
 
         assignment.getFeedBacks().remove(feedBack);
         feedBackRepository.delete(feedBack);
+        Assignment updatedAssignment = saveUpdates(assignment);
+        employeeCache.evictDependents(assignmentId);
 
-        return assignmentMapper.toAssignmentResponse(saveUpdates(assignment));
+        return assignmentMapper.toAssignmentResponse(updatedAssignment);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.ASSIGNMENTS, key = "#assignmentId")
     public FeedBackResponse updateFeedBack(
             Long assignmentId, Long feedBackId, FeedBackRequest feedBackRequest) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
@@ -162,15 +200,17 @@ public class AssignmentServiceImpl implements AssignmentService {
 
         FeedBack feedBack = feedBackMapper.partialUpdate(feedBackRequest, feedBackToUpdate);
         saveUpdates(assignment);
+        FeedBackResponse response = feedBackMapper.toFeedBackResponse(feedBackRepository.save(feedBack));
+        employeeCache.evictDependents(assignmentId);
 
-        return feedBackMapper.toFeedBackResponse(feedBackRepository.save(feedBack));
+        return response;
     }
 
     private Assignment saveUpdates(Assignment assignment) {
-        var assignmentToSave = assignmentRepository.save(assignment);
-        if (cache.containsKey(assignment.getId())) {
-            cache.put(assignment.getId(), assignmentMapper.toAssignmentResponse(assignment));
-        }
-        return assignmentToSave;
+        return assignmentRepository.save(assignment);
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return ResourceNotFoundException.withoutStackTrace("Assignment not found with id = " + id);
     }
 }
\ No newline at end of file
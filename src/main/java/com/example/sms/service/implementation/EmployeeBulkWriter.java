@@ -0,0 +1,228 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Employee;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.model.NameSearchKey;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk upsert of employees matched by phone number or email. Requests are written in chunks
+ * of {@code sms.bulk.batch-size}, each in its own transaction: one query loads the stored
+ * employees matching the chunk, conflicts are resolved in memory by an
+ * {@link EmployeeUpsertPlan}, and the rows are flushed as JDBC batches. A chunk the database
+ * rejects is rolled back and its rows reported as failed, earlier chunks stay committed.
+ * When several rows of a chunk resolve to the same new employee, the first is reported as
+ * created and the others as updated, each with the state its own row left behind.
+ *
+ * <p>Outside a caller's transaction the persistence context is cleared after every committed
+ * chunk. With open-in-view the request's session outlives the chunk transactions, and would
+ * otherwise keep every written employee managed until the whole upload is done.
+ */
+@Component
+public class EmployeeBulkWriter {
+
+    private final RegionCache cache;
+    private final RegionCache missingIds;
+    private final RegionCache searchCache;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeNameIndex nameIndex;
+    private final EmployeeLookupIndex lookupIndex;
+    private final int batchSize;
+
+    private record EmployeeName(String firstName, String lastName) {
+    }
+
+    private record RowState(String firstName, String lastName, String phoneNumber, String email) {
+    }
+
+    private record Chunk(List<BulkRowResponse> rows, List<Long> updatedIds, List<Long> createdIds,
+                         List<EmployeeName> touchedNames) {
+    }
+
+    public EmployeeBulkWriter(RegionCacheManager cacheManager,
+                              EmployeeRepository employeeRepository,
+                              EmployeeMapper employeeMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              EmployeeNameIndex nameIndex,
+                              EmployeeLookupIndex lookupIndex,
+                              @Value("${sms.bulk.batch-size:500}") int batchSize) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Bulk batch size must be positive");
+        }
+        this.cache = cacheManager.getCache(CacheNames.EMPLOYEES);
+        this.missingIds = cacheManager.getCache(CacheNames.MISSING_EMPLOYEES);
+        this.searchCache = cacheManager.getCache(CacheNames.EMPLOYEE_SEARCH);
+        this.employeeRepository = employeeRepository;
+        this.employeeMapper = employeeMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nameIndex = nameIndex;
+        this.lookupIndex = lookupIndex;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns one result per request, in request order.
+     */
+    public List<BulkRowResponse> upsert(List<EmployeeRequest> requests) {
+        List<BulkRowResponse> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<EmployeeRequest> requestChunk = requests.subList(from, Math.min(from + batchSize, requests.size()));
+            int offset = from;
+            Chunk chunk;
+            try {
+                chunk = transactionTemplate.execute(status -> writeChunk(offset, requestChunk));
+            } catch (DataAccessException e) {
+                results.addAll(failed(offset, requestChunk, e));
+                continue;
+            }
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.clear();
+            }
+            evictCaches(chunk);
+            indexNames(chunk);
+            results.addAll(chunk.rows());
+        }
+        return results;
+    }
+
+    private Chunk writeChunk(int offset, List<EmployeeRequest> requests) {
+        Set<String> phoneNumbers = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (EmployeeRequest request : requests) {
+            phoneNumbers.add(request.phoneNumber());
+            emails.add(request.email());
+        }
+        EmployeeUpsertPlan plan = new EmployeeUpsertPlan(
+                employeeRepository.findByPhoneNumberInOrEmailIn(phoneNumbers, emails));
+
+        Employee[] written = new Employee[requests.size()];
+        RowState[] states = new RowState[requests.size()];
+        Set<Employee> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        BulkRowStatus[] statuses = new BulkRowStatus[requests.size()];
+        String[] conflicts = new String[requests.size()];
+        Set<Employee> dirty = new LinkedHashSet<>();
+        Chunk chunk = new Chunk(new ArrayList<>(requests.size()), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>());
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequest request = requests.get(i);
+            EmployeeUpsertPlan.Decision decision = plan.resolve(request);
+            if (decision.isConflict()) {
+                statuses[i] = BulkRowStatus.CONFLICT;
+                conflicts[i] = decision.conflict();
+                continue;
+            }
+
+            Employee employee = decision.target();
+            if (employee == null) {
+                employee = employeeMapper.toEmployee(request);
+                plan.track(employee);
+                chunk.touchedNames().add(new EmployeeName(employee.getFirstName(), employee.getLastName()));
+            } else {
+                String oldFirstName = employee.getFirstName();
+                String oldLastName = employee.getLastName();
+                String oldPhoneNumber = employee.getPhoneNumber();
+                String oldEmail = employee.getEmail();
+                employeeMapper.partialUpdate(request, employee);
+                plan.retrack(employee, oldPhoneNumber, oldEmail);
+                if (!Objects.equals(oldFirstName, employee.getFirstName())
+                        || !Objects.equals(oldLastName, employee.getLastName())) {
+                    chunk.touchedNames().add(new EmployeeName(oldFirstName, oldLastName));
+                    chunk.touchedNames().add(new EmployeeName(employee.getFirstName(), employee.getLastName()));
+                }
+            }
+            statuses[i] = employee.getId() == null && created.add(employee)
+                    ? BulkRowStatus.CREATED
+                    : BulkRowStatus.UPDATED;
+            written[i] = employee;
+            states[i] = new RowState(employee.getFirstName(), employee.getLastName(),
+                    employee.getPhoneNumber(), employee.getEmail());
+            dirty.add(employee);
+        }
+
+        employeeRepository.saveAll(dirty);
+        employeeRepository.flush();
+
+        Map<Employee, EmployeeResponse> responses = new IdentityHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Employee employee = written[i];
+            if (employee == null) {
+                chunk.rows().add(new BulkRowResponse(offset + i, statuses[i], null, conflicts[i]));
+                continue;
+            }
+            if (created.contains(employee)) {
+                if (statuses[i] == BulkRowStatus.CREATED) {
+                    chunk.createdIds().add(employee.getId());
+                }
+            } else {
+                chunk.updatedIds().add(employee.getId());
+            }
+            EmployeeResponse response = responses.computeIfAbsent(employee, employeeMapper::toEmployeeResponse);
+            chunk.rows().add(new BulkRowResponse(offset + i, statuses[i], rowResponse(response, states[i]), null));
+        }
+        return chunk;
+    }
+
+    private static EmployeeResponse rowResponse(EmployeeResponse employee, RowState state) {
+        return new EmployeeResponse(employee.id(), state.firstName(), state.lastName(), state.phoneNumber(),
+                state.email(), employee.assignments());
+    }
+
+    private void evictCaches(Chunk chunk) {
+        chunk.updatedIds().forEach(cache::evict);
+        chunk.createdIds().forEach(missingIds::evict);
+        List<EmployeeName> names = chunk.touchedNames();
+        if (!names.isEmpty()) {
+            searchCache.evictIf(key -> names.stream()
+                    .anyMatch(name -> ((NameSearchKey) key).matches(name.firstName(), name.lastName())));
+        }
+    }
+
+    private void indexNames(Chunk chunk) {
+        for (BulkRowResponse row : chunk.rows()) {
+            EmployeeResponse employee = row.employee();
+            if (employee != null) {
+                nameIndex.put(employee.id(), employee.firstName(), employee.lastName());
+                lookupIndex.put(employee.id(), employee.firstName(), employee.lastName(),
+                        employee.phoneNumber(), employee.email());
+            }
+        }
+    }
+
+    private static List<BulkRowResponse> failed(int offset, List<EmployeeRequest> requests, DataAccessException e) {
+        String message = "Batch rolled back: " + e.getMostSpecificCause().getMessage();
+        List<BulkRowResponse> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new BulkRowResponse(offset + i, BulkRowStatus.FAILED, null, message));
+        }
+        return rows;
+    }
+}
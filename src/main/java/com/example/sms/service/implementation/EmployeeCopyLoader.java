@@ -0,0 +1,210 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.request.EmployeeLoadRequest;
+import com.example.sms.dto.response.EmployeeLoadResponse;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mass load of employees and their assignment links that bypasses JPA. Rows are streamed
+ * from NDJSON into a temporary staging table with a binary {@code COPY}, then merged into
+ * {@code employees} and {@code employee_assignments} by a handful of set-based statements in
+ * the same transaction: later rows supersede earlier ones with the same phone number or email,
+ * rows whose phone number and email belong to two different employees are dropped as
+ * conflicts, matched employees are updated and the rest inserted with ids taken from
+ * {@code employees_seq} in whole pooled-lo blocks. Assignment ids are added to the existing
+ * links, unknown ones are ignored. All employee cache regions are cleared and the
+ * {@link EmployeeNameIndex} and {@link EmployeeLookupIndex} rebuilt afterwards.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sms.bulk.copy-load", name = "enabled", havingValue = "true")
+public class EmployeeCopyLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeCopyLoader.class);
+
+    /** Must match the {@code allocationSize} of the employee id generator. */
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE employee_load (
+                row_no integer NOT NULL,
+                first_name text,
+                last_name text,
+                phone_number text,
+                email text,
+                assignment_ids bigint[],
+                phone_id bigint,
+                email_id bigint,
+                target_id bigint,
+                created boolean NOT NULL DEFAULT false
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = "COPY employee_load "
+            + "(row_no, first_name, last_name, phone_number, email, assignment_ids) FROM STDIN (FORMAT binary)";
+
+    private static final String SUPERSEDE_BY_PHONE = """
+            DELETE FROM employee_load a USING employee_load b
+            WHERE b.phone_number = a.phone_number AND b.row_no > a.row_no""";
+
+    private static final String SUPERSEDE_BY_EMAIL = """
+            DELETE FROM employee_load a USING employee_load b
+            WHERE b.email = a.email AND b.row_no > a.row_no""";
+
+    private static final String MATCH_PHONE = """
+            UPDATE employee_load l SET phone_id = e.id
+            FROM employees e WHERE e.phone_number = l.phone_number""";
+
+    private static final String MATCH_EMAIL = """
+            UPDATE employee_load l SET email_id = e.id
+            FROM employees e WHERE e.email = l.email""";
+
+    private static final String DROP_CONFLICTS = "DELETE FROM employee_load WHERE phone_id <> email_id";
+
+    private static final String SET_TARGET = "UPDATE employee_load SET target_id = COALESCE(phone_id, email_id)";
+
+    private static final String SUPERSEDE_BY_TARGET = """
+            DELETE FROM employee_load a USING employee_load b
+            WHERE b.target_id = a.target_id AND b.row_no > a.row_no""";
+
+    private static final String ALLOCATE_IDS = """
+            WITH new_rows AS (
+                SELECT row_no, row_number() OVER (ORDER BY row_no) - 1 AS k
+                FROM employee_load WHERE target_id IS NULL
+            ), blocks AS (
+                SELECT block, nextval('employees_seq') AS lo
+                FROM generate_series(1, (SELECT ceil(count(*) / %1$d.0)::integer FROM new_rows)) AS block
+            )
+            UPDATE employee_load l SET target_id = blocks.lo + new_rows.k %% %1$d, created = true
+            FROM new_rows JOIN blocks ON blocks.block = new_rows.k / %1$d + 1
+            WHERE l.row_no = new_rows.row_no""".formatted(ID_BLOCK_SIZE);
+
+    private static final String UPDATE_EMPLOYEES = """
+            UPDATE employees e SET first_name = l.first_name, last_name = l.last_name,
+                phone_number = l.phone_number, email = l.email, version = e.version + 1
+            FROM employee_load l WHERE e.id = l.target_id AND NOT l.created""";
+
+    private static final String INSERT_EMPLOYEES = """
+            INSERT INTO employees (id, version, first_name, last_name, phone_number, email)
+            SELECT target_id, 0, first_name, last_name, phone_number, email
+            FROM employee_load WHERE created""";
+
+    private static final String INSERT_LINKS = """
+            INSERT INTO employee_assignments (employee_id, assignment_id)
+            SELECT DISTINCT l.target_id, a.id
+            FROM employee_load l
+            CROSS JOIN LATERAL unnest(l.assignment_ids) AS ids(assignment_id)
+            JOIN assignments a ON a.id = ids.assignment_id
+            WHERE NOT EXISTS (SELECT 1 FROM employee_assignments ea
+                              WHERE ea.employee_id = l.target_id AND ea.assignment_id = a.id)""";
+
+    private record Copied(int received, int invalid) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final List<RegionCache> employeeRegions;
+    private final EmployeeNameIndex nameIndex;
+    private final EmployeeLookupIndex lookupIndex;
+
+    public EmployeeCopyLoader(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              RegionCacheManager cacheManager,
+                              EmployeeNameIndex nameIndex,
+                              EmployeeLookupIndex lookupIndex) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(EmployeeLoadRequest.class);
+        this.employeeRegions = List.of(
+                cacheManager.getCache(CacheNames.EMPLOYEES),
+                cacheManager.getCache(CacheNames.EMPLOYEE_SEARCH),
+                cacheManager.getCache(CacheNames.MISSING_EMPLOYEES));
+        this.nameIndex = nameIndex;
+        this.lookupIndex = lookupIndex;
+    }
+
+    /**
+     * Loads NDJSON rows in one transaction. Rows failing validation are counted and skipped;
+     * an unreadable row or a constraint the merge cannot resolve rolls the whole load back.
+     */
+    public EmployeeLoadResponse load(InputStream in) {
+        long start = System.nanoTime();
+        EmployeeLoadResponse response = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CREATE_STAGING);
+            Copied copied = jdbcTemplate.execute((ConnectionCallback<Copied>) connection -> copy(connection, in));
+            jdbcTemplate.execute("ANALYZE employee_load");
+
+            int superseded = jdbcTemplate.update(SUPERSEDE_BY_PHONE) + jdbcTemplate.update(SUPERSEDE_BY_EMAIL);
+            jdbcTemplate.update(MATCH_PHONE);
+            jdbcTemplate.update(MATCH_EMAIL);
+            int conflicts = jdbcTemplate.update(DROP_CONFLICTS);
+            jdbcTemplate.update(SET_TARGET);
+            superseded += jdbcTemplate.update(SUPERSEDE_BY_TARGET);
+            jdbcTemplate.update(ALLOCATE_IDS);
+            int updated = jdbcTemplate.update(UPDATE_EMPLOYEES);
+            int created = jdbcTemplate.update(INSERT_EMPLOYEES);
+            int links = jdbcTemplate.update(INSERT_LINKS);
+
+            return new EmployeeLoadResponse(copied.received(), copied.invalid(), superseded, conflicts,
+                    created, updated, links, (System.nanoTime() - start) / 1_000_000);
+        });
+        employeeRegions.forEach(RegionCache::clear);
+        nameIndex.rebuild();
+        lookupIndex.rebuild();
+        logger.info("Loaded employees with COPY: {}", response);
+        return response;
+    }
+
+    private Copied copy(Connection connection, InputStream in) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        int received = 0;
+        int invalid = 0;
+        try (MappingIterator<EmployeeLoadRequest> rows = rowReader.readValues(in);
+             PgBinaryCopyWriter writer = new PgBinaryCopyWriter(new PGCopyOutputStream(pgConnection, COPY_STAGING))) {
+            while (rows.hasNextValue()) {
+                EmployeeLoadRequest row = rows.nextValue();
+                int rowNo = received++;
+                if (row == null || !validator.validate(row).isEmpty()) {
+                    invalid++;
+                    continue;
+                }
+                writer.startRow(6);
+                writer.writeInt(rowNo);
+                writer.writeText(row.firstName());
+                writer.writeText(row.lastName());
+                writer.writeText(row.phoneNumber());
+                writer.writeText(row.email());
+                writer.writeBigintArray(row.assignmentIds());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Row " + received + " could not be loaded", e);
+        }
+        return new Copied(received, invalid);
+    }
+}
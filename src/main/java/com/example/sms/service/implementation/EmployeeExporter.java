@@ -0,0 +1,154 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.ExportFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import jakarta.persistence.EntityManager;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes every employee, in id order, as a JSON array or CSV without building the list in
+ * memory. Employees are read through a forward-only result stream in a read-only transaction
+ * with a JDBC fetch size of {@code sms.export.fetch-size} and written in chunks of that size:
+ * the first lazy collection touched in a chunk batch-loads the collections of the whole
+ * chunk, and the persistence context is cleared after each chunk so loaded entities do not
+ * accumulate.
+ */
+@Component
+public class EmployeeExporter {
+
+    private static final String QUERY = "SELECT e FROM Employee e ORDER BY e.id";
+
+    @JsonPropertyOrder({"id", "firstName", "lastName", "phoneNumber", "email", "assignmentIds"})
+    record CsvRow(Long id, String firstName, String lastName, String phoneNumber, String email,
+                  String assignmentIds) {
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeMapper employeeMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+    private final int fetchSize;
+
+    public EmployeeExporter(EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            EmployeeMapper employeeMapper,
+                            ObjectMapper objectMapper,
+                            @Value("${sms.export.fetch-size:500}") int fetchSize) {
+
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Export fetch size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.employeeMapper = employeeMapper;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writerFor(EmployeeResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        CsvMapper csvMapper = new CsvMapper();
+        this.csvWriter = csvMapper.writer(csvMapper.schemaFor(CsvRow.class).withHeader())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns the number of employees written. The stream is flushed but not closed.
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        try {
+            Long written = transactionTemplate.execute(status -> {
+                try (Stream<Employee> employees = entityManager.createQuery(QUERY, Employee.class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()) {
+                    return format == ExportFormat.CSV
+                            ? writeCsv(employees.iterator(), out)
+                            : writeJson(employees.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return written == null ? 0 : written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeJson(Iterator<Employee> employees, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            List<Employee> chunk = new ArrayList<>(fetchSize);
+            while (nextChunk(employees, chunk)) {
+                for (Employee employee : chunk) {
+                    jsonWriter.writeValue(generator, employeeMapper.toEmployeeResponse(employee));
+                }
+                count += endChunk(chunk, generator);
+            }
+            generator.writeEndArray();
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Employee> employees, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = csvWriter.writeValues(out)) {
+            List<Employee> chunk = new ArrayList<>(fetchSize);
+            while (nextChunk(employees, chunk)) {
+                for (Employee employee : chunk) {
+                    writer.write(new CsvRow(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                            employee.getPhoneNumber(), employee.getEmail(),
+                            employee.getAssignments().stream()
+                                    .map(Assignment::getId)
+                                    .map(String::valueOf)
+                                    .collect(Collectors.joining(";"))));
+                }
+                count += endChunk(chunk, writer);
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    private boolean nextChunk(Iterator<Employee> employees, List<Employee> chunk) {
+        chunk.clear();
+        while (chunk.size() < fetchSize && employees.hasNext()) {
+            chunk.add(employees.next());
+        }
+        return !chunk.isEmpty();
+    }
+
+    private int endChunk(List<Employee> chunk, Flushable output) throws IOException {
+        entityManager.clear();
+        output.flush();
+        return chunk.size();
+    }
+}
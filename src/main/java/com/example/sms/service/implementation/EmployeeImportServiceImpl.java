@@ -0,0 +1,263 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.model.ImportFormat;
+import com.example.sms.model.ImportStatus;
+import com.example.sms.service.EmployeeImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports employees from an NDJSON or CSV stream without holding the file in memory. Rows are
+ * pulled one at a time from Jackson's streaming parser, validated, and handed to the
+ * {@link EmployeeBulkWriter} every {@code sms.bulk.batch-size} rows; each chunk's results are
+ * written and flushed to the response before the next row is read, so a slow client slows
+ * the import down instead of buffering results. A rolled back chunk or an unreadable row
+ * stops the import, and the client resends the file with the import id to continue after
+ * the last committed row.
+ *
+ * <p>Import statuses are kept in memory. A finished import is forgotten
+ * {@code sms.bulk.import.retention} after it completed or failed, and at most
+ * {@code sms.bulk.import.max-tracked} imports are tracked, the oldest finished ones making
+ * room for new ones.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    private final EmployeeBulkWriter bulkWriter;
+    private final Validator validator;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final ObjectWriter rowWriter;
+    private final int batchSize;
+    private final long retentionNanos;
+    private final int maxTracked;
+    private final Map<String, ImportStatus> imports = new ConcurrentHashMap<>();
+
+    public EmployeeImportServiceImpl(EmployeeBulkWriter bulkWriter,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     @Value("${sms.bulk.batch-size:500}") int batchSize,
+                                     @Value("${sms.bulk.import.retention:1h}") Duration retention,
+                                     @Value("${sms.bulk.import.max-tracked:1000}") int maxTracked) {
+
+        this.bulkWriter = bulkWriter;
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(EmployeeRequest.class);
+        this.csvReader = new CsvMapper().readerFor(EmployeeRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.rowWriter = objectMapper.writerFor(BulkRowResponse.class);
+        this.batchSize = batchSize;
+        this.retentionNanos = retention.toNanos();
+        this.maxTracked = maxTracked;
+    }
+
+    @Override
+    public ImportStatus begin(String importId) {
+        if (importId == null) {
+            makeRoom();
+            ImportStatus status = new ImportStatus(UUID.randomUUID().toString());
+            imports.put(status.getId(), status);
+            return status;
+        }
+        ImportStatus status = getStatus(importId);
+        if (!status.resume()) {
+            throw new ConflictException("Import " + importId + " is " + status.getStatus());
+        }
+        return status;
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        imports.values().removeIf(status -> status.hasFinished() && now - status.finishedAt() >= retentionNanos);
+        int excess = imports.size() - maxTracked + 1;
+        if (excess <= 0) {
+            return;
+        }
+        imports.values().stream()
+                .filter(ImportStatus::hasFinished)
+                .sorted(Comparator.comparingLong(ImportStatus::finishedAt))
+                .limit(excess)
+                .toList()
+                .forEach(status -> imports.remove(status.getId(), status));
+        if (imports.size() >= maxTracked) {
+            throw new ConflictException("Too many imports are running, retry later");
+        }
+    }
+
+    @Override
+    public ImportStatus getStatus(String importId) {
+        ImportStatus status = imports.get(importId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Import not found: " + importId);
+        }
+        return status;
+    }
+
+    @Override
+    public void importRows(ImportStatus status, InputStream in, ImportFormat format, OutputStream out)
+            throws IOException {
+        ObjectReader reader = format == ImportFormat.CSV ? csvReader : jsonReader;
+        int skip = status.getCommittedRows();
+        Chunk chunk = new Chunk(skip);
+        try (MappingIterator<EmployeeRequest> rows = reader.readValues(in)) {
+            int index = 0;
+            while (true) {
+                EmployeeRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                    String message = "Row could not be read: " + e.getMessage();
+                    if (index >= skip && chunk.flush(status, out)) {
+                        write(out, new BulkRowResponse(index, BulkRowStatus.INVALID, null, message));
+                        out.flush();
+                    }
+                    if (ImportStatus.RUNNING.equals(status.getStatus())) {
+                        status.fail("Import stopped at row " + index + ": " + message);
+                    }
+                    return;
+                }
+                if (index++ < skip) {
+                    continue;
+                }
+
+                String violations = validate(request);
+                if (violations == null) {
+                    chunk.add(request);
+                } else {
+                    chunk.add(new BulkRowResponse(chunk.nextRow(), BulkRowStatus.INVALID, null, violations));
+                }
+                if (chunk.size() == batchSize && !chunk.flush(status, out)) {
+                    return;
+                }
+            }
+            if (chunk.flush(status, out)) {
+                status.complete();
+                logger.info("Import {} completed, {} rows", status.getId(), status.getCommittedRows());
+            }
+        } finally {
+            if (ImportStatus.RUNNING.equals(status.getStatus())) {
+                status.fail("Import interrupted after row " + status.getCommittedRows());
+            }
+        }
+    }
+
+    private String validate(EmployeeRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void write(OutputStream out, BulkRowResponse row) throws IOException {
+        out.write(rowWriter.writeValueAsBytes(row));
+        out.write('\n');
+    }
+
+    /**
+     * Rows read since the last commit: a {@code null} slot is filled by the writer's result
+     * for the next pending request, other slots were rejected before reaching the database.
+     */
+    private final class Chunk {
+
+        private int firstRow;
+        private final List<BulkRowResponse> rows = new ArrayList<>();
+        private final List<EmployeeRequest> requests = new ArrayList<>();
+
+        private Chunk(int firstRow) {
+            this.firstRow = firstRow;
+        }
+
+        private int nextRow() {
+            return firstRow + rows.size();
+        }
+
+        private int size() {
+            return rows.size();
+        }
+
+        private void add(EmployeeRequest request) {
+            rows.add(null);
+            requests.add(request);
+        }
+
+        private void add(BulkRowResponse rejected) {
+            rows.add(rejected);
+        }
+
+        /**
+         * Writes the pending requests and streams every row's result; returns {@code false}
+         * and fails the import if the chunk was rolled back.
+         */
+        private boolean flush(ImportStatus status, OutputStream out) throws IOException {
+            if (rows.isEmpty()) {
+                return true;
+            }
+            List<BulkRowResponse> written = requests.isEmpty() ? List.of() : bulkWriter.upsert(requests);
+            boolean committed = written.stream().noneMatch(row -> row.status() == BulkRowStatus.FAILED);
+
+            Iterator<BulkRowResponse> results = written.iterator();
+            for (int i = 0; i < rows.size(); i++) {
+                BulkRowResponse row = rows.get(i);
+                if (row == null) {
+                    BulkRowResponse result = results.next();
+                    row = new BulkRowResponse(firstRow + i, result.status(), result.employee(), result.message());
+                }
+                write(out, row);
+            }
+            out.flush();
+
+            if (!committed) {
+                status.fail("Import stopped at row " + firstRow + ": "
+                        + written.get(0).message());
+                return false;
+            }
+            firstRow += rows.size();
+            status.commit(firstRow);
+            rows.clear();
+            requests.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.model.LookupField;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.search.PrefixIndex;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * One {@link PrefixIndex} per {@link LookupField}, keyed by the lower-cased column value.
+ * The snapshots are loaded before the web server starts taking requests, the employee write
+ * paths record their changes in the deltas, and once a delta holds
+ * {@code sms.search.prefix.delta-limit} changes it is merged into a new snapshot on a
+ * background thread. Writes that bypass the write paths call {@link #rebuild}.
+ */
+@Component
+public class EmployeeLookupIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeLookupIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final int deltaLimit;
+    private final Map<LookupField, PrefixIndex> indexes = new EnumMap<>(LookupField.class);
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-lookup-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    public EmployeeLookupIndex(EmployeeRepository employeeRepository,
+                               @Value("${sms.search.prefix.delta-limit:10000}") int deltaLimit) {
+        this.employeeRepository = employeeRepository;
+        this.deltaLimit = deltaLimit;
+        for (LookupField field : LookupField.values()) {
+            indexes.put(field, new PrefixIndex());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long start = System.nanoTime();
+            rebuild();
+            logger.info("Loaded employee lookup index in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.warn("Could not load the employee lookup index", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    public void put(Long id, String firstName, String lastName, String phoneNumber, String email) {
+        indexes.get(LookupField.FIRST_NAME).put(id, normalize(firstName));
+        indexes.get(LookupField.LAST_NAME).put(id, normalize(lastName));
+        indexes.get(LookupField.PHONE_NUMBER).put(id, normalize(phoneNumber));
+        indexes.get(LookupField.EMAIL).put(id, normalize(email));
+        scheduleCompactionIfNeeded();
+    }
+
+    public void remove(Long id) {
+        indexes.values().forEach(index -> index.remove(id));
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Returns up to {@code limit} entries of the field starting with {@code prefix}, in key and
+     * id order, strictly after {@code after} when it is not {@code null}.
+     */
+    public List<PrefixIndex.Hit> search(LookupField field, String prefix, PrefixIndex.Hit after, int limit) {
+        String key = normalize(prefix);
+        return indexes.get(field).search(key == null ? "" : key, after, limit);
+    }
+
+    /**
+     * Reloads every snapshot from the database in id-keyset batches.
+     */
+    public void rebuild() {
+        Map<LookupField, Long> sequences = new EnumMap<>(LookupField.class);
+        Map<LookupField, List<PrefixIndex.Hit>> hits = new EnumMap<>(LookupField.class);
+        indexes.forEach((field, index) -> {
+            sequences.put(field, index.sequence());
+            hits.put(field, new ArrayList<>());
+        });
+
+        long after = Long.MIN_VALUE;
+        List<EmployeeSummaryResponse> batch;
+        do {
+            batch = employeeRepository.findSummariesAfter(after, PageRequest.of(0, EmployeeNameIndex.LOAD_BATCH_SIZE));
+            for (EmployeeSummaryResponse employee : batch) {
+                add(hits.get(LookupField.FIRST_NAME), employee.firstName(), employee.id());
+                add(hits.get(LookupField.LAST_NAME), employee.lastName(), employee.id());
+                add(hits.get(LookupField.PHONE_NUMBER), employee.phoneNumber(), employee.id());
+                add(hits.get(LookupField.EMAIL), employee.email(), employee.id());
+                after = employee.id();
+            }
+        } while (batch.size() == EmployeeNameIndex.LOAD_BATCH_SIZE);
+
+        indexes.forEach((field, index) -> index.replace(hits.get(field), sequences.get(field)));
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        boolean full = indexes.values().stream().anyMatch(index -> index.deltaSize() >= deltaLimit);
+        if (full && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    indexes.values().forEach(PrefixIndex::compact);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not compact the employee lookup index", e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private static void add(List<PrefixIndex.Hit> hits, String value, long id) {
+        String key = normalize(value);
+        if (key != null) {
+            hits.add(new PrefixIndex.Hit(key, id));
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.strip().toLowerCase(Locale.ROOT);
+    }
+}
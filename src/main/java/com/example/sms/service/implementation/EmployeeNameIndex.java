@@ -0,0 +1,98 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.search.TrigramIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link TrigramIndex} of every employee's names, backing autocomplete. It is loaded before
+ * the web server starts taking requests and kept current by the employee write paths; writes
+ * that bypass them call {@link #rebuild}. Writes made while a rebuild is reading the table are
+ * replayed onto the new index before it replaces the old one.
+ */
+@Component
+public class EmployeeNameIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final Object rebuildLock = new Object();
+    private volatile TrigramIndex index = new TrigramIndex();
+    private List<Consumer<TrigramIndex>> pendingWrites;
+
+    public EmployeeNameIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long start = System.nanoTime();
+            rebuild();
+            logger.info("Indexed {} employee names in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.warn("Could not load the employee name index", e);
+        }
+    }
+
+    public void put(Long id, String firstName, String lastName) {
+        apply(names -> names.put(id, firstName, lastName));
+    }
+
+    public void remove(Long id) {
+        apply(names -> names.remove(id));
+    }
+
+    public List<TrigramIndex.Match> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Reloads the index from the database in id order.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingWrites = new ArrayList<>();
+            }
+            TrigramIndex rebuilt = new TrigramIndex();
+            try {
+                long after = Long.MIN_VALUE;
+                List<EmployeeSummaryResponse> batch;
+                do {
+                    batch = employeeRepository.findSummariesAfter(after, PageRequest.of(0, LOAD_BATCH_SIZE));
+                    for (EmployeeSummaryResponse employee : batch) {
+                        rebuilt.put(employee.id(), employee.firstName(), employee.lastName());
+                        after = employee.id();
+                    }
+                } while (batch.size() == LOAD_BATCH_SIZE);
+
+                synchronized (this) {
+                    pendingWrites.forEach(write -> write.accept(rebuilt));
+                    index = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingWrites = null;
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<TrigramIndex> write) {
+        write.accept(index);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+}
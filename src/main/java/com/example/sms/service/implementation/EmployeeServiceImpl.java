@@ -1,23 +1,39 @@
 package com.example.sms.service.implementation;
 
 import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeNameResponse;
 import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.dto.response.PageResponse;
 import com.example.sms.entity.Assignment;
 import com.example.sms.entity.Employee;
+import com.example.sms.exception.BadRequestException;
 import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
 import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.LookupField;
+import com.example.sms.model.NameSearchKey;
+import com.example.sms.model.PageCursor;
+import com.example.sms.model.PrefixCursor;
 import com.example.sms.repository.AssignmentRepository;
 import com.example.sms.repository.EmployeeRepository;
 import com.example.sms.service.EmployeeService;
-import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import com.example.sms.utils.search.PrefixIndex;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -25,39 +41,70 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private final Cache<Long, EmployeeResponse> cache;
+    private static final int MAX_SIMILAR_RESULTS = 100;
+    private static final int MAX_AUTOCOMPLETE_RESULTS = 50;
+
+    private final RegionCache cache;
+    private final RegionCache missingIds;
+    private final RegionCache searchCache;
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final AssignmentRepository assignmentRepository;
+    private final EmployeeBulkWriter bulkWriter;
+    private final EmployeeNameIndex nameIndex;
+    private final EmployeeLookupIndex lookupIndex;
 
-    public EmployeeServiceImpl(Cache<Long, EmployeeResponse> cache,
+    public EmployeeServiceImpl(RegionCacheManager cacheManager,
                                EmployeeRepository employeesRepository,
                                EmployeeMapper employeeMapper,
-                               AssignmentRepository assignmentRepository) {
-
-        this.cache = cache;
+                               AssignmentRepository assignmentRepository,
+                               EmployeeBulkWriter bulkWriter,
+                               EmployeeNameIndex nameIndex,
+                               EmployeeLookupIndex lookupIndex) {
+
+        this.cache = cacheManager.getCache(CacheNames.EMPLOYEES);
+        this.missingIds = cacheManager.getCache(CacheNames.MISSING_EMPLOYEES);
+        this.searchCache = cacheManager.getCache(CacheNames.EMPLOYEE_SEARCH);
         this.employeeRepository = employeesRepository;
         this.employeeMapper = employeeMapper;
         this.assignmentRepository = assignmentRepository;
+        this.bulkWriter = bulkWriter;
+        this.nameIndex = nameIndex;
+        this.lookupIndex = lookupIndex;
+    }
+
+    @Override
+    public PageResponse<EmployeeResponse> getPage(String cursor, int size, String sort) {
+        PageCursor position = KeysetPages.cursor(cursor, sort);
+        List<Long> ids = position.descending()
+                ? employeeRepository.findIdsBefore(position.lastId(), KeysetPages.limit(size))
+                : employeeRepository.findIdsAfter(position.lastId(), KeysetPages.limit(size));
+        PageResponse<Long> page = KeysetPages.page(ids, size, position, Long::longValue);
+        return new PageResponse<>(getEmployeeResponses(page.items()), page.nextCursor());
     }
 
     @Override
-    public List<EmployeeResponse> getAll() {
-        return employeeMapper.toEmployeeResponseList(employeeRepository.findAll());
+    public PageResponse<EmployeeSummaryResponse> getSummaryPage(String cursor, int size, String sort) {
+        PageCursor position = KeysetPages.cursor(cursor, sort);
+        List<EmployeeSummaryResponse> rows = position.descending()
+                ? employeeRepository.findSummariesBefore(position.lastId(), KeysetPages.limit(size))
+                : employeeRepository.findSummariesAfter(position.lastId(), KeysetPages.limit(size));
+        return KeysetPages.page(rows, size, position, EmployeeSummaryResponse::id);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.EMPLOYEES, key = "#id", sync = true)
     public EmployeeResponse getById(Long id) {
-        if (cache.containsKey(id)) {
-            return cache.get(id);
+        if (missingIds.get(id) != null) {
+            throw notFound(id);
+        }
+        Optional<Employee> employee = employeeRepository.findById(id);
+        if (employee.isEmpty()) {
+            missingIds.put(id, Boolean.TRUE);
+            throw notFound(id);
         }
 
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Employee not found with such id = " + id));
-
-        cache.put(id, employeeMapper.toEmployeeResponse(employee));
-        return employeeMapper.toEmployeeResponse(employee);
+        return employeeMapper.toEmployeeResponse(employee.get());
     }
 
     @Override
@@ -68,11 +115,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         } else if (employeeRepository.existsByEmail(employeeRequest.email())) {
             throw new ConflictException("Email " + employeeRequest.email() + " is already in use");
         }
-        return employeeMapper.toEmployeeResponse(
-                employeeRepository.save(employeeMapper.toEmployee(employeeRequest)));
+        Employee employee = employeeRepository.save(employeeMapper.toEmployee(employeeRequest));
+        missingIds.evict(employee.getId());
+        evictSearches(employee.getFirstName(), employee.getLastName());
+        nameIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName());
+        lookupIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getPhoneNumber(), employee.getEmail());
+        return employeeMapper.toEmployeeResponse(employee);
     }
 
     @Override
+    @CachePut(cacheNames = CacheNames.EMPLOYEES, key = "#id")
     public EmployeeResponse update(Long id, EmployeeRequest employeeRequest) {
         // Получаем текущего сотрудника
         Employee targetEmployee = employeeRepository.findById(id)
@@ -92,29 +145,34 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         // Обновляем сотрудника
+        String oldFirstName = targetEmployee.getFirstName();
+        String oldLastName = targetEmployee.getLastName();
         Employee employeeToUpdate = employeeMapper.partialUpdate(employeeRequest, targetEmployee);
         Employee updatedEmployee = saveUpdates(employeeToUpdate);
+        evictSearchesOnRename(oldFirstName, oldLastName, updatedEmployee);
+        nameIndex.put(updatedEmployee.getId(), updatedEmployee.getFirstName(), updatedEmployee.getLastName());
+        lookupIndex.put(updatedEmployee.getId(), updatedEmployee.getFirstName(), updatedEmployee.getLastName(),
+                updatedEmployee.getPhoneNumber(), updatedEmployee.getEmail());
 
         // Преобразуем в DTO и возвращаем
         return employeeMapper.toEmployeeResponse(updatedEmployee);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.EMPLOYEES, key = "#id")
     public void delete(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new ResponseStatusException(
-                    HttpStatus.NOT_FOUND, "Employee not found with id = " + id);
-        }
-        cache.remove(id);
-        employeeRepository.deleteById(id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Employee not found with id = " + id));
+        employeeRepository.delete(employee);
+        evictSearches(employee.getFirstName(), employee.getLastName());
+        nameIndex.remove(id);
+        lookupIndex.remove(id);
     }
 
     @Override
     public List<EmployeeResponse> searchEmployeesByFirstName(String firstName) {
-        var employees = employeeMapper
-                .toEmployeeResponseList(employeeRepository.findByFirstName(firstName));
-
-        return getEmployeeResponses(employees);
+        return searchByName(NameSearchKey.of(firstName, null));
     }
 
     @Override
@@ -123,13 +181,20 @@ public class EmployeeServiceImpl implements EmployeeService {
             return Collections.emptyList();
         }
 
-        var employees = employeeMapper.toEmployeeResponseList(
-                employeeRepository.findEmployeesByAssignmentId(id));
+        return getEmployeeResponses(employeeRepository.findIdsByAssignmentId(id));
+    }
 
-        return getEmployeeResponses(employees);
+    @Override
+    public List<EmployeeSummaryResponse> searchSummariesByAssignmentId(Long id) {
+        if (!assignmentRepository.existsById(id)) {
+            return Collections.emptyList();
+        }
+
+        return getEmployeeSummaries(employeeRepository.findIdsByAssignmentId(id));
     }
 
     @Override
+    @CachePut(cacheNames = CacheNames.EMPLOYEES, key = "#employeeId")
     public EmployeeResponse addAssignmentToEmployee(Long employeeId, Long assignmentId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -152,31 +217,87 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public List<EmployeeResponse> searchEmployeesByLastName(String lastName) {
-        var employees = employeeMapper.toEmployeeResponseList(
-                employeeRepository.findByLastName(lastName));
+        return searchByName(NameSearchKey.of(null, lastName));
+    }
+
+    /**
+     * Resolves the ordered ids of a name search through the search cache, then hydrates them
+     * from the entity cache.
+     */
+    private List<EmployeeResponse> searchByName(NameSearchKey key) {
+        return getEmployeeResponses(searchIdsByName(key));
+    }
 
-        return getEmployeeResponses(employees);
+    private List<Long> searchIdsByName(NameSearchKey key) {
+        return searchCache.get(key, () ->
+                employeeRepository.findIdsByName(key.firstName(), key.lastName()));
     }
 
-    private List<EmployeeResponse> getEmployeeResponses(List<EmployeeResponse> employees) {
-        if (employees == null || employees.isEmpty()) {
+    private void evictSearches(String firstName, String lastName) {
+        searchCache.evictIf(key -> ((NameSearchKey) key).matches(firstName, lastName));
+    }
+
+    private void evictSearchesOnRename(String oldFirstName, String oldLastName, Employee employee) {
+        if (!Objects.equals(oldFirstName, employee.getFirstName())
+                || !Objects.equals(oldLastName, employee.getLastName())) {
+            evictSearches(oldFirstName, oldLastName);
+            evictSearches(employee.getFirstName(), employee.getLastName());
+        }
+    }
+
+    private List<EmployeeResponse> getEmployeeResponses(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<EmployeeResponse> cachedEmployees = employees.stream()
-                .map(employee -> cache.get(employee.id()))
+        Map<Object, Object> cached = cache.getAll(ids);
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        Map<Long, EmployeeResponse> loaded = new HashMap<>();
+        if (!missingIds.isEmpty()) {
+            employeeMapper.toEmployeeResponseList(employeeRepository.findAllById(missingIds))
+                    .forEach(employee -> loaded.put(employee.id(), employee));
+            cache.putAll(loaded);
+        }
+
+        return ids.stream()
+                .map(id -> cached.containsKey(id) ? (EmployeeResponse) cached.get(id) : loaded.get(id))
                 .filter(Objects::nonNull)
                 .toList();
+    }
 
-        if (cachedEmployees.size() == employees.size()) {
-            return cachedEmployees;
+    /**
+     * Like {@link #getEmployeeResponses}, but ids missing from the entity cache are read as
+     * projections of the employee columns only, without loading their assignments.
+     */
+    private List<EmployeeSummaryResponse> getEmployeeSummaries(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        employees.forEach(employee -> cache.put(employee.id(), employee));
-        return employees;
+        Map<Object, Object> cached = cache.getAll(ids);
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        Map<Long, EmployeeSummaryResponse> loaded = new HashMap<>();
+        if (!missingIds.isEmpty()) {
+            employeeRepository.findSummariesByIdIn(missingIds)
+                    .forEach(employee -> loaded.put(employee.id(), employee));
+        }
+
+        return ids.stream()
+                .map(id -> cached.containsKey(id)
+                        ? employeeMapper.toEmployeeSummary((EmployeeResponse) cached.get(id))
+                        : loaded.get(id))
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
+    @CachePut(cacheNames = CacheNames.EMPLOYEES, key = "#employeeId")
     public EmployeeResponse deleteAssignmentFromEmployee(Long employeeId, Long assignmentId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -198,125 +319,84 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    public List<EmployeeResponse> bulkUpsertEmployees(List<EmployeeRequest> employeeRequests) {
-        return employeeRequests.stream()
-                .map(this::processEmployeeRequest)
-                .collect(Collectors.toList());
+    public List<BulkRowResponse> bulkUpsertEmployees(List<EmployeeRequest> employeeRequests) {
+        return bulkWriter.upsert(employeeRequests);
     }
 
-    private EmployeeResponse processEmployeeRequest(EmployeeRequest employeeRequest) {
-        Employee existingEmployee = findExistingEmployee(employeeRequest);
-        if (existingEmployee != null) {
-            return updateExistingEmployee(employeeRequest, existingEmployee);
-        } else {
-            return createNewEmployee(employeeRequest);
-        }
+    private Employee saveUpdates(Employee employee) {
+        return employeeRepository.save(employee);
     }
 
-    private Employee findExistingEmployee(EmployeeRequest employeeRequest) {
-        boolean existsByPhone = employeeRepository
-                .existsByPhoneNumber(employeeRequest.phoneNumber());
-        boolean existsByEmail = employeeRepository
-                .existsByEmail(employeeRequest.email());
-
-        if (existsByPhone || existsByEmail) {
-            return employeeRepository.findAll().stream()
-                    .filter(emp -> emp.getPhoneNumber().equals(employeeRequest.phoneNumber())
-                            || emp.getEmail().equals(employeeRequest.email()))
-                    .findFirst()
-                    .orElse(null);
+    @Override
+    public List<EmployeeResponse> searchByInitials(String firstName, String lastName) {
+        List<EmployeeResponse> employees = searchByName(NameSearchKey.of(firstName, lastName));
+        if (employees.isEmpty()) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Сотрудники с указанными данными не найдены");
         }
-        return null;
+        return employees;
     }
 
-    private EmployeeResponse updateExistingEmployee(
-            EmployeeRequest employeeRequest, Employee existingEmployee) {
-        if (!existingEmployee.getPhoneNumber().equals(employeeRequest.phoneNumber())
-                && employeeRepository.existsByPhoneNumber(employeeRequest.phoneNumber())) {
-            throw new ConflictException(
-                    "Phone number " + employeeRequest.phoneNumber()
-                            + " is already in use by another employee");
-        }
-        if (!existingEmployee.getEmail().equals(employeeRequest.email())
-                && employeeRepository.existsByEmail(employeeRequest.email())) {
-            throw new ConflictException(
-                    "Email " + employeeRequest.email() + " is already in use by another employee");
+    @Override
+    public List<EmployeeSummaryResponse> searchSummariesByInitials(String firstName, String lastName) {
+        List<EmployeeSummaryResponse> employees =
+                getEmployeeSummaries(searchIdsByName(NameSearchKey.of(firstName, lastName)));
+        if (employees.isEmpty()) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Сотрудники с указанными данными не найдены");
         }
-
-        Employee employeeToUpdate = employeeMapper.partialUpdate(employeeRequest, existingEmployee);
-        Employee updatedEmployee = saveUpdates(employeeToUpdate);
-        return employeeMapper.toEmployeeResponse(updatedEmployee);
+        return employees;
     }
 
-    private EmployeeResponse createNewEmployee(EmployeeRequest employeeRequest) {
-        if (employeeRepository.existsByPhoneNumber(employeeRequest.phoneNumber())) {
-            throw new ConflictException(
-                    "Phone number " + employeeRequest.phoneNumber() + " is already in use");
+    @Override
+    public List<EmployeeResponse> searchSimilar(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank");
         }
-        if (employeeRepository.existsByEmail(employeeRequest.email())) {
-            throw new ConflictException(
-                    "Email " + employeeRequest.email() + " is already in use");
+        if (limit < 1 || limit > MAX_SIMILAR_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SIMILAR_RESULTS);
         }
-
-        Employee newEmployee = employeeMapper.toEmployee(employeeRequest);
-        Employee savedEmployee = employeeRepository.save(newEmployee);
-        return employeeMapper.toEmployeeResponse(savedEmployee);
+        return getEmployeeResponses(employeeRepository.findIdsBySimilarName(query.trim(), limit));
     }
 
-    private Employee saveUpdates(Employee employee) {
-        if (cache.containsKey(employee.getId())) {
-            cache.put(employee.getId(), employeeMapper.toEmployeeResponse(employee));
+    @Override
+    public List<EmployeeNameResponse> autocomplete(String query, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_AUTOCOMPLETE_RESULTS);
         }
-        return employeeRepository.save(employee);
+        return nameIndex.search(query, limit).stream()
+                .map(match -> new EmployeeNameResponse(match.id(), match.firstName(), match.lastName()))
+                .toList();
     }
 
     @Override
-    public List<EmployeeResponse> searchByInitials(String firstName, String lastName) {
-        try {
-            // Очищаем входные данные
-            String trimmedFirstName = firstName != null ? firstName.trim() : null;
-            String trimmedLastName = lastName != null ? lastName.trim() : null;
-
-            // Получаем поток сотрудников в зависимости от входных данных
-            Stream<Employee> employeeStream;
-
-            // Если оба поля пустые или null, возвращаем всех сотрудников
-            if ((trimmedFirstName == null || trimmedFirstName.isEmpty()) &&
-                    (trimmedLastName == null || trimmedLastName.isEmpty())) {
-                employeeStream = employeeRepository.findAll().stream();
-            } else if (trimmedFirstName != null && trimmedLastName != null) {
-                // Если оба поля указаны, ищем по обоим
-                employeeStream = employeeRepository.findByFirstNameAndLastName(trimmedFirstName, trimmedLastName).stream();
-            } else {
-                // Создаём потоки для поиска по firstName и lastName
-                Stream<Employee> firstNameStream = trimmedFirstName != null && !trimmedFirstName.isEmpty()
-                        ? employeeRepository.findByFirstName(trimmedFirstName).stream()
-                        : Stream.empty();
-
-                Stream<Employee> lastNameStream = trimmedLastName != null && !trimmedLastName.isEmpty()
-                        ? employeeRepository.findByLastName(trimmedLastName).stream()
-                        : Stream.empty();
-
-                // Объединяем результаты поиска, удаляем дубликаты
-                employeeStream = Stream.concat(firstNameStream, lastNameStream)
-                        .distinct();
+    public PageResponse<EmployeeSummaryResponse> searchByPrefix(LookupField field, String prefix,
+                                                                String cursor, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be blank");
+        }
+        PrefixIndex.Hit after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                PrefixCursor position = PrefixCursor.decode(cursor);
+                after = new PrefixIndex.Hit(position.lastKey(), position.lastId());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid page cursor");
             }
+        }
 
-            // Преобразуем поток в список
-            List<Employee> employees = employeeStream.toList();
-
-            // Проверяем, что список не пустой, используя Optional
-            return Optional.of(employees)
-                    .filter(list -> !list.isEmpty())
-                    .map(employeeMapper::toEmployeeResponseList)
-                    .orElseThrow(() -> new ResponseStatusException(
-                            HttpStatus.NOT_FOUND,
-                            "Сотрудники с указанными данными не найдены"));
-        } catch (ResponseStatusException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-                    "Произошла ошибка при поиске сотрудников: " + e.getMessage());
+        List<PrefixIndex.Hit> hits = lookupIndex.search(field, prefix, after, KeysetPages.checkSize(size) + 1);
+        String nextCursor = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            PrefixIndex.Hit last = hits.get(size - 1);
+            nextCursor = new PrefixCursor(last.key(), last.id()).encode();
         }
+        List<Long> ids = hits.stream().map(PrefixIndex.Hit::id).toList();
+        return new PageResponse<>(getEmployeeSummaries(ids), nextCursor);
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return ResourceNotFoundException.withoutStackTrace("Employee not found with such id = " + id);
     }
 }
\ No newline at end of file
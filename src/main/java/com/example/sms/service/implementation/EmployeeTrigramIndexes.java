@@ -0,0 +1,61 @@
+package com.example.sms.service.implementation;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the pg_trgm GIN indexes behind the employee name searches (see V2) once the schema
+ * exists. The tables belong to Hibernate, which creates them after Flyway has run, so on a
+ * fresh database V2 finds no employees table and skips the indexes. This runs after every
+ * singleton, the entity manager factory included, is initialized, and only on PostgreSQL.
+ * Existing indexes are kept.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sms.search.trigram-indexes", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class EmployeeTrigramIndexes implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeTrigramIndexes.class);
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS employees_first_name_trgm_idx"
+                    + " ON employees USING gin (upper(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS employees_last_name_trgm_idx"
+                    + " ON employees USING gin (upper(last_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS employees_full_name_trgm_idx"
+                    + " ON employees USING gin (upper(coalesce(first_name, '') || ' ' || coalesce(last_name, ''))"
+                    + " gin_trgm_ops)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeTrigramIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                return;
+            }
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass('employees') IS NOT NULL", Boolean.class);
+            if (!Boolean.TRUE.equals(exists)) {
+                logger.warn("Table employees does not exist, name search indexes not created");
+                return;
+            }
+            STATEMENTS.forEach(jdbcTemplate::execute);
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the employee name search indexes", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.entity.Employee;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory view of which employee owns each phone number and email while a bulk upsert is
+ * applied row by row. Seeded with the stored employees matching the batch, then kept current
+ * with every row applied, so later rows see earlier rows of the same batch.
+ */
+final class EmployeeUpsertPlan {
+
+    private final Map<String, Employee> byPhoneNumber = new HashMap<>();
+    private final Map<String, Employee> byEmail = new HashMap<>();
+
+    record Decision(Employee target, String conflict) {
+
+        boolean isConflict() {
+            return conflict != null;
+        }
+    }
+
+    EmployeeUpsertPlan(Collection<Employee> existing) {
+        for (Employee employee : existing) {
+            track(employee);
+        }
+    }
+
+    /**
+     * Returns the employee the request updates, a {@code null} target if it creates one, or a
+     * conflict if its phone number and email belong to two different employees.
+     */
+    Decision resolve(EmployeeRequest request) {
+        Employee byPhone = byPhoneNumber.get(request.phoneNumber());
+        Employee byMail = byEmail.get(request.email());
+        if (byPhone != null && byMail != null && byPhone != byMail) {
+            return new Decision(null,
+                    "Email " + request.email() + " is already in use by another employee");
+        }
+        return new Decision(byPhone != null ? byPhone : byMail, null);
+    }
+
+    void track(Employee employee) {
+        byPhoneNumber.put(employee.getPhoneNumber(), employee);
+        byEmail.put(employee.getEmail(), employee);
+    }
+
+    /**
+     * Moves an updated employee from its previous phone number and email to its current ones.
+     */
+    void retrack(Employee employee, String oldPhoneNumber, String oldEmail) {
+        byPhoneNumber.remove(oldPhoneNumber, employee);
+        byEmail.remove(oldEmail, employee);
+        track(employee);
+    }
+}
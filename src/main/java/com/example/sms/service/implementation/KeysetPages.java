@@ -0,0 +1,62 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.dto.response.PageResponse;
+import com.example.sms.exception.BadRequestException;
+import com.example.sms.model.PageCursor;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Request handling shared by the id-keyset listings. A page query asks for one row more than
+ * the page size, and that extra row only tells whether a next cursor is returned.
+ */
+final class KeysetPages {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private KeysetPages() {
+    }
+
+    /**
+     * The cursor to continue from, or the first page in {@code sort} order ({@code asc} or
+     * {@code desc}) when there is none. A continuation keeps the order it was started with.
+     */
+    static PageCursor cursor(String token, String sort) {
+        if (token != null && !token.isBlank()) {
+            try {
+                return PageCursor.decode(token);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+        if (sort == null || sort.equalsIgnoreCase("asc")) {
+            return PageCursor.first(false);
+        }
+        if (sort.equalsIgnoreCase("desc")) {
+            return PageCursor.first(true);
+        }
+        throw new BadRequestException("Sort must be asc or desc");
+    }
+
+    static Pageable limit(int size) {
+        return PageRequest.of(0, checkSize(size) + 1);
+    }
+
+    static int checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    static <T> PageResponse<T> page(List<T> rows, int size, PageCursor cursor, ToLongFunction<T> id) {
+        if (rows.size() <= size) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        PageCursor next = new PageCursor(id.applyAsLong(items.get(size - 1)), cursor.descending());
+        return new PageResponse<>(items, next.encode());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.sms.service.implementation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes rows for {@code COPY ... FROM STDIN (FORMAT binary)}: the file header, then per row
+ * a field count followed by {@code [int length][bytes]} fields, with length {@code -1} for
+ * {@code NULL}, and a {@code -1} trailer on close. Only the field types the employee load
+ * stages are supported.
+ */
+final class PgBinaryCopyWriter implements Closeable {
+
+    static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    private static final int INT8_OID = 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+
+    PgBinaryCopyWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    void startRow(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeInt(int value) throws IOException {
+        out.writeInt(Integer.BYTES);
+        out.writeInt(value);
+    }
+
+    void writeText(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a one-dimensional {@code bigint[]}; an empty list is a zero-dimensional array.
+     */
+    void writeBigintArray(List<Long> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        boolean hasNull = false;
+        int length = 3 * Integer.BYTES + (values.isEmpty() ? 0 : 2 * Integer.BYTES);
+        for (Long value : values) {
+            hasNull |= value == null;
+            length += Integer.BYTES + (value == null ? 0 : Long.BYTES);
+        }
+        out.writeInt(length);
+        out.writeInt(values.isEmpty() ? 0 : 1);
+        out.writeInt(hasNull ? 1 : 0);
+        out.writeInt(INT8_OID);
+        if (!values.isEmpty()) {
+            out.writeInt(values.size());
+            out.writeInt(1);
+        }
+        for (Long value : values) {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(Long.BYTES);
+                out.writeLong(value);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.writeShort(-1);
+        out.close();
+    }
+}
@@ -1,101 +1,902 @@
 package com.example.sms.utils.cache;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
 
-@Component
+/**
+ * Thread-safe cache with constant-time get, put and eviction, either plain LFU or W-TinyLFU.
+ *
+ * <p>Keys are striped over independent segments, each with its own lock and eviction order,
+ * so there is no global lock. Reads do not lock either: a hit is appended to the segment's
+ * {@link ReadBuffer} and applied to the eviction order by whichever thread next holds the lock,
+ * or by the reader itself once its stripe of the buffer fills up.
+ *
+ * <p>Entries can expire after write and/or after last access; each segment tracks deadlines
+ * in a {@link TimerWheel} that is advanced on every locked operation. With a refresh loader
+ * registered, a hit on an entry older than the refresh interval reloads it in the background
+ * while readers keep getting the current value.
+ *
+ * <p>Besides the entry count, a region can be bounded by total {@link Weigher weight}, split
+ * evenly over the segments. Writes evict until both bounds hold; an entry heavier than its
+ * segment's share is not kept at all.
+ *
+ * <p>Every put or removal of a key advances its {@link #generation generation}, so a value read
+ * from elsewhere can be {@link #putIfGeneration installed} only if the key was not written
+ * meanwhile.
+ *
+ * <p>Hits, misses, puts, evictions and loads are counted in {@link LongAdder}s and read through
+ * {@link #stats()}. With debug logging enabled for this class, one in
+ * {@value #TRACE_SAMPLE_RATE} operations is traced by key.
+ */
 public class Cache<K, V> {
 
     private static final Logger logger = LoggerFactory.getLogger(Cache.class);
 
-    @Getter
-    private Map<K, CacheEntry<V>> cacheEntryMap;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int GENERATION_STRIPES = 64;
+    static final int TRACE_SAMPLE_RATE = 1024;
 
-    @Getter
-    private int capacity;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int capacity;
+    private final long maximumWeight;
+    private final EvictionPolicy evictionPolicy;
+    private final Weigher<? super K, ? super V> weigher;
 
-    private static class CacheEntry<V> {
-        V value;
-        int frequency;
+    private final Ticker ticker;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final long refreshAfterWriteNanos;
+    private volatile Function<? super K, ? extends V> refreshLoader;
+    private volatile Executor refreshExecutor;
 
-        CacheEntry(V value) {
-            this.value = value;
-            this.frequency = 1;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final List<CacheListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<K, Node<K, V>> map = new ConcurrentHashMap<>();
+        final ReadBuffer<K, V> reads = new ReadBuffer<>();
+        // written under the lock, read without it
+        final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+        final EvictionStrategy<K, V> eviction;
+        final TimerWheel<K, V> timers;
+        final LongAdder expirationCount;
+        final List<CacheListener<K, V>> listeners;
+        final int capacity;
+        final long maxWeight;
+        volatile long weightedSize;
+
+        void advanceGenerations() {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+        }
+
+        Segment(int capacity, long maxWeight, EvictionPolicy evictionPolicy, long now,
+                LongAdder expirationCount, List<CacheListener<K, V>> listeners) {
+            this.capacity = capacity;
+            this.maxWeight = maxWeight;
+            this.eviction = EvictionStrategy.create(evictionPolicy, capacity);
+            this.timers = new TimerWheel<>(now, this::expire);
+            this.expirationCount = expirationCount;
+            this.listeners = listeners;
+        }
+
+        void unlink(Node<K, V> node, RemovalCause cause) {
+            map.remove(node.key, node);
+            weightedSize -= node.weight;
+            eviction.remove(node);
+            timers.unlink(node);
+            notifyRemoval(node, cause);
+        }
+
+        void notifyPut(Node<K, V> node) {
+            for (CacheListener<K, V> listener : listeners) {
+                listener.onPut(node.key, node.value);
+            }
+        }
+
+        private void notifyRemoval(Node<K, V> node, RemovalCause cause) {
+            for (CacheListener<K, V> listener : listeners) {
+                listener.onRemoval(node.key, node.value, cause);
+                if (cause == RemovalCause.EVICTED) {
+                    listener.onEviction(node.key, node.value, node.writeTime);
+                }
+            }
+        }
+
+        private void expire(Node<K, V> node) {
+            map.remove(node.key, node);
+            weightedSize -= node.weight;
+            eviction.remove(node);
+            expirationCount.increment();
+            notifyRemoval(node, RemovalCause.EXPIRED);
+        }
+    }
+
+    public Cache(int capacity) {
+        this(CacheSpec.ofCapacity(capacity));
+    }
+
+    public Cache(CacheSpec spec) {
+        this(spec, Ticker.system());
+    }
+
+    public Cache(CacheSpec spec, Ticker ticker) {
+        this(spec, ticker, Weigher.singleton());
+    }
+
+    @SuppressWarnings("unchecked")
+    public Cache(CacheSpec spec, Ticker ticker, Weigher<? super K, ? super V> weigher) {
+        this.capacity = spec.capacity();
+        this.maximumWeight = spec.maximumWeight();
+        this.evictionPolicy = spec.evictionPolicy();
+        this.weigher = weigher;
+        this.ticker = ticker;
+        this.expireAfterWriteNanos = toNanos(spec.expireAfterWrite());
+        this.expireAfterAccessNanos = toNanos(spec.expireAfterAccess());
+        this.refreshAfterWriteNanos = toNanos(spec.refreshAfterWrite());
+
+        int segmentCount = Integer.highestOneBit(Math.min(
+                spec.concurrencyLevel(), Math.max(1, capacity / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        long now = ticker.read();
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            long segmentWeight = maximumWeight > 0
+                    ? maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0)
+                    : Long.MAX_VALUE;
+            segments[i] = new Segment<>(segmentCapacity, segmentWeight, evictionPolicy, now,
+                    expirationCount, listeners);
         }
+        logger.info("Cache initialized with capacity {} and {} segments", capacity, segmentCount);
+    }
+
+    /**
+     * Registers the loader used for refresh-ahead and the executor it runs on. A loader result
+     * of {@code null} means the value no longer exists and the entry is removed. Refreshes the
+     * executor rejects are skipped, the entry is refreshed on a later hit.
+     */
+    public void refreshWith(Function<? super K, ? extends V> loader, Executor executor) {
+        this.refreshExecutor = executor;
+        this.refreshLoader = loader;
+    }
+
+    public void addListener(CacheListener<K, V> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener that is notified before the ones already registered.
+     */
+    void addFirstListener(CacheListener<K, V> listener) {
+        listeners.add(0, listener);
     }
 
     public V get(K key) {
-        CacheEntry<V> entry = cacheEntryMap.get(key);
-        if (entry != null) {
-            logger.info("Cache hit for key: {}", key);
-            logger.info("frequency {}", entry.frequency);
-            entry.frequency++;
-            return entry.value;
-        }
-        logger.info("Cache miss for key: {}", key);
-        logger.info("capacity: {}", capacity);
+        Segment<K, V> segment = segmentFor(key);
+        Node<K, V> node = segment.map.get(key);
+        if (node != null) {
+            long now = ticker.read();
+            V value = node.value;
+            if (!isExpired(node, now)) {
+                hitCount.increment();
+                if (expireAfterAccessNanos > 0) {
+                    node.accessTime = now;
+                }
+                afterRead(segment, node);
+                refreshIfDue(segment, node, now);
+                if (traceSampled()) {
+                    logger.debug("Cache hit for key: {}", key);
+                }
+                return value;
+            }
+            expire(segment, node, now);
+        }
+        missCount.increment();
+        if (traceSampled()) {
+            logger.debug("Cache miss for key: {}", key);
+        }
         return null;
     }
 
     public void put(K key, V value) {
-        if (cacheEntryMap.containsKey(key)) {
-            CacheEntry<V> entry = cacheEntryMap.get(key);
-            entry.value = value;
-            entry.frequency++;
-        } else {
-            if (cacheEntryMap.size() >= capacity) {
-                K lfuKey = findKey();
-                if (lfuKey != null) {
-                    cacheEntryMap.remove(lfuKey);
-                    logger.info("Cache evicted least frequently used key: {}", lfuKey);
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            maintain(segment, now);
+            putLocked(segment, key, value, now, now);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (traceSampled()) {
+            logger.debug("Key: {} added/updated in cache", key);
+        }
+    }
+
+    /**
+     * Looks up several keys, locking each segment once. Absent and expired keys are left out,
+     * the result follows the iteration order of {@code keys}. Bulk reads do not trigger
+     * refresh-ahead.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        long now = ticker.read();
+        Map<K, V> found = new HashMap<>();
+        List<List<K>> groups = groupBySegment(keys);
+        for (int i = 0; i < segments.length; i++) {
+            List<K> group = groups.get(i);
+            if (group.isEmpty()) {
+                continue;
+            }
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                maintain(segment, now);
+                for (K key : group) {
+                    Node<K, V> node = segment.map.get(key);
+                    if (node == null) {
+                        continue;
+                    }
+                    if (isExpired(node, now)) {
+                        segment.unlink(node, RemovalCause.EXPIRED);
+                        expirationCount.increment();
+                        continue;
+                    }
+                    segment.eviction.recordAccess(node);
+                    if (expireAfterAccessNanos > 0) {
+                        node.accessTime = now;
+                        scheduleExpiry(segment, node);
+                    }
+                    found.put(key, node.value);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        hitCount.add(result.size());
+        missCount.add(keys.size() - result.size());
+        return result;
+    }
+
+    /**
+     * Stores several entries, locking each segment once.
+     */
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        long now = ticker.read();
+        List<List<K>> groups = groupBySegment(entries.keySet());
+        for (int i = 0; i < segments.length; i++) {
+            List<K> group = groups.get(i);
+            if (group.isEmpty()) {
+                continue;
+            }
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                maintain(segment, now);
+                for (K key : group) {
+                    putLocked(segment, key, entries.get(key), now, now);
                 }
+            } finally {
+                segment.lock.unlock();
             }
-            cacheEntryMap.put(key, new CacheEntry<>(value));
-            logger.info("Key: {} added/updated in cache with value: {}", key, value);
         }
     }
 
     public void clearCache() {
-        cacheEntryMap.clear();
-        logger.info("Cache cleared");
+        for (CacheListener<K, V> listener : listeners) {
+            listener.onClear();
+        }
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.reads.drain(node -> {
+                });
+                segment.advanceGenerations();
+                segment.map.clear();
+                segment.weightedSize = 0;
+                segment.eviction.clear();
+                segment.timers.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        logger.debug("Cache cleared");
     }
 
     public boolean containsKey(K key) {
-        boolean exists = cacheEntryMap.containsKey(key);
-        logger.info("Key: {} exists in cache: {}", key, exists);
-        return exists;
+        return segmentFor(key).map.containsKey(key);
     }
 
     public K findKey() {
         K key = null;
         int minFrequency = Integer.MAX_VALUE;
-
-        for (Map.Entry<K, CacheEntry<V>> entry : cacheEntryMap.entrySet()) {
-            if (entry.getValue().frequency < minFrequency) {
-                minFrequency = entry.getValue().frequency;
-                key = entry.getKey();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                maintain(segment, ticker.read());
+                Node<K, V> victim = segment.eviction.victim();
+                int frequency = victim != null ? segment.eviction.frequency(victim) : Integer.MAX_VALUE;
+                if (frequency < minFrequency) {
+                    minFrequency = frequency;
+                    key = victim.key;
+                }
+            } finally {
+                segment.lock.unlock();
             }
         }
-
         return key;
     }
 
     public void remove(K key) {
-        if (cacheEntryMap.containsKey(key)) {
-            cacheEntryMap.remove(key);
-            logger.info("Key: {} removed from cache", key);
-        } else {
-            logger.info("Key: {} not found in cache", key);
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            maintain(segment, now);
+            segment.generations.incrementAndGet(generationIndex(key));
+            Node<K, V> node = segment.map.get(key);
+            if (node != null) {
+                segment.unlink(node, RemovalCause.EXPLICIT);
+            } else {
+                // listeners may still hold the key, such as a lower tier it was evicted to
+                for (CacheListener<K, V> listener : listeners) {
+                    listener.onRemoval(key, null, RemovalCause.EXPLICIT);
+                }
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current generation of {@code key}, which every put or removal of the key
+     * advances. Keys share generation stripes, so writes to other keys may advance it too.
+     */
+    public long generation(K key) {
+        return segmentFor(key).generations.get(generationIndex(key));
+    }
+
+    /**
+     * Puts the entry unless {@code key} was put or removed since {@code generation} was read,
+     * so a value loaded from elsewhere cannot overwrite a newer write or bring back a removed
+     * entry. Returns whether the entry was put.
+     */
+    public boolean putIfGeneration(K key, V value, long generation) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            if (segment.generations.get(generationIndex(key)) != generation) {
+                return false;
+            }
+            maintain(segment, now);
+            putLocked(segment, key, value, now, now);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the generation of every key. Once it returns, any {@link #putIfGeneration} that
+     * read an older generation has either failed or completed, listeners included.
+     */
+    public void advanceGenerations() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.advanceGenerations();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches {@code filter} and returns how many were removed.
+     * Scans the whole cache, so it is meant for small regions such as query results. Any key
+     * may match, so every {@link #generation} read before is stale afterwards.
+     */
+    public int removeIf(Predicate<? super K> filter) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                maintain(segment, ticker.read());
+                segment.advanceGenerations();
+                for (Node<K, V> node : List.copyOf(segment.map.values())) {
+                    if (filter.test(node.key)) {
+                        segment.unlink(node, RemovalCause.EXPLICIT);
+                        removed++;
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Expires every entry whose deadline has passed and applies buffered reads. Locked
+     * operations already do this for their own segment, this sweeps segments that have seen
+     * no writes.
+     */
+    public void cleanUp() {
+        long now = ticker.read();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                maintain(segment, now);
+            } finally {
+                segment.lock.unlock();
+            }
         }
     }
 
-    public Cache() {
-        this.capacity = 3;
-        this.cacheEntryMap = new HashMap<>();
-        logger.info("Cache initialized with capacity {}", capacity);
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the summed {@link Weigher weight} of the current entries.
+     */
+    public long weightedSize() {
+        long weightedSize = 0;
+        for (Segment<K, V> segment : segments) {
+            weightedSize += segment.weightedSize;
+        }
+        return weightedSize;
+    }
+
+    /**
+     * Returns the weight budget of the cache, or {@code 0} if it is bounded by count only.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), putCount.sum(), evictionCount.sum(),
+                expirationCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(),
+                size(), capacity, weightedSize(), maximumWeight);
+    }
+
+    /**
+     * Counts a load of {@code nanos} that produced a value or failed. A load that found
+     * nothing is a success with no value.
+     */
+    void recordLoad(long nanos, boolean success) {
+        (success ? loadSuccessCount : loadFailureCount).increment();
+        totalLoadTime.add(nanos);
+    }
+
+    /**
+     * A live entry as copied by {@link #snapshotEntries}, with how many nanoseconds ago it was
+     * written.
+     */
+    public record SnapshotEntry<K, V>(K key, V value, long age) {
+    }
+
+    /**
+     * Copies the live entries, most frequently used first, without counting hits or touching
+     * the eviction order.
+     */
+    public Map<K, V> snapshot() {
+        Map<K, V> entries = new LinkedHashMap<>();
+        for (SnapshotEntry<K, V> entry : snapshotEntries()) {
+            entries.put(entry.key(), entry.value());
+        }
+        return entries;
+    }
+
+    /**
+     * Like {@link #snapshot()}, but keeps each entry's age so it can be
+     * {@link #restore(Object, Object, Duration) restored} without a fresh write time.
+     */
+    public List<SnapshotEntry<K, V>> snapshotEntries() {
+        record Ranked<K, V>(SnapshotEntry<K, V> entry, int frequency) {
+        }
+
+        long now = ticker.read();
+        List<Ranked<K, V>> ranked = new ArrayList<>(size());
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                maintain(segment, now);
+                for (Node<K, V> node : segment.map.values()) {
+                    if (!isExpired(node, now)) {
+                        ranked.add(new Ranked<>(new SnapshotEntry<>(node.key, node.value, now - node.writeTime),
+                                segment.eviction.frequency(node)));
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        ranked.sort((a, b) -> Integer.compare(b.frequency(), a.frequency()));
+
+        List<SnapshotEntry<K, V>> entries = new ArrayList<>(ranked.size());
+        for (Ranked<K, V> entry : ranked) {
+            entries.add(entry.entry());
+        }
+        return entries;
+    }
+
+    /**
+     * Puts an entry read back from outside the cache that was written {@code age} ago, so write
+     * expiry still counts from the original write. Returns {@code false}, leaving the cache as it
+     * is, when the entry has already expired or a live entry is cached under {@code key}.
+     */
+    public boolean restore(K key, V value, Duration age) {
+        long ageNanos = Math.max(0, age.toNanos());
+        if (expireAfterWriteNanos > 0 && ageNanos >= expireAfterWriteNanos) {
+            return false;
+        }
+        return restore(key, value, ticker.read() - ageNanos, generation(key));
+    }
+
+    /**
+     * Returns the live value without counting a hit or miss or touching the eviction order.
+     */
+    V peek(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        if (!segment.map.containsKey(key)) {
+            return null;
+        }
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            Node<K, V> node = segment.map.get(key);
+            return node != null && !isExpired(node, now) ? node.value : null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    int frequency(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            maintain(segment, ticker.read());
+            Node<K, V> node = segment.map.get(key);
+            return node != null ? segment.eviction.frequency(node) : 0;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Puts an entry coming back from a lower tier, keeping its original write time so
+     * write expiry and refresh still count from when it was loaded. A live entry already
+     * cached under {@code key} is newer and is kept, and so is the state after a put or removal
+     * since {@code generation} was read; returns whether the entry was restored.
+     */
+    boolean restore(K key, V value, long writeTime, long generation) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            if (segment.generations.get(generationIndex(key)) != generation) {
+                return false;
+            }
+            maintain(segment, now);
+            Node<K, V> node = segment.map.get(key);
+            if (node != null && !isExpired(node, now)) {
+                return false;
+            }
+            putLocked(segment, key, value, now, writeTime);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private void putLocked(Segment<K, V> segment, K key, V value, long now, long writeTime) {
+        putCount.increment();
+        segment.generations.incrementAndGet(generationIndex(key));
+        Node<K, V> node = segment.map.get(key);
+        int weight = weigher.weigh(key, value);
+        if (weight > segment.maxWeight) {
+            if (node != null) {
+                segment.unlink(node, RemovalCause.EXPLICIT);
+            }
+            evictionCount.increment();
+            return;
+        }
+
+        if (node != null) {
+            reweigh(segment, node, value, weight);
+            node.writeTime = writeTime;
+            node.accessTime = now;
+            segment.eviction.recordAccess(node);
+            scheduleExpiry(segment, node);
+            segment.notifyPut(node);
+            evictOverweight(segment);
+            return;
+        }
+
+        while (segment.map.size() >= segment.capacity || segment.weightedSize + weight > segment.maxWeight) {
+            Node<K, V> victim = segment.eviction.victim();
+            if (victim == null) {
+                break;
+            }
+            evict(segment, victim);
+        }
+
+        node = new Node<>(key, value);
+        node.weight = weight;
+        segment.weightedSize += weight;
+        node.writeTime = writeTime;
+        node.accessTime = now;
+        segment.eviction.add(node);
+        segment.map.put(key, node);
+        scheduleExpiry(segment, node);
+        segment.notifyPut(node);
+    }
+
+    private void reweigh(Segment<K, V> segment, Node<K, V> node, V value, int weight) {
+        segment.weightedSize += weight - node.weight;
+        node.value = value;
+        node.weight = weight;
+    }
+
+    private void evictOverweight(Segment<K, V> segment) {
+        while (segment.weightedSize > segment.maxWeight) {
+            Node<K, V> victim = segment.eviction.victim();
+            if (victim == null) {
+                return;
+            }
+            evict(segment, victim);
+        }
+    }
+
+    private void evict(Segment<K, V> segment, Node<K, V> victim) {
+        segment.unlink(victim, RemovalCause.EVICTED);
+        evictionCount.increment();
+        if (traceSampled()) {
+            logger.debug("Cache evicted key: {}", victim.key);
+        }
+    }
+
+    private List<List<K>> groupBySegment(Collection<? extends K> keys) {
+        List<List<K>> groups = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (K key : keys) {
+            groups.get(segmentIndex(key)).add(key);
+        }
+        return groups;
+    }
+
+    Ticker ticker() {
+        return ticker;
+    }
+
+    private boolean expires() {
+        return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+    }
+
+    /**
+     * Applies the buffered reads, then expires what is due. Runs under the segment lock at the
+     * start of every locked operation, so the eviction order and access deadlines are current.
+     */
+    private void maintain(Segment<K, V> segment, long now) {
+        segment.reads.drain(node -> recordRead(segment, node));
+        if (expires()) {
+            segment.timers.advance(now);
+        }
+    }
+
+    private void afterRead(Segment<K, V> segment, Node<K, V> node) {
+        int status = segment.reads.offer(node);
+        if (status == ReadBuffer.FULL) {
+            segment.lock.lock();
+            try {
+                maintain(segment, ticker.read());
+                recordRead(segment, node);
+            } finally {
+                segment.lock.unlock();
+            }
+        } else if (status == ReadBuffer.DRAIN && segment.lock.tryLock()) {
+            try {
+                maintain(segment, ticker.read());
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private void recordRead(Segment<K, V> segment, Node<K, V> node) {
+        if (segment.map.get(node.key) != node) {
+            return;
+        }
+        segment.eviction.recordAccess(node);
+        if (expireAfterAccessNanos > 0) {
+            scheduleExpiry(segment, node);
+        }
+    }
+
+    private void expire(Segment<K, V> segment, Node<K, V> node, long now) {
+        segment.lock.lock();
+        try {
+            maintain(segment, now);
+            if (segment.map.get(node.key) == node && isExpired(node, now)) {
+                segment.unlink(node, RemovalCause.EXPIRED);
+                expirationCount.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private void scheduleExpiry(Segment<K, V> segment, Node<K, V> node) {
+        if (!expires()) {
+            return;
+        }
+        node.expiresAt = deadline(node);
+        segment.timers.reschedule(node);
+    }
+
+    /**
+     * Computed from the write and access times rather than read from {@code expiresAt}, since
+     * lock-free readers update the access time before the timer is rescheduled.
+     */
+    private long deadline(Node<K, V> node) {
+        long expiresAt = Long.MAX_VALUE;
+        if (expireAfterWriteNanos > 0) {
+            expiresAt = node.writeTime + expireAfterWriteNanos;
+        }
+        if (expireAfterAccessNanos > 0) {
+            expiresAt = Math.min(expiresAt, node.accessTime + expireAfterAccessNanos);
+        }
+        return expiresAt;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return expires() && deadline(node) - now <= 0;
+    }
+
+    private boolean refreshDue(Node<K, V> node, long now) {
+        return refreshAfterWriteNanos > 0 && refreshLoader != null && !node.refreshing
+                && now - node.writeTime >= refreshAfterWriteNanos;
+    }
+
+    /**
+     * Starts a background refresh of {@code node} if one is due. Only claiming the refresh
+     * takes the segment lock, so plain hits stay lock-free.
+     */
+    private void refreshIfDue(Segment<K, V> segment, Node<K, V> node, long now) {
+        if (!refreshDue(node, now)) {
+            return;
+        }
+        long writeTime;
+        segment.lock.lock();
+        try {
+            if (segment.map.get(node.key) != node || !refreshDue(node, now)) {
+                return;
+            }
+            node.refreshing = true;
+            writeTime = node.writeTime;
+        } finally {
+            segment.lock.unlock();
+        }
+        refresh(segment, node, writeTime);
+    }
+
+    private void refresh(Segment<K, V> segment, Node<K, V> node, long writeTime) {
+        Function<? super K, ? extends V> loader = refreshLoader;
+        try {
+            refreshExecutor.execute(() -> {
+                V value = null;
+                boolean loaded = false;
+                long start = ticker.read();
+                try {
+                    value = loader.apply(node.key);
+                    loaded = true;
+                } catch (RuntimeException e) {
+                    logger.warn("Refresh failed for key: {}", node.key, e);
+                }
+                recordLoad(ticker.read() - start, loaded);
+                completeRefresh(segment, node, writeTime, value, loaded);
+            });
+        } catch (RejectedExecutionException e) {
+            completeRefresh(segment, node, writeTime, null, false);
+        }
+    }
+
+    private void completeRefresh(Segment<K, V> segment, Node<K, V> node, long writeTime,
+                                 V value, boolean loaded) {
+        long now = ticker.read();
+        segment.lock.lock();
+        try {
+            maintain(segment, now);
+            node.refreshing = false;
+            if (!loaded || segment.map.get(node.key) != node || node.writeTime != writeTime) {
+                return;
+            }
+            int weight = value != null ? weigher.weigh(node.key, value) : 0;
+            if (value == null || weight > segment.maxWeight) {
+                segment.unlink(node, RemovalCause.EXPLICIT);
+            } else {
+                reweigh(segment, node, value, weight);
+                node.writeTime = now;
+                scheduleExpiry(segment, node);
+                segment.notifyPut(node);
+                evictOverweight(segment);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private static boolean traceSampled() {
+        return logger.isDebugEnabled() && ThreadLocalRandom.current().nextInt(TRACE_SAMPLE_RATE) == 0;
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration != null ? duration.toNanos() : 0;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private static int generationIndex(Object key) {
+        return (key.hashCode() * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(GENERATION_STRIPES - 1);
+    }
+
+    private int segmentIndex(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return hash & segmentMask;
     }
 }
@@ -0,0 +1,29 @@
+package com.example.sms.utils.cache;
+
+/**
+ * Observes entry changes of a {@link Cache}. Callbacks run on the writing thread while the
+ * entry's segment is locked, so they must be quick and must not call back into the cache.
+ */
+public interface CacheListener<K, V> {
+
+    default void onPut(K key, V value) {
+    }
+
+    /**
+     * Called when an entry leaves the cache. An explicit removal of a key the cache does not
+     * hold is reported too, with a {@code null} value, so that listeners keeping the entry
+     * elsewhere drop it under the same lock.
+     */
+    default void onRemoval(K key, V value, RemovalCause cause) {
+    }
+
+    /**
+     * Called after {@link #onRemoval} for entries dropped to make room, with the entry's
+     * write time in the cache's {@link Ticker} base, so a lower tier can keep its lifetime.
+     */
+    default void onEviction(K key, V value, long writeTime) {
+    }
+
+    default void onClear() {
+    }
+}
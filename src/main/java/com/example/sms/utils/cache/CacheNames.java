@@ -0,0 +1,13 @@
+package com.example.sms.utils.cache;
+
+public final class CacheNames {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String ASSIGNMENTS = "assignments";
+    public static final String EMPLOYEE_SEARCH = "employee-search";
+    public static final String MISSING_EMPLOYEES = "missing-employees";
+    public static final String MISSING_ASSIGNMENTS = "missing-assignments";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.sms.utils.cache;
+
+import java.time.Duration;
+
+/**
+ * Region settings. A {@code null} duration disables that kind of expiry or refresh, and a
+ * {@code maximumWeight} of zero leaves the region bounded by entry count only.
+ */
+public record CacheSpec(
+        int capacity,
+        int concurrencyLevel,
+        EvictionPolicy evictionPolicy,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess,
+        Duration refreshAfterWrite,
+        long maximumWeight
+) {
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    public CacheSpec {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        if (evictionPolicy == null) {
+            evictionPolicy = EvictionPolicy.LFU;
+        }
+        requirePositive(expireAfterWrite, "Expire after write");
+        requirePositive(expireAfterAccess, "Expire after access");
+        requirePositive(refreshAfterWrite, "Refresh after write");
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight must not be negative");
+        }
+    }
+
+    public CacheSpec(int capacity, int concurrencyLevel, EvictionPolicy evictionPolicy,
+                     Duration expireAfterWrite, Duration expireAfterAccess, Duration refreshAfterWrite) {
+        this(capacity, concurrencyLevel, evictionPolicy, expireAfterWrite, expireAfterAccess, refreshAfterWrite, 0);
+    }
+
+    public CacheSpec(int capacity, int concurrencyLevel, EvictionPolicy evictionPolicy) {
+        this(capacity, concurrencyLevel, evictionPolicy, null, null, null);
+    }
+
+    public CacheSpec withMaximumWeight(long maximumWeight) {
+        return new CacheSpec(capacity, concurrencyLevel, evictionPolicy,
+                expireAfterWrite, expireAfterAccess, refreshAfterWrite, maximumWeight);
+    }
+
+    public static CacheSpec ofCapacity(int capacity) {
+        return new CacheSpec(capacity, DEFAULT_CONCURRENCY_LEVEL, EvictionPolicy.LFU);
+    }
+
+    private static void requirePositive(Duration duration, String name) {
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}
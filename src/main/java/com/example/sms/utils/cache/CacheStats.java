@@ -0,0 +1,30 @@
+package com.example.sms.utils.cache;
+
+public record CacheStats(
+        long hitCount,
+        long missCount,
+        long putCount,
+        long evictionCount,
+        long expirationCount,
+        long loadSuccessCount,
+        long loadFailureCount,
+        long totalLoadTime,
+        long size,
+        long capacity,
+        long weightedSize,
+        long maximumWeight
+) {
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Average time in nanoseconds spent loading a value, successful or not.
+     */
+    public double averageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+}
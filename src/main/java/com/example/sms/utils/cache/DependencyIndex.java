@@ -0,0 +1,96 @@
+package com.example.sms.utils.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reverse index from a dependency (such as an assignment id) to the cached keys whose values
+ * embed it, kept in sync with the region through {@link CacheListener} callbacks. With
+ * {@code keepEvicted} set, evicted keys stay indexed because a lower tier still holds them,
+ * until that tier reports them {@link #dropDemoted dropped}.
+ */
+public class DependencyIndex implements CacheListener<Object, Object> {
+
+    private final Function<Object, ? extends Collection<?>> dependencies;
+    private final Map<Object, Set<Object>> dependents = new ConcurrentHashMap<>();
+    private final Map<Object, Indexed> indexed = new ConcurrentHashMap<>();
+    private final boolean keepEvicted;
+
+    private record Indexed(Collection<?> dependencies, boolean demoted) {
+    }
+
+    public DependencyIndex(Function<Object, ? extends Collection<?>> dependencies) {
+        this(dependencies, false);
+    }
+
+    public DependencyIndex(Function<Object, ? extends Collection<?>> dependencies, boolean keepEvicted) {
+        this.dependencies = dependencies;
+        this.keepEvicted = keepEvicted;
+    }
+
+    @Override
+    public void onPut(Object key, Object value) {
+        Collection<?> current = List.copyOf(dependencies.apply(value));
+        indexed.compute(key, (ignored, previous) -> {
+            if (previous != null) {
+                for (Object dependency : previous.dependencies()) {
+                    if (!current.contains(dependency)) {
+                        unlink(dependency, key);
+                    }
+                }
+            }
+            for (Object dependency : current) {
+                dependents.compute(dependency, (unused, keys) -> {
+                    Set<Object> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    result.add(key);
+                    return result;
+                });
+            }
+            return new Indexed(current, false);
+        });
+    }
+
+    @Override
+    public void onRemoval(Object key, Object value, RemovalCause cause) {
+        if (keepEvicted && cause == RemovalCause.EVICTED) {
+            indexed.computeIfPresent(key, (ignored, entry) -> new Indexed(entry.dependencies(), true));
+            return;
+        }
+        indexed.computeIfPresent(key, (ignored, entry) -> unlinkAll(key, entry));
+    }
+
+    /**
+     * Drops {@code key} if it is only held by a lower tier, which has just let it go. A key
+     * put back on-heap meanwhile is no longer demoted and stays indexed.
+     */
+    public void dropDemoted(Object key) {
+        indexed.computeIfPresent(key, (ignored, entry) -> entry.demoted() ? unlinkAll(key, entry) : entry);
+    }
+
+    @Override
+    public void onClear() {
+        indexed.clear();
+        dependents.clear();
+    }
+
+    public Set<Object> dependentsOf(Object dependency) {
+        Set<Object> keys = dependents.get(dependency);
+        return keys != null ? Set.copyOf(keys) : Set.of();
+    }
+
+    private Indexed unlinkAll(Object key, Indexed entry) {
+        entry.dependencies().forEach(dependency -> unlink(dependency, key));
+        return null;
+    }
+
+    private void unlink(Object dependency, Object key) {
+        dependents.computeIfPresent(dependency, (ignored, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+}
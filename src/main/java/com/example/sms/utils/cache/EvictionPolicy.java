@@ -0,0 +1,6 @@
+package com.example.sms.utils.cache;
+
+public enum EvictionPolicy {
+    LFU,
+    W_TINY_LFU
+}
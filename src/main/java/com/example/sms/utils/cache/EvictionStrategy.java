@@ -0,0 +1,30 @@
+package com.example.sms.utils.cache;
+
+/**
+ * Eviction order of one cache segment. Implementations are not thread-safe,
+ * callers guard them with the owning segment lock.
+ */
+interface EvictionStrategy<K, V> {
+
+    void add(Node<K, V> node);
+
+    void recordAccess(Node<K, V> node);
+
+    void remove(Node<K, V> node);
+
+    /**
+     * Returns the entry to drop so that one more entry fits, or {@code null} if empty.
+     */
+    Node<K, V> victim();
+
+    int frequency(Node<K, V> node);
+
+    void clear();
+
+    static <K, V> EvictionStrategy<K, V> create(EvictionPolicy policy, int capacity) {
+        return switch (policy) {
+            case LFU -> new LfuStrategy<>();
+            case W_TINY_LFU -> new WindowTinyLfuStrategy<>(capacity);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.sms.utils.cache;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch with four 4-bit counters per key, used to estimate how often a key
+ * was requested recently. Once the number of increments reaches ten times the capacity
+ * all counters are halved, so old popularity fades instead of pinning keys forever.
+ * Not thread-safe, callers guard it with the owning segment lock.
+ */
+final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int capacity) {
+        int maximum = Math.max(1, Math.min(capacity, MAX_TABLE_SIZE));
+        int tableSize = maximum == 1 ? 1 : Integer.highestOneBit(maximum - 1) << 1;
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * maximum;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0L);
+        size = 0;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
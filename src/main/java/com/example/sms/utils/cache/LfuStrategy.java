@@ -0,0 +1,127 @@
+package com.example.sms.utils.cache;
+
+/**
+ * O(1) LFU bookkeeping: nodes with equal frequency share a bucket, buckets form a
+ * doubly linked list in ascending frequency order, so the victim is the tail of the head bucket.
+ * Not thread-safe, callers guard it with the owning segment lock.
+ */
+final class LfuStrategy<K, V> implements EvictionStrategy<K, V> {
+
+    private FrequencyBucket<K, V> minFrequencyBucket;
+
+    static final class FrequencyBucket<K, V> {
+        final int frequency;
+        FrequencyBucket<K, V> prev;
+        FrequencyBucket<K, V> next;
+        Node<K, V> head;
+        Node<K, V> tail;
+
+        FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+        }
+
+        void addFirst(Node<K, V> node) {
+            node.bucket = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            } else {
+                tail = node;
+            }
+            head = node;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.bucket = null;
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+    }
+
+    @Override
+    public void add(Node<K, V> node) {
+        FrequencyBucket<K, V> first = minFrequencyBucket;
+        if (first == null || first.frequency != 1) {
+            first = new FrequencyBucket<>(1);
+            first.next = minFrequencyBucket;
+            if (minFrequencyBucket != null) {
+                minFrequencyBucket.prev = first;
+            }
+            minFrequencyBucket = first;
+        }
+        first.addFirst(node);
+    }
+
+    @Override
+    public void recordAccess(Node<K, V> node) {
+        FrequencyBucket<K, V> current = node.bucket;
+        FrequencyBucket<K, V> target = current.next;
+        if (target == null || target.frequency != current.frequency + 1) {
+            target = new FrequencyBucket<>(current.frequency + 1);
+            target.prev = current;
+            target.next = current.next;
+            if (current.next != null) {
+                current.next.prev = target;
+            }
+            current.next = target;
+        }
+
+        current.unlink(node);
+        target.addFirst(node);
+        if (current.isEmpty()) {
+            unlinkBucket(current);
+        }
+    }
+
+    @Override
+    public void remove(Node<K, V> node) {
+        FrequencyBucket<K, V> bucket = node.bucket;
+        bucket.unlink(node);
+        if (bucket.isEmpty()) {
+            unlinkBucket(bucket);
+        }
+    }
+
+    @Override
+    public Node<K, V> victim() {
+        return minFrequencyBucket != null ? minFrequencyBucket.tail : null;
+    }
+
+    @Override
+    public int frequency(Node<K, V> node) {
+        return node.bucket.frequency;
+    }
+
+    @Override
+    public void clear() {
+        minFrequencyBucket = null;
+    }
+
+    private void unlinkBucket(FrequencyBucket<K, V> bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            minFrequencyBucket = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+        bucket.prev = null;
+        bucket.next = null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.sms.utils.cache;
+
+final class Node<K, V> {
+
+    final K key;
+    // read by lock-free lookups, written under the segment lock except accessTime
+    volatile V value;
+    int weight;
+
+    LfuStrategy.FrequencyBucket<K, V> bucket;
+    WindowTinyLfuStrategy.AccessQueue<K, V> queue;
+    Node<K, V> prev;
+    Node<K, V> next;
+
+    volatile long writeTime;
+    volatile long accessTime;
+    long expiresAt;
+    volatile boolean refreshing;
+    Node<K, V> timerPrev;
+    Node<K, V> timerNext;
+
+    Node(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+}
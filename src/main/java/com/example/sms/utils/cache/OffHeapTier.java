@@ -0,0 +1,156 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.utils.cache.codec.Codecs;
+import com.example.sms.utils.cache.codec.ValueCodec;
+import com.example.sms.utils.cache.offheap.OffHeapStore;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Second tier of a region: entries evicted from the on-heap {@link Cache} are serialized
+ * into an {@link OffHeapStore}, and read back on an on-heap miss. Only {@code Long} keys
+ * are demoted. Entries keep their original write time, so write expiry still applies.
+ * Keys evicted on-heap that end up in neither tier are reported to the drop listener.
+ *
+ * <p>Eviction listeners run under the segment lock, so an evicted entry is only queued there
+ * and serialized later by {@link #demotePending}. Until then it is served from the queue, and a
+ * put or removal of the key cancels it.
+ */
+final class OffHeapTier implements CacheListener<Object, Object>, AutoCloseable {
+
+    private final OffHeapStore store;
+    private final ValueCodec<Object> codec;
+    private final Ticker ticker;
+    private final long expireAfterWriteNanos;
+    private final ConcurrentMap<Long, Demotion> pending = new ConcurrentHashMap<>();
+    private final Queue<Demotion> demotions = new ConcurrentLinkedQueue<>();
+    private volatile Consumer<Object> dropListener = key -> {
+    };
+
+    record Hit(Object value, long writeTime, boolean hot) {
+    }
+
+    private record Demotion(Long key, Object value, long writeTime) {
+    }
+
+    OffHeapTier(OffHeapStore store, ValueCodec<Object> codec, Ticker ticker, long expireAfterWriteNanos) {
+        this.store = store;
+        this.codec = codec;
+        this.ticker = ticker;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        store.onEviction(id -> dropListener.accept(id));
+    }
+
+    /**
+     * Sets the callback for demoted keys this tier no longer holds: evicted by the store,
+     * expired, or never stored because they did not fit.
+     */
+    void onDrop(Consumer<Object> listener) {
+        this.dropListener = listener;
+    }
+
+    @Override
+    public void onEviction(Object key, Object value, long writeTime) {
+        if (!(key instanceof Long id) || isExpired(writeTime)) {
+            dropListener.accept(key);
+            return;
+        }
+        Demotion demotion = new Demotion(id, value, writeTime);
+        pending.put(id, demotion);
+        demotions.add(demotion);
+    }
+
+    @Override
+    public void onPut(Object key, Object value) {
+        remove(key);
+    }
+
+    @Override
+    public void onRemoval(Object key, Object value, RemovalCause cause) {
+        if (cause != RemovalCause.EVICTED) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        pending.clear();
+        demotions.clear();
+        store.clear();
+    }
+
+    /**
+     * Serializes the queued evictions into the store. Called without the segment lock held; an
+     * entry put or removed on-heap while it was being serialized is not stored.
+     */
+    void demotePending() {
+        Demotion demotion;
+        while ((demotion = demotions.poll()) != null) {
+            if (pending.get(demotion.key()) != demotion) {
+                continue;
+            }
+            byte[] bytes = Codecs.toBytes(codec, demotion.value());
+            Demotion queued = demotion;
+            pending.computeIfPresent(demotion.key(), (id, current) -> {
+                if (current != queued) {
+                    return current;
+                }
+                if (isExpired(queued.writeTime()) || !store.put(id, queued.writeTime(), bytes)) {
+                    dropListener.accept(id);
+                }
+                return null;
+            });
+        }
+    }
+
+    Hit get(Object key) {
+        if (!(key instanceof Long id)) {
+            return null;
+        }
+        Demotion demotion = pending.get(id);
+        if (demotion != null) {
+            if (isExpired(demotion.writeTime())) {
+                if (pending.remove(id, demotion)) {
+                    dropListener.accept(key);
+                }
+                return null;
+            }
+            return new Hit(demotion.value(), demotion.writeTime(), false);
+        }
+        OffHeapStore.Entry entry = store.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry.writeTime())) {
+            if (store.remove(id, entry.writeTime())) {
+                dropListener.accept(key);
+            }
+            return null;
+        }
+        return new Hit(Codecs.fromBytes(codec, entry.bytes()), entry.writeTime(), entry.hot());
+    }
+
+    boolean remove(Object key) {
+        if (!(key instanceof Long id)) {
+            return false;
+        }
+        boolean queued = pending.remove(id) != null;
+        return store.remove(id) || queued;
+    }
+
+    OffHeapStore store() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private boolean isExpired(long writeTime) {
+        return expireAfterWriteNanos > 0 && ticker.read() - writeTime >= expireAfterWriteNanos;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sms.utils.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Cache hits waiting to be applied to a segment's eviction order, so that reads do not take
+ * the segment lock. Readers append without locking, whoever holds the lock drains. Threads are
+ * spread over stripes, each a bounded ring that is never overwritten: a reader that finds its
+ * stripe full gets {@link #FULL} and records the access under the lock itself, so no access is
+ * lost.
+ */
+final class ReadBuffer<K, V> {
+
+    static final int OFFERED = 0;
+    static final int DRAIN = 1;
+    static final int FULL = 2;
+
+    private static final int STRIPE_SIZE = 16;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeMask;
+
+    private static final class Stripe<K, V> {
+        final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(STRIPE_SIZE);
+        final AtomicLong tail = new AtomicLong();
+        // advanced by the drain only, under the segment lock
+        volatile long head;
+    }
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int count = Math.min(MAX_STRIPES, Integer.highestOneBit(processors * 2 - 1));
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Appends a hit on {@code node}. Returns {@link #DRAIN} once the stripe is half full, and
+     * {@link #FULL} without appending when it has no room left.
+     */
+    int offer(Node<K, V> node) {
+        Stripe<K, V> stripe = stripes[stripeIndex()];
+        while (true) {
+            long head = stripe.head;
+            long tail = stripe.tail.get();
+            long size = tail - head;
+            if (size >= STRIPE_SIZE) {
+                return FULL;
+            }
+            if (stripe.tail.compareAndSet(tail, tail + 1)) {
+                stripe.slots.lazySet((int) tail & STRIPE_MASK, node);
+                return size + 1 >= STRIPE_SIZE / 2 ? DRAIN : OFFERED;
+            }
+        }
+    }
+
+    /**
+     * Hands every buffered hit to {@code consumer}. Must be called under the segment lock. A slot
+     * claimed by a reader that has not written it yet ends its stripe's drain, the next drain
+     * picks it up.
+     */
+    void drain(Consumer<Node<K, V>> consumer) {
+        for (Stripe<K, V> stripe : stripes) {
+            long head = stripe.head;
+            long tail = stripe.tail.get();
+            while (head < tail) {
+                int index = (int) head & STRIPE_MASK;
+                Node<K, V> node = stripe.slots.get(index);
+                if (node == null) {
+                    break;
+                }
+                stripe.slots.lazySet(index, null);
+                consumer.accept(node);
+                head++;
+            }
+            stripe.head = head;
+        }
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+}
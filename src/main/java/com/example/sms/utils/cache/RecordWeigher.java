@@ -0,0 +1,166 @@
+package com.example.sms.utils.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimates the retained heap size in bytes of a cache entry: its key, its value graph of
+ * records, strings, boxed numbers, dates, collections and arrays, and the cache's own
+ * per-entry bookkeeping. Assumes a 64-bit JVM with compressed references. Objects shared
+ * between entries are counted in each of them, and enums in none.
+ */
+public final class RecordWeigher implements Weigher<Object, Object> {
+
+    static final int ENTRY_OVERHEAD = 120;
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int UNKNOWN_OBJECT = 16;
+    private static final int LOCAL_DATE = 24;
+    private static final int LOCAL_TIME = 24;
+
+    private static final ClassValue<RecordLayout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected RecordLayout computeValue(Class<?> type) {
+            return RecordLayout.of(type);
+        }
+    };
+
+    private record RecordLayout(RecordComponent[] references, long shallowSize) {
+
+        static RecordLayout of(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            long fields = 0;
+            int references = 0;
+            for (RecordComponent component : components) {
+                Class<?> componentType = component.getType();
+                if (componentType.isPrimitive()) {
+                    fields += primitiveSize(componentType);
+                } else {
+                    fields += REFERENCE;
+                    references++;
+                }
+            }
+            RecordComponent[] referenceComponents = new RecordComponent[references];
+            int i = 0;
+            for (RecordComponent component : components) {
+                if (!component.getType().isPrimitive()) {
+                    component.getAccessor().setAccessible(true);
+                    referenceComponents[i++] = component;
+                }
+            }
+            return new RecordLayout(referenceComponents, align(OBJECT_HEADER + fields));
+        }
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + sizeOf(key) + sizeOf(value));
+    }
+
+    static long sizeOf(Object object) {
+        if (object == null || object instanceof Enum<?>) {
+            return 0;
+        }
+        if (object instanceof String string) {
+            return sizeOf(string);
+        }
+        if (object instanceof Long || object instanceof Double) {
+            return align(OBJECT_HEADER + Long.BYTES);
+        }
+        if (object instanceof Number || object instanceof Boolean || object instanceof Character) {
+            return align(OBJECT_HEADER + Integer.BYTES);
+        }
+        if (object instanceof LocalDateTime) {
+            return align(OBJECT_HEADER + 2 * REFERENCE) + LOCAL_DATE + LOCAL_TIME;
+        }
+        if (object instanceof LocalDate) {
+            return LOCAL_DATE;
+        }
+        if (object instanceof LocalTime) {
+            return LOCAL_TIME;
+        }
+        if (object instanceof Record) {
+            return sizeOfRecord(object);
+        }
+        if (object instanceof Collection<?> collection) {
+            long size = align(OBJECT_HEADER + 2 * Integer.BYTES + REFERENCE)
+                    + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+            for (Object element : collection) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        if (object instanceof Map<?, ?> map) {
+            long size = align(OBJECT_HEADER + 4 * Integer.BYTES + 3 * REFERENCE)
+                    + align(ARRAY_HEADER + (long) REFERENCE * Integer.highestOneBit(Math.max(1, map.size()) * 2));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += align(OBJECT_HEADER + Integer.BYTES + 3 * REFERENCE)
+                        + sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (object.getClass().isArray()) {
+            return sizeOfArray(object);
+        }
+        return UNKNOWN_OBJECT;
+    }
+
+    private static long sizeOf(String string) {
+        boolean latin1 = true;
+        for (int i = 0; i < string.length() && latin1; i++) {
+            latin1 = string.charAt(i) <= 0xFF;
+        }
+        long bytes = latin1 ? string.length() : 2L * string.length();
+        return align(OBJECT_HEADER + REFERENCE + Integer.BYTES + 2) + align(ARRAY_HEADER + bytes);
+    }
+
+    private static long sizeOfRecord(Object record) {
+        RecordLayout layout = LAYOUTS.get(record.getClass());
+        long size = layout.shallowSize();
+        for (RecordComponent component : layout.references()) {
+            try {
+                size += sizeOf(component.getAccessor().invoke(record));
+            } catch (ReflectiveOperationException e) {
+                size += UNKNOWN_OBJECT;
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOfArray(Object array) {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) primitiveSize(componentType) * length);
+        }
+        long size = align(ARRAY_HEADER + (long) REFERENCE * length);
+        for (int i = 0; i < length; i++) {
+            size += sizeOf(Array.get(array, i));
+        }
+        return size;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.utils.cache.codec.ValueCodec;
+import com.example.sms.utils.cache.offheap.OffHeapStore;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} view of one named {@link Cache} region.
+ *
+ * <p>{@link #get(Object, Callable)} is single-flight: concurrent misses on the same key share
+ * one in-flight load, so {@code @Cacheable(sync = true)} methods hit the database once per key.
+ * The loaded value is only kept if the key was not put or evicted while the load ran, so a
+ * load that read a row before a concurrent update or delete is served once but not cached.
+ *
+ * <p>With {@link #enableOffHeap} the region gets a serialized second tier for entries the
+ * on-heap cache evicts; an entry read twice from that tier is promoted back on-heap unless the
+ * key was put or evicted meanwhile. Evicted entries are serialized after the segment lock is
+ * released, by the next operation on the region.
+ *
+ * <p>A region whose spec has a maximum weight weighs its entries with a {@link RecordWeigher},
+ * so the budget is in estimated bytes of heap.
+ */
+public class RegionCache extends AbstractValueAdaptingCache implements AutoCloseable {
+
+    private final String name;
+    private final CacheSpec spec;
+    private final Cache<Object, Object> cache;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private volatile DependencyIndex dependencyIndex;
+    private volatile OffHeapTier offHeap;
+
+    public RegionCache(String name, CacheSpec spec) {
+        super(false);
+        this.name = name;
+        this.spec = spec;
+        this.cache = spec.maximumWeight() > 0
+                ? new Cache<>(spec, Ticker.system(), new RecordWeigher())
+                : new Cache<>(spec);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = cache.get(key);
+        return value != null ? value : lookupOffHeap(key);
+    }
+
+    private Object lookupOffHeap(Object key) {
+        OffHeapTier tier = offHeap;
+        if (tier == null) {
+            return null;
+        }
+        long generation = cache.generation(key);
+        OffHeapTier.Hit hit = tier.get(key);
+        if (hit == null) {
+            return null;
+        }
+        if (hit.hot() && cache.restore(key, hit.value(), hit.writeTime(), generation)) {
+            demote();
+        }
+        return hit.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return (T) await(key, valueLoader, inFlight);
+        }
+
+        try {
+            long generation = cache.generation(key);
+            cached = cache.peek(key);
+            if (cached == null) {
+                cached = lookupOffHeap(key);
+            }
+            if (cached != null) {
+                load.complete(cached);
+                return (T) fromStoreValue(cached);
+            }
+
+            T value = load(valueLoader);
+            if (value != null && cache.putIfGeneration(key, toStoreValue(value), generation)) {
+                demote();
+            }
+            load.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            load.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    private <T> T load(Callable<T> valueLoader) throws Exception {
+        Ticker ticker = cache.ticker();
+        long start = ticker.read();
+        boolean success = false;
+        try {
+            T value = valueLoader.call();
+            success = true;
+            return value;
+        } finally {
+            cache.recordLoad(ticker.read() - start, success);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> inFlight) {
+        try {
+            return fromStoreValue(inFlight.join());
+        } catch (CompletionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, toStoreValue(value));
+        demote();
+    }
+
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = cache.getAll(keys);
+        Map<Object, Object> values = new LinkedHashMap<>();
+        for (Object key : keys) {
+            Object value = found.get(key);
+            if (value == null) {
+                value = lookupOffHeap(key);
+            }
+            if (value != null) {
+                values.put(key, fromStoreValue(value));
+            }
+        }
+        return values;
+    }
+
+    public void putAll(Map<?, ?> entries) {
+        Map<Object, Object> values = new LinkedHashMap<>();
+        entries.forEach((key, value) -> values.put(key, toStoreValue(value)));
+        cache.putAll(values);
+        demote();
+    }
+
+    /**
+     * Removes the entry from both tiers under its segment lock, so a concurrent eviction cannot
+     * demote the old value in between.
+     */
+    @Override
+    public void evict(Object key) {
+        cache.remove(key);
+    }
+
+    /**
+     * Evicts the on-heap entries whose key matches {@code filter}. A load running meanwhile may
+     * have read data the filter was meant to drop, so its result is served once but not kept.
+     */
+    public int evictIf(Predicate<Object> filter) {
+        return cache.removeIf(filter);
+    }
+
+    @Override
+    public void clear() {
+        cache.clearCache();
+    }
+
+    public void refreshWith(Function<Object, Object> loader, Executor executor) {
+        cache.refreshWith(loader, executor);
+    }
+
+    /**
+     * Indexes every cached value under the dependencies it embeds, so that
+     * {@link #evictDependents} can drop exactly the entries a write made stale.
+     */
+    public void trackDependencies(Function<Object, ? extends Collection<?>> dependencies) {
+        OffHeapTier tier = offHeap;
+        DependencyIndex index = new DependencyIndex(dependencies, tier != null);
+        if (tier != null) {
+            // the index has to see a demotion before the tier can report the key dropped
+            cache.addFirstListener(index);
+            tier.onDrop(index::dropDemoted);
+        } else {
+            cache.addListener(index);
+        }
+        this.dependencyIndex = index;
+    }
+
+    /**
+     * Evicts the entries whose values embed {@code dependency} and returns how many were cached.
+     * A load running meanwhile is not indexed yet but may embed the stale dependency, so, as with
+     * {@link #evictIf}, its result is served once but not kept.
+     */
+    public int evictDependents(Object dependency) {
+        DependencyIndex index = dependencyIndex;
+        if (index == null) {
+            return 0;
+        }
+        cache.advanceGenerations();
+        int evicted = 0;
+        for (Object key : index.dependentsOf(dependency)) {
+            evict(key);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Adds an off-heap tier of up to {@code maxBytes} for values {@code codec} can serialize.
+     * Must be called before {@link #trackDependencies}, so the index keeps demoted keys.
+     */
+    @SuppressWarnings("unchecked")
+    public void enableOffHeap(ValueCodec<?> codec, long maxBytes) {
+        if (dependencyIndex != null) {
+            throw new IllegalStateException("Enable the off-heap tier before tracking dependencies");
+        }
+        long expireAfterWriteNanos = spec.expireAfterWrite() != null ? spec.expireAfterWrite().toNanos() : 0;
+        OffHeapTier tier = new OffHeapTier(new OffHeapStore(maxBytes), (ValueCodec<Object>) codec,
+                cache.ticker(), expireAfterWriteNanos);
+        cache.addListener(tier);
+        this.offHeap = tier;
+    }
+
+    /**
+     * Serializes the entries the on-heap cache evicted into the off-heap tier. Writes call it
+     * once they have released the segment lock.
+     */
+    private void demote() {
+        OffHeapTier tier = offHeap;
+        if (tier != null) {
+            tier.demotePending();
+        }
+    }
+
+    public OffHeapStore getOffHeapStore() {
+        OffHeapTier tier = offHeap;
+        return tier != null ? tier.store() : null;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long weightedSize() {
+        return cache.weightedSize();
+    }
+
+    @Override
+    public void close() {
+        OffHeapTier tier = offHeap;
+        if (tier != null) {
+            tier.close();
+        }
+    }
+}
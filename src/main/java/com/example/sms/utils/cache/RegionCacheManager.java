@@ -0,0 +1,41 @@
+package com.example.sms.utils.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Creates one independently sized {@link RegionCache} per cache name. Regions without
+ * an explicit spec are created on first use with the default spec.
+ */
+public class RegionCacheManager implements CacheManager, AutoCloseable {
+
+    private final Map<String, RegionCache> regions = new ConcurrentHashMap<>();
+    private final CacheSpec defaultSpec;
+
+    public RegionCacheManager(Map<String, CacheSpec> regionSpecs, CacheSpec defaultSpec) {
+        this.defaultSpec = defaultSpec;
+        regionSpecs.forEach((name, spec) -> regions.put(name, new RegionCache(name, spec)));
+    }
+
+    @Override
+    public RegionCache getCache(String name) {
+        return regions.computeIfAbsent(name, regionName -> new RegionCache(regionName, defaultSpec));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    public Collection<RegionCache> getRegions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    @Override
+    public void close() {
+        regions.values().forEach(RegionCache::close);
+    }
+}
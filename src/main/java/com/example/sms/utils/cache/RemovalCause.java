@@ -0,0 +1,7 @@
+package com.example.sms.utils.cache;
+
+public enum RemovalCause {
+    EXPLICIT,
+    EVICTED,
+    EXPIRED
+}
@@ -0,0 +1,14 @@
+package com.example.sms.utils.cache;
+
+/**
+ * Nanosecond time source for expiry, replaceable in tests.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    long read();
+
+    static Ticker system() {
+        return System::nanoTime;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.sms.utils.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel that expires nodes in amortized O(1) without per-entry timers.
+ * Each level is a ring of buckets with power-of-two widths (about 1s, 1m, 1h, 1d and 13d),
+ * a node sits in the coarsest level whose span still covers its remaining lifetime and
+ * cascades to finer levels as time advances. Not thread-safe, callers guard it with the
+ * owning segment lock.
+ */
+final class TimerWheel<K, V> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 30,
+            1L << 36,
+            1L << 42,
+            1L << 46,
+            1L << 50,
+            1L << 52
+    };
+    private static final int[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final Node<K, V>[][] wheel;
+    private final Consumer<Node<K, V>> onExpire;
+    private long nanos;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long now, Consumer<Node<K, V>> onExpire) {
+        this.nanos = now;
+        this.onExpire = onExpire;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                Node<K, V> sentinel = new Node<>(null, null);
+                sentinel.timerPrev = sentinel;
+                sentinel.timerNext = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    void schedule(Node<K, V> node) {
+        Node<K, V> sentinel = findBucket(node.expiresAt);
+        node.timerPrev = sentinel.timerPrev;
+        node.timerNext = sentinel;
+        sentinel.timerPrev.timerNext = node;
+        sentinel.timerPrev = node;
+    }
+
+    void reschedule(Node<K, V> node) {
+        unlink(node);
+        schedule(node);
+    }
+
+    void unlink(Node<K, V> node) {
+        if (node.timerNext != null) {
+            node.timerPrev.timerNext = node.timerNext;
+            node.timerNext.timerPrev = node.timerPrev;
+            node.timerPrev = null;
+            node.timerNext = null;
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code now}, expiring due nodes and cascading the rest.
+     */
+    void advance(long now) {
+        long previous = nanos;
+        nanos = now;
+        for (int level = 0; level < SHIFT.length; level++) {
+            long previousTicks = previous >>> SHIFT[level];
+            long currentTicks = now >>> SHIFT[level];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expire(level, previousTicks, delta);
+        }
+    }
+
+    void clear() {
+        for (Node<K, V>[] buckets : wheel) {
+            for (Node<K, V> sentinel : buckets) {
+                sentinel.timerPrev = sentinel;
+                sentinel.timerNext = sentinel;
+            }
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta) {
+        Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.timerNext;
+            sentinel.timerPrev = sentinel;
+            sentinel.timerNext = sentinel;
+
+            while (node != sentinel) {
+                Node<K, V> next = node.timerNext;
+                node.timerPrev = null;
+                node.timerNext = null;
+                if (node.expiresAt - nanos <= 0) {
+                    onExpire.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int level = 0; level < last; level++) {
+            if (duration < SPANS[level + 1]) {
+                long ticks = time >>> SHIFT[level];
+                return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.sms.utils.cache;
+
+/**
+ * Weight of a cache entry, counted against the maximum weight of its {@link CacheSpec}.
+ * Called under the segment lock on every write, so it must be quick and side-effect free.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.sms.utils.cache;
+
+/**
+ * W-TinyLFU: new entries land in a small LRU window, entries leaving the window must
+ * beat the main region's victim on {@link FrequencySketch} frequency to be admitted.
+ * The main region is a segmented LRU, entries hit while on probation move to the
+ * protected queue. Not thread-safe, callers guard it with the owning segment lock.
+ */
+final class WindowTinyLfuStrategy<K, V> implements EvictionStrategy<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final FrequencySketch sketch;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    static final class AccessQueue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void addFirst(Node<K, V> node) {
+            node.queue = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            } else {
+                tail = node;
+            }
+            head = node;
+            size++;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = null;
+            size--;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    WindowTinyLfuStrategy(int capacity) {
+        this.maxWindow = Math.max(1, capacity * WINDOW_PERCENT / 100);
+        this.maxProtected = Math.max(0, capacity - maxWindow) * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public void add(Node<K, V> node) {
+        sketch.increment(node.key);
+        window.addFirst(node);
+        if (window.size > maxWindow) {
+            Node<K, V> candidate = window.tail;
+            window.unlink(candidate);
+            probation.addFirst(candidate);
+        }
+    }
+
+    @Override
+    public void recordAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        AccessQueue<K, V> queue = node.queue;
+        queue.unlink(node);
+        if (queue == probation) {
+            protectedQueue.addFirst(node);
+            while (protectedQueue.size > maxProtected) {
+                Node<K, V> demoted = protectedQueue.tail;
+                protectedQueue.unlink(demoted);
+                probation.addFirst(demoted);
+            }
+        } else {
+            queue.addFirst(node);
+        }
+    }
+
+    @Override
+    public void remove(Node<K, V> node) {
+        node.queue.unlink(node);
+    }
+
+    @Override
+    public Node<K, V> victim() {
+        Node<K, V> mainVictim = probation.tail != null ? probation.tail : protectedQueue.tail;
+        if (window.size < maxWindow) {
+            return mainVictim != null ? mainVictim : window.tail;
+        }
+
+        Node<K, V> candidate = window.tail;
+        if (mainVictim == null) {
+            return candidate;
+        }
+        return sketch.frequency(candidate.key) > sketch.frequency(mainVictim.key) ? mainVictim : candidate;
+    }
+
+    @Override
+    public int frequency(Node<K, V> node) {
+        return sketch.frequency(node.key);
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        sketch.clear();
+    }
+}
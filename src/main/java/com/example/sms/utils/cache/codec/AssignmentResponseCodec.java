@@ -0,0 +1,55 @@
+package com.example.sms.utils.cache.codec;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.FeedBackResponse;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.sms.utils.cache.codec.Codecs.readDateTime;
+import static com.example.sms.utils.cache.codec.Codecs.readLong;
+import static com.example.sms.utils.cache.codec.Codecs.readString;
+import static com.example.sms.utils.cache.codec.Codecs.writeDateTime;
+import static com.example.sms.utils.cache.codec.Codecs.writeLong;
+import static com.example.sms.utils.cache.codec.Codecs.writeString;
+
+public class AssignmentResponseCodec implements ValueCodec<AssignmentResponse> {
+
+    static final int NULL_LIST = -1;
+
+    @Override
+    public void encode(AssignmentResponse assignment, DataOutput out) throws IOException {
+        writeLong(out, assignment.id());
+        writeString(out, assignment.title());
+        writeString(out, assignment.description());
+
+        List<FeedBackResponse> feedBacks = assignment.feedBacks();
+        out.writeInt(feedBacks != null ? feedBacks.size() : NULL_LIST);
+        if (feedBacks != null) {
+            for (FeedBackResponse feedBack : feedBacks) {
+                writeLong(out, feedBack.id());
+                writeString(out, feedBack.comment());
+                writeDateTime(out, feedBack.createdAt());
+            }
+        }
+    }
+
+    @Override
+    public AssignmentResponse decode(DataInput in) throws IOException {
+        Long id = readLong(in);
+        String title = readString(in);
+        String description = readString(in);
+
+        int count = in.readInt();
+        List<FeedBackResponse> feedBacks = null;
+        if (count != NULL_LIST) {
+            feedBacks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                feedBacks.add(new FeedBackResponse(readLong(in), readString(in), readDateTime(in)));
+            }
+        }
+        return new AssignmentResponse(id, title, description, feedBacks);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sms.utils.cache.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Helpers for writing nullable fields in {@link ValueCodec} implementations.
+ */
+public final class Codecs {
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private Codecs() {
+    }
+
+    public static <V> byte[] toBytes(ValueCodec<V> codec, V value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.encode(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static <V> V fromBytes(ValueCodec<V> codec, byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return codec.decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeLong(value != null ? value : NULL_LONG);
+    }
+
+    public static Long readLong(DataInput in) throws IOException {
+        long value = in.readLong();
+        return value != NULL_LONG ? value : null;
+    }
+
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        writeString(out, value != null ? value.toString() : null);
+    }
+
+    public static LocalDateTime readDateTime(DataInput in) throws IOException {
+        String value = readString(in);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.sms.utils.cache.codec;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.sms.utils.cache.codec.Codecs.readLong;
+import static com.example.sms.utils.cache.codec.Codecs.readString;
+import static com.example.sms.utils.cache.codec.Codecs.writeLong;
+import static com.example.sms.utils.cache.codec.Codecs.writeString;
+
+public class EmployeeResponseCodec implements ValueCodec<EmployeeResponse> {
+
+    private static final int NULL_LIST = AssignmentResponseCodec.NULL_LIST;
+
+    private final AssignmentResponseCodec assignmentCodec = new AssignmentResponseCodec();
+
+    @Override
+    public void encode(EmployeeResponse employee, DataOutput out) throws IOException {
+        writeLong(out, employee.id());
+        writeString(out, employee.firstName());
+        writeString(out, employee.lastName());
+        writeString(out, employee.phoneNumber());
+        writeString(out, employee.email());
+
+        List<AssignmentResponse> assignments = employee.assignments();
+        out.writeInt(assignments != null ? assignments.size() : NULL_LIST);
+        if (assignments != null) {
+            for (AssignmentResponse assignment : assignments) {
+                assignmentCodec.encode(assignment, out);
+            }
+        }
+    }
+
+    @Override
+    public EmployeeResponse decode(DataInput in) throws IOException {
+        Long id = readLong(in);
+        String firstName = readString(in);
+        String lastName = readString(in);
+        String phoneNumber = readString(in);
+        String email = readString(in);
+
+        int count = in.readInt();
+        List<AssignmentResponse> assignments = null;
+        if (count != NULL_LIST) {
+            assignments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                assignments.add(assignmentCodec.decode(in));
+            }
+        }
+        return new EmployeeResponse(id, firstName, lastName, phoneNumber, email, assignments);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.sms.utils.cache.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact binary form of a cached value, used wherever values leave the Java heap.
+ */
+public interface ValueCodec<V> {
+
+    void encode(V value, DataOutput out) throws IOException;
+
+    V decode(DataInput in) throws IOException;
+}
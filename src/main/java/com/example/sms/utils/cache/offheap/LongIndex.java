@@ -0,0 +1,170 @@
+package com.example.sms.utils.cache.offheap;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to non-negative {@code long} values,
+ * with a CLOCK reference bit per slot. Linear probing with backward-shift deletion keeps
+ * lookups tombstone-free. Not thread-safe.
+ */
+final class LongIndex {
+
+    static final long ABSENT = -1L;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private boolean[] referenced;
+    private int mask;
+    private int size;
+    private int hand;
+
+    LongIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    long get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : ABSENT;
+    }
+
+    /**
+     * Marks the key as recently used and returns whether it already was.
+     */
+    boolean touch(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        boolean wasReferenced = referenced[slot];
+        referenced[slot] = true;
+        return wasReferenced;
+    }
+
+    long put(long key, long value) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        referenced[slot] = false;
+        size++;
+        return ABSENT;
+    }
+
+    long remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return ABSENT;
+        }
+        long previous = values[slot];
+        deleteSlot(slot);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Advances the clock hand to the first key without its reference bit set, clearing the
+     * bits it passes, and returns that key. The index must not be empty.
+     */
+    long nextVictim() {
+        while (true) {
+            hand = (hand + 1) & mask;
+            if (!used[hand]) {
+                continue;
+            }
+            if (referenced[hand]) {
+                referenced[hand] = false;
+            } else {
+                return keys[hand];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(keys.length);
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = slotFor(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                referenced[gap] = referenced[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        referenced[gap] = false;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        boolean[] oldReferenced = referenced;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotFor(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                referenced[slot] = oldReferenced[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        referenced = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+        hand = 0;
+    }
+
+    private int slotFor(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = (int) Math.ceil(Math.max(expectedSize, 8) / LOAD_FACTOR);
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
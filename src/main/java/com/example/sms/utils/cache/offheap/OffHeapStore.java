@@ -0,0 +1,208 @@
+package com.example.sms.utils.cache.offheap;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Byte store outside the Java heap, keyed by primitive {@code long}. Entries live in
+ * {@link SlabAllocator} blocks as {@code [int length][long writeTime][bytes]}, so the heap only
+ * holds the {@link LongIndex} arrays no matter how many entries are stored. When the byte
+ * budget is exhausted entries are dropped in CLOCK order until the new one fits, and the
+ * {@link #onEviction eviction listener} is told which keys were dropped.
+ */
+public final class OffHeapStore implements AutoCloseable {
+
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int MAX_EVICTIONS_PER_PUT = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Arena arena = Arena.ofShared();
+    private final SlabAllocator allocator;
+    private final LongIndex index = new LongIndex(1024);
+    private long evictionCount;
+    private volatile LongConsumer evictionListener = key -> {
+    };
+
+    public record Entry(byte[] bytes, long writeTime, boolean hot) {
+    }
+
+    public OffHeapStore(long maxBytes) {
+        this(maxBytes, DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapStore(long maxBytes, int slabSize) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Off-heap size must be positive");
+        }
+        this.allocator = new SlabAllocator(arena, maxBytes, slabSize);
+    }
+
+    /**
+     * Stores a copy of {@code bytes}. Returns {@code false} if the entry does not fit even
+     * after dropping other entries.
+     */
+    public boolean put(long key, long writeTime, byte[] bytes) {
+        int size = HEADER_BYTES + bytes.length;
+        lock.lock();
+        try {
+            release(index.remove(key));
+            long address = allocator.allocate(size);
+            for (int i = 0; address < 0 && i < MAX_EVICTIONS_PER_PUT && index.size() > 0; i++) {
+                long victim = index.nextVictim();
+                release(index.remove(victim));
+                evictionCount++;
+                evictionListener.accept(victim);
+                address = allocator.allocate(size);
+            }
+            if (address < 0) {
+                return false;
+            }
+
+            MemorySegment slab = allocator.slab(address);
+            long offset = SlabAllocator.offset(address);
+            slab.set(ValueLayout.JAVA_INT_UNALIGNED, offset, bytes.length);
+            slab.set(ValueLayout.JAVA_LONG_UNALIGNED, offset + Integer.BYTES, writeTime);
+            MemorySegment.copy(bytes, 0, slab, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES, bytes.length);
+            index.put(key, address);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the entry back onto the heap. {@link Entry#hot()} is set when the key was already
+     * read since it was stored or last passed by the clock hand.
+     */
+    public Entry get(long key) {
+        lock.lock();
+        try {
+            long address = index.get(key);
+            if (address == LongIndex.ABSENT) {
+                return null;
+            }
+            boolean hot = index.touch(key);
+            MemorySegment slab = allocator.slab(address);
+            long offset = SlabAllocator.offset(address);
+            int length = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+            long writeTime = slab.get(ValueLayout.JAVA_LONG_UNALIGNED, offset + Integer.BYTES);
+            byte[] bytes = new byte[length];
+            MemorySegment.copy(slab, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES, bytes, 0, length);
+            return new Entry(bytes, writeTime, hot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(long key) {
+        lock.lock();
+        try {
+            long address = index.remove(key);
+            release(address);
+            return address != LongIndex.ABSENT;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry only if it still carries {@code writeTime}, so a caller holding an
+     * older copy does not drop an entry stored after it read.
+     */
+    public boolean remove(long key, long writeTime) {
+        lock.lock();
+        try {
+            long address = index.get(key);
+            if (address == LongIndex.ABSENT || writeTime(address) != writeTime) {
+                return false;
+            }
+            release(index.remove(key));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the callback for keys dropped to make room. It runs while the store is locked, so
+     * it must be quick and must not call back into the store.
+     */
+    public void onEviction(LongConsumer listener) {
+        this.evictionListener = listener;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            allocator.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long allocatedBytes() {
+        lock.lock();
+        try {
+            return allocator.allocatedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long reservedBytes() {
+        lock.lock();
+        try {
+            return allocator.reservedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long evictionCount() {
+        lock.lock();
+        try {
+            return evictionCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            index.clear();
+            arena.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long writeTime(long address) {
+        MemorySegment slab = allocator.slab(address);
+        return slab.get(ValueLayout.JAVA_LONG_UNALIGNED, SlabAllocator.offset(address) + Integer.BYTES);
+    }
+
+    private void release(long address) {
+        if (address == LongIndex.ABSENT) {
+            return;
+        }
+        int length = allocator.slab(address).get(ValueLayout.JAVA_INT_UNALIGNED, SlabAllocator.offset(address));
+        allocator.free(address, HEADER_BYTES + length);
+    }
+}
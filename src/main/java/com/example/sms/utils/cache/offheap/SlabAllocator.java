@@ -0,0 +1,117 @@
+package com.example.sms.utils.cache.offheap;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Carves power-of-two blocks out of fixed-size off-heap slabs. Freed blocks go to a
+ * free list per size class and are reused before any new slab is mapped. An address packs
+ * the slab number into the high 32 bits and the offset into the low 32 bits. Not thread-safe.
+ */
+final class SlabAllocator {
+
+    static final int MIN_BLOCK_SHIFT = 5;
+
+    private final Arena arena;
+    private final int slabSize;
+    private final int maxSlabs;
+    private final List<MemorySegment> slabs = new ArrayList<>();
+    private final long[][] freeLists;
+    private final int[] freeCounts;
+    private int activeSlabs;
+    private int bumpOffset;
+    private long allocatedBytes;
+
+    SlabAllocator(Arena arena, long maxBytes, int slabSize) {
+        if (Integer.bitCount(slabSize) != 1 || slabSize < (1 << MIN_BLOCK_SHIFT)) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least 32 bytes");
+        }
+        this.arena = arena;
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.max(1, maxBytes / slabSize);
+        int classes = Integer.numberOfTrailingZeros(slabSize) - MIN_BLOCK_SHIFT + 1;
+        this.freeLists = new long[classes][16];
+        this.freeCounts = new int[classes];
+        this.bumpOffset = slabSize;
+    }
+
+    /**
+     * Returns the address of a block of at least {@code size} bytes, or {@code -1} when the
+     * budget is exhausted.
+     */
+    long allocate(int size) {
+        int sizeClass = sizeClass(size);
+        if (sizeClass >= freeLists.length) {
+            return -1;
+        }
+        if (freeCounts[sizeClass] > 0) {
+            allocatedBytes += blockSize(sizeClass);
+            return freeLists[sizeClass][--freeCounts[sizeClass]];
+        }
+
+        int blockSize = blockSize(sizeClass);
+        if (bumpOffset + blockSize > slabSize) {
+            if (activeSlabs == slabs.size()) {
+                if (slabs.size() >= maxSlabs) {
+                    return -1;
+                }
+                slabs.add(arena.allocate(slabSize, Long.BYTES));
+            }
+            activeSlabs++;
+            bumpOffset = 0;
+        }
+        long address = ((long) (activeSlabs - 1) << 32) | bumpOffset;
+        bumpOffset += blockSize;
+        allocatedBytes += blockSize;
+        return address;
+    }
+
+    void free(long address, int size) {
+        int sizeClass = sizeClass(size);
+        long[] freeList = freeLists[sizeClass];
+        if (freeCounts[sizeClass] == freeList.length) {
+            freeList = Arrays.copyOf(freeList, freeList.length << 1);
+            freeLists[sizeClass] = freeList;
+        }
+        freeList[freeCounts[sizeClass]++] = address;
+        allocatedBytes -= blockSize(sizeClass);
+    }
+
+    MemorySegment slab(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+
+    static long offset(long address) {
+        return address & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Forgets every block but keeps the mapped slabs for reuse.
+     */
+    void reset() {
+        Arrays.fill(freeCounts, 0);
+        activeSlabs = 0;
+        bumpOffset = slabSize;
+        allocatedBytes = 0;
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    long reservedBytes() {
+        return (long) slabs.size() * slabSize;
+    }
+
+    private static int sizeClass(int size) {
+        int blockShift = 32 - Integer.numberOfLeadingZeros(Math.max(size, 1 << MIN_BLOCK_SHIFT) - 1);
+        return blockShift - MIN_BLOCK_SHIFT;
+    }
+
+    private static int blockSize(int sizeClass) {
+        return 1 << (sizeClass + MIN_BLOCK_SHIFT);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.sms.utils.cache.snapshot;
+
+import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.codec.Codecs;
+import com.example.sms.utils.cache.codec.ValueCodec;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the on-heap entries of a region to {@code <directory>/<region>.snapshot} and reads
+ * them back on startup. The file is {@code [int magic][int format][long savedAtMillis]} followed
+ * by {@code [long key][long stamp][long ageNanos][int length][bytes]} records, hottest first.
+ *
+ * <p>The stamp of a record is the one {@link RegionStamps} holds for the cached value, taken
+ * from the versions it was mapped from, so a value that was already stale when saved cannot pass
+ * for current. Entries without a stamp are not written. The file is read through a memory
+ * mapping, and a record is restored only if its stamp still matches the
+ * {@link VersionStamps database}, so entries changed or deleted in the meantime are dropped.
+ * Restored entries keep their age plus the time the application was down, so write expiry
+ * counts from the original load.
+ */
+public final class RegionSnapshotter {
+
+    static final int MAGIC = 0x534d5343;
+    static final int FORMAT_VERSION = 3;
+    static final int BATCH_SIZE = 1000;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = 3 * Long.BYTES + Integer.BYTES;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final Clock clock;
+
+    private record Pending(long key, long stamp, long age, long offset, int length) {
+    }
+
+    public RegionSnapshotter(Path directory) {
+        this(directory, Clock.systemUTC());
+    }
+
+    RegionSnapshotter(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the number of entries written, each with the stamp {@code stamps} holds for its
+     * value. Only {@code Long} keys are written.
+     */
+    public int save(RegionCache region, ValueCodec<?> codec, RegionStamps stamps) throws IOException {
+        @SuppressWarnings("unchecked")
+        ValueCodec<Object> valueCodec = (ValueCodec<Object>) codec;
+        List<Cache.SnapshotEntry<Object, Object>> entries = region.getNativeCache().snapshotEntries();
+
+        Files.createDirectories(directory);
+        Path file = fileOf(region.getName());
+        Path temp = Files.createTempFile(directory, region.getName(), ".tmp");
+        int written = 0;
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(clock.millis());
+                for (Cache.SnapshotEntry<Object, Object> entry : entries) {
+                    Long stamp = stamps.stampOf(entry.key(), entry.value());
+                    if (!(entry.key() instanceof Long key) || stamp == null) {
+                        continue;
+                    }
+                    byte[] bytes = Codecs.toBytes(valueCodec, entry.value());
+                    out.writeLong(key);
+                    out.writeLong(stamp);
+                    out.writeLong(entry.age());
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    written++;
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return written;
+    }
+
+    /**
+     * Returns the number of entries put back into the region, at most its capacity. A missing
+     * or unreadable file restores nothing; a truncated file restores the records before the cut.
+     * Restored entries keep their stamp in {@code stamps}, so the next snapshot writes them again.
+     */
+    public int restore(RegionCache region, ValueCodec<?> codec, RegionStamps stamps, VersionStamps current)
+            throws IOException {
+        @SuppressWarnings("unchecked")
+        ValueCodec<Object> valueCodec = (ValueCodec<Object>) codec;
+        Path file = fileOf(region.getName());
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+
+        int capacity = region.getNativeCache().getCapacity();
+        int restored = 0;
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return 0;
+            }
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            if (data.get(INT, 0) != MAGIC || data.get(INT, Integer.BYTES) != FORMAT_VERSION) {
+                return 0;
+            }
+            long savedAt = data.get(LONG, 2 * Integer.BYTES);
+            long downtime = Duration.ofMillis(Math.max(0, clock.millis() - savedAt)).toNanos();
+
+            long offset = HEADER_BYTES;
+            List<Pending> batch = new ArrayList<>(BATCH_SIZE);
+            while (restored < capacity) {
+                boolean complete = offset + RECORD_HEADER_BYTES <= size;
+                if (complete) {
+                    long key = data.get(LONG, offset);
+                    long stamp = data.get(LONG, offset + Long.BYTES);
+                    long age = data.get(LONG, offset + 2 * Long.BYTES) + downtime;
+                    int length = data.get(INT, offset + 3 * Long.BYTES);
+                    long start = offset + RECORD_HEADER_BYTES;
+                    complete = length >= 0 && start + length <= size;
+                    if (complete) {
+                        batch.add(new Pending(key, stamp, age, start, length));
+                        offset = start + length;
+                    }
+                }
+                if (batch.size() == BATCH_SIZE || (!complete && !batch.isEmpty())) {
+                    restored += restoreBatch(region, valueCodec, stamps, current, data, batch, capacity - restored);
+                    batch.clear();
+                }
+                if (!complete) {
+                    break;
+                }
+            }
+        }
+        return restored;
+    }
+
+    Path fileOf(String regionName) {
+        return directory.resolve(regionName + ".snapshot");
+    }
+
+    private static int restoreBatch(RegionCache region, ValueCodec<Object> codec, RegionStamps stamps,
+                                    VersionStamps current, MemorySegment data, List<Pending> batch, int limit) {
+        List<Long> keys = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            keys.add(pending.key());
+        }
+        Map<Long, Long> currentStamps = current.of(keys);
+
+        Cache<Object, Object> cache = region.getNativeCache();
+        int restored = 0;
+        for (Pending pending : batch) {
+            if (restored == limit) {
+                break;
+            }
+            Long stamp = currentStamps.get(pending.key());
+            if (stamp != null && stamp == pending.stamp()) {
+                byte[] bytes = data.asSlice(pending.offset(), pending.length()).toArray(ValueLayout.JAVA_BYTE);
+                Object value = Codecs.fromBytes(codec, bytes);
+                stamps.offer(pending.key(), value, pending.stamp());
+                if (cache.restore(pending.key(), value, Duration.ofNanos(pending.age()))) {
+                    restored++;
+                }
+            }
+        }
+        return restored;
+    }
+}
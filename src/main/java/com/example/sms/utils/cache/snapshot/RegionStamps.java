@@ -0,0 +1,62 @@
+package com.example.sms.utils.cache.snapshot;
+
+import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.CacheListener;
+import com.example.sms.utils.cache.RemovalCause;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version stamps of the values cached in one region, kept beside the cache so the cached
+ * values themselves carry nothing. A stamp is {@link #offer offered} with the value it was
+ * computed for, when the value is mapped from its entities, and is taken over once that same
+ * instance is put into the region. Any other value put under the key, such as one promoted
+ * from the off-heap tier, leaves the key without a stamp, and such entries are not
+ * snapshotted. Offers that are never cached are dropped once the region's capacity of them
+ * has piled up.
+ */
+public final class RegionStamps implements CacheListener<Object, Object> {
+
+    private record Stamped(Object value, long stamp) {
+    }
+
+    private final Cache<Object, Stamped> offered;
+    private final Map<Object, Stamped> stamps = new ConcurrentHashMap<>();
+
+    public RegionStamps(int capacity) {
+        this.offered = new Cache<>(capacity);
+    }
+
+    public void offer(Object key, Object value, long stamp) {
+        offered.put(key, new Stamped(value, stamp));
+    }
+
+    /**
+     * Returns the stamp of {@code value} if it is the value cached under {@code key}, or
+     * {@code null}.
+     */
+    public Long stampOf(Object key, Object value) {
+        Stamped stamped = stamps.get(key);
+        return stamped != null && stamped.value() == value ? stamped.stamp() : null;
+    }
+
+    @Override
+    public void onPut(Object key, Object value) {
+        Stamped stamped = offered.get(key);
+        if (stamped != null && stamped.value() == value) {
+            stamps.put(key, stamped);
+        } else {
+            stamps.remove(key);
+        }
+    }
+
+    @Override
+    public void onRemoval(Object key, Object value, RemovalCause cause) {
+        stamps.remove(key);
+    }
+
+    @Override
+    public void onClear() {
+        stamps.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sms.utils.cache.snapshot;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Current version stamp of each cached entity graph, looked up by root id. A restored entry
+ * is kept only if its stamp still matches the one recorded when the snapshot was written.
+ */
+@FunctionalInterface
+public interface VersionStamps {
+
+    Map<Long, Long> of(Collection<Long> ids);
+
+    /**
+     * Folds flat {@code (rootId, version, childId, childVersion, ...)} rows into one stamp per
+     * root. The stamp changes when any row is added, removed or has a version bump.
+     */
+    static Map<Long, Long> fold(List<Object[]> rows) {
+        Map<Long, Long> stamps = new HashMap<>();
+        for (Object[] row : rows) {
+            long hash = 0;
+            for (Object column : row) {
+                hash = mix(hash + (column != null ? ((Number) column).longValue() : Long.MIN_VALUE));
+            }
+            stamps.merge((Long) row[0], hash, Long::sum);
+        }
+        return stamps;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
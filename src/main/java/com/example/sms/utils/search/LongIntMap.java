@@ -0,0 +1,121 @@
+package com.example.sms.utils.search;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to non-negative {@code int} values.
+ * Linear probing with backward-shift deletion keeps lookups tombstone-free. Not thread-safe.
+ */
+final class LongIntMap {
+
+    static final int ABSENT = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : ABSENT;
+    }
+
+    int put(long key, int value) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return ABSENT;
+    }
+
+    int remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return ABSENT;
+        }
+        int previous = values[slot];
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = slotFor(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotFor(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int slotFor(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = (int) Math.ceil(Math.max(expectedSize, 8) / LOAD_FACTOR);
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
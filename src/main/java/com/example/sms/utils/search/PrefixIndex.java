@@ -0,0 +1,277 @@
+package com.example.sms.utils.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Starts-with lookup of ids by one string key, ordered by key and then id. Most entries live
+ * in an immutable snapshot: the keys sorted and packed into one {@code char[]} with an offset
+ * table and a parallel {@code long[]} of ids, searched by binary search. Writes go to a small
+ * mutable delta, a sorted set of new keys plus the latest change per id, which hides that
+ * id's snapshot entry. {@link #compact} merges the delta into a new snapshot off the write
+ * path; {@link #replace} swaps in a snapshot loaded from elsewhere. Thread-safe.
+ */
+public final class PrefixIndex {
+
+    public record Hit(String key, long id) {
+    }
+
+    private static final Comparator<Hit> ORDER = Comparator.comparing(Hit::key).thenComparingLong(Hit::id);
+
+    private record Change(long sequence, String key) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private final Map<Long, Change> changes = new HashMap<>();
+    private final NavigableSet<Hit> added = new TreeSet<>(ORDER);
+    private Snapshot snapshot = Snapshot.of(List.of());
+    private long sequence;
+
+    /**
+     * Sets the key of an id, {@code null} removes it.
+     */
+    public void put(long id, String key) {
+        lock.writeLock().lock();
+        try {
+            Change previous = changes.put(id, new Change(++sequence, key));
+            if (previous != null && previous.key() != null) {
+                added.remove(new Hit(previous.key(), id));
+            }
+            if (key != null) {
+                added.add(new Hit(key, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        put(id, null);
+    }
+
+    /**
+     * Returns up to {@code limit} entries whose key starts with {@code prefix}, in key and id
+     * order, starting strictly after {@code after} or at the first match when it is {@code null}.
+     */
+    public List<Hit> search(String prefix, Hit after, int limit) {
+        Hit from = after != null ? after : new Hit(prefix, Long.MIN_VALUE);
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            int index = snapshot.lowerBound(from, after == null);
+            Iterator<Hit> delta = added.tailSet(from, after == null).iterator();
+            Hit fromDelta = next(delta);
+            while (hits.size() < limit) {
+                while (index < snapshot.size() && changes.containsKey(snapshot.ids[index])) {
+                    index++;
+                }
+                Hit fromSnapshot = index < snapshot.size() ? snapshot.hit(index) : null;
+                Hit hit;
+                if (fromSnapshot != null && (fromDelta == null || ORDER.compare(fromSnapshot, fromDelta) < 0)) {
+                    hit = fromSnapshot;
+                    index++;
+                } else {
+                    hit = fromDelta;
+                    fromDelta = next(delta);
+                }
+                if (hit == null || !hit.key().startsWith(prefix)) {
+                    break;
+                }
+                hits.add(hit);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deltaSize() {
+        lock.readLock().lock();
+        try {
+            return changes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The number of writes so far. Pass it to {@link #replace} when the replacement is read
+     * from a source that already reflects those writes.
+     */
+    public long sequence() {
+        lock.readLock().lock();
+        try {
+            return sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges the delta into a new snapshot. The merge runs without blocking searches or
+     * writes; changes made meanwhile stay in the delta.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            Snapshot base;
+            Map<Long, Change> merged;
+            lock.readLock().lock();
+            try {
+                base = snapshot;
+                merged = new HashMap<>(changes);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (merged.isEmpty()) {
+                return;
+            }
+
+            List<Hit> hits = new ArrayList<>(base.size() + merged.size());
+            for (int i = 0; i < base.size(); i++) {
+                if (!merged.containsKey(base.ids[i])) {
+                    hits.add(base.hit(i));
+                }
+            }
+            merged.forEach((id, change) -> {
+                if (change.key() != null) {
+                    hits.add(new Hit(change.key(), id));
+                }
+            });
+            hits.sort(ORDER);
+            Snapshot compacted = Snapshot.of(hits);
+
+            lock.writeLock().lock();
+            try {
+                snapshot = compacted;
+                merged.forEach((id, change) -> {
+                    if (changes.get(id) == change) {
+                        changes.remove(id);
+                        if (change.key() != null) {
+                            added.remove(new Hit(change.key(), id));
+                        }
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given entries and drops the changes up to
+     * {@code throughSequence}, which the entries are expected to include.
+     */
+    public void replace(List<Hit> hits, long throughSequence) {
+        List<Hit> sorted = new ArrayList<>(hits);
+        sorted.sort(ORDER);
+        Snapshot replacement = Snapshot.of(sorted);
+        synchronized (compactionLock) {
+            lock.writeLock().lock();
+            try {
+                snapshot = replacement;
+                changes.entrySet().removeIf(entry -> {
+                    Change change = entry.getValue();
+                    if (change.sequence() > throughSequence) {
+                        return false;
+                    }
+                    if (change.key() != null) {
+                        added.remove(new Hit(change.key(), entry.getKey()));
+                    }
+                    return true;
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static Hit next(Iterator<Hit> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static final class Snapshot {
+
+        private final char[] chars;
+        private final int[] offsets;
+        private final long[] ids;
+
+        private Snapshot(char[] chars, int[] offsets, long[] ids) {
+            this.chars = chars;
+            this.offsets = offsets;
+            this.ids = ids;
+        }
+
+        /**
+         * The hits must be sorted.
+         */
+        static Snapshot of(List<Hit> hits) {
+            int length = 0;
+            for (Hit hit : hits) {
+                length += hit.key().length();
+            }
+            char[] chars = new char[length];
+            int[] offsets = new int[hits.size() + 1];
+            long[] ids = new long[hits.size()];
+            for (int i = 0; i < hits.size(); i++) {
+                String key = hits.get(i).key();
+                key.getChars(0, key.length(), chars, offsets[i]);
+                offsets[i + 1] = offsets[i] + key.length();
+                ids[i] = hits.get(i).id();
+            }
+            return new Snapshot(chars, offsets, ids);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        Hit hit(int index) {
+            return new Hit(new String(chars, offsets[index], offsets[index + 1] - offsets[index]), ids[index]);
+        }
+
+        /**
+         * The first index whose entry is not less than {@code hit}, or greater than it when
+         * {@code inclusive} is false.
+         */
+        int lowerBound(Hit hit, boolean inclusive) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compare(middle, hit);
+                if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int compare(int index, Hit hit) {
+            int start = offsets[index];
+            int length = offsets[index + 1] - start;
+            String key = hit.key();
+            int common = Math.min(length, key.length());
+            for (int i = 0; i < common; i++) {
+                int difference = chars[start + i] - key.charAt(i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            if (length != key.length()) {
+                return length - key.length();
+            }
+            return Long.compare(ids[index], hit.id());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.sms.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for name autocomplete. Each entry is indexed under the trigrams of
+ * its upper-cased names, written as {@code ^FIRST^LAST} with {@code ^} marking the start of
+ * every word, and each trigram keeps a sorted {@code int[]} posting list of entry numbers.
+ * A query matches the entries where it starts a word of the names, so {@code "jo"},
+ * {@code "doe"} and {@code "john d"} all match John Doe. Candidates are the intersection of
+ * the query's posting lists, verified against the stored names.
+ *
+ * <p>Changing or removing an entry leaves its old entry number dead in the posting lists; they
+ * are rebuilt once dead entries outnumber live ones. Thread-safe.
+ */
+public final class TrigramIndex {
+
+    public record Match(long id, String firstName, String lastName) {
+    }
+
+    static final char WORD_START = '\u0001';
+
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Postings> postings;
+    private LongIntMap entries;
+    private BitSet dead;
+    private long[] ids;
+    private String[] firstNames;
+    private String[] lastNames;
+    private int next;
+
+    public TrigramIndex() {
+        reset(16);
+    }
+
+    public void put(long id, String firstName, String lastName) {
+        lock.writeLock().lock();
+        try {
+            int entry = entries.get(id);
+            if (entry != LongIntMap.ABSENT) {
+                if (Objects.equals(firstNames[entry], firstName) && Objects.equals(lastNames[entry], lastName)) {
+                    return;
+                }
+                dead.set(entry);
+            }
+            add(id, firstName, lastName);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int entry = entries.remove(id);
+            if (entry != LongIntMap.ABSENT) {
+                dead.set(entry);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} matches in entry order, which is insertion order and, for
+     * an index loaded in id order, id order. Queries shorter than two characters match nothing.
+     */
+    public List<Match> search(String query, int limit) {
+        String pattern = WORD_START + normalize(query);
+        if (pattern.length() < 3 || limit <= 0) {
+            return List.of();
+        }
+        long[] trigrams = trigrams(pattern);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            List<Match> matches = new ArrayList<>(Math.min(limit, lists[0].size));
+            int[] cursors = new int[lists.length];
+            candidates:
+            for (int i = 0; i < lists[0].size && matches.size() < limit; i++) {
+                int entry = lists[0].entries[i];
+                if (dead.get(entry)) {
+                    continue;
+                }
+                for (int j = 1; j < lists.length; j++) {
+                    cursors[j] = lists[j].seek(entry, cursors[j]);
+                    if (cursors[j] == lists[j].size) {
+                        break candidates;
+                    }
+                    if (lists[j].entries[cursors[j]] != entry) {
+                        continue candidates;
+                    }
+                }
+                if (text(firstNames[entry], lastNames[entry]).contains(pattern)) {
+                    matches.add(new Match(ids[entry], firstNames[entry], lastNames[entry]));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long id, String firstName, String lastName) {
+        if (next == ids.length) {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+        }
+        int entry = next++;
+        ids[entry] = id;
+        firstNames[entry] = firstName;
+        lastNames[entry] = lastName;
+        entries.put(id, entry);
+        for (long trigram : trigrams(text(firstName, lastName))) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(entry);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deadCount = next - entries.size();
+        if (deadCount < MIN_COMPACTION || deadCount <= entries.size()) {
+            return;
+        }
+        long[] oldIds = ids;
+        String[] oldFirstNames = firstNames;
+        String[] oldLastNames = lastNames;
+        BitSet oldDead = dead;
+        int oldNext = next;
+        reset(Math.max(16, entries.size()));
+        for (int entry = 0; entry < oldNext; entry++) {
+            if (!oldDead.get(entry)) {
+                add(oldIds[entry], oldFirstNames[entry], oldLastNames[entry]);
+            }
+        }
+    }
+
+    private void reset(int capacity) {
+        postings = new HashMap<>();
+        entries = new LongIntMap(capacity);
+        dead = new BitSet();
+        ids = new long[capacity];
+        firstNames = new String[capacity];
+        lastNames = new String[capacity];
+        next = 0;
+    }
+
+    static String text(String firstName, String lastName) {
+        return WORD_START + normalize(firstName) + WORD_START + normalize(lastName);
+    }
+
+    /**
+     * Upper-cases the characters and turns each run of whitespace inside the text into a
+     * single {@link #WORD_START}.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String trimmed = text.strip();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        boolean space = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                normalized.append(WORD_START);
+                space = false;
+            }
+            normalized.append(Character.toUpperCase(c));
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed as three 16-bit chars.
+     */
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Entry numbers are handed out in increasing order, so appending keeps a list sorted.
+     */
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size << 1);
+            }
+            entries[size++] = entry;
+        }
+
+        /**
+         * Returns the index of the first entry not less than the given one, searching from
+         * {@code from} by galloping and then binary search.
+         */
+        int seek(int entry, int from) {
+            int bound = 1;
+            while (from + bound < size && entries[from + bound] < entry) {
+                bound <<= 1;
+            }
+            int index = Arrays.binarySearch(entries, from + (bound >> 1), Math.min(from + bound + 1, size), entry);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Moves id generation from IDENTITY columns to sequences Hibernate allocates from in blocks
+-- of 50 (pooled-lo), so inserts can be sent as JDBC batches. Existing ids are kept and each
+-- sequence starts above the current maximum. Tables that do not exist yet are left to
+-- Hibernate, which creates them with the sequence-backed id.
+DO $$
+DECLARE
+    table_name text;
+    sequence_name text;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['employees', 'assignments', 'feedbacks'] LOOP
+        sequence_name := table_name || '_seq';
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', sequence_name);
+        IF to_regclass(table_name) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)',
+                    sequence_name, table_name);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)',
+                    table_name, sequence_name);
+            EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', sequence_name, table_name);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,18 @@
+-- Trigram GIN indexes for the employee name searches. The substring searches compare
+-- upper(first_name) / upper(last_name) with LIKE '%term%', and the similarity search ranks
+-- upper(first_name || ' ' || last_name), so each expression gets its own index. Without them
+-- every search is a sequential scan of employees. As in V1, the indexes are only created if
+-- the table already exists.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DO $$
+BEGIN
+    IF to_regclass('employees') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS employees_first_name_trgm_idx
+            ON employees USING gin (upper(first_name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS employees_last_name_trgm_idx
+            ON employees USING gin (upper(last_name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS employees_full_name_trgm_idx
+            ON employees USING gin (upper(coalesce(first_name, '') || ' ' || coalesce(last_name, '')) gin_trgm_ops);
+    END IF;
+END $$;
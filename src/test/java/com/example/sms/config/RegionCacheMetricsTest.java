@@ -0,0 +1,33 @@
+package com.example.sms.config;
+
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.CacheSpec;
+import com.example.sms.utils.cache.RegionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionCacheMetricsTest {
+
+    @Test
+    void bindTo_ShouldPublishRegionCounters() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new RegionCacheMetrics(cache, List.of()).bindTo(registry);
+
+        cache.get(1L, () -> "one");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", CacheNames.EMPLOYEES)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.puts").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").gauge().value());
+        assertEquals(1.0, registry.get("cache.load").tag("result", "success").functionCounter().count());
+        assertEquals(1, registry.get("cache.load.duration").functionTimer().count());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sms.controller;
+
+import com.example.sms.exception.GlobalExceptionHandler;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.service.AssignmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentControllerTest {
+
+    @Mock
+    private AssignmentService assignmentService;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new AssignmentController(assignmentService, assignmentRepository))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getAllAssignments_WithUnknownView_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/assignments/all").param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("View must be summary or full"));
+        verifyNoInteractions(assignmentService);
+    }
+}
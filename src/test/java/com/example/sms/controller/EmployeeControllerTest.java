@@ -0,0 +1,141 @@
+package com.example.sms.controller;
+
+import com.example.sms.exception.GlobalExceptionHandler;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.service.EmployeeImportService;
+import com.example.sms.service.implementation.EmployeeBulkWriter;
+import com.example.sms.service.implementation.EmployeeExporter;
+import com.example.sms.service.implementation.EmployeeLookupIndex;
+import com.example.sms.service.implementation.EmployeeNameIndex;
+import com.example.sms.service.implementation.EmployeeServiceImpl;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Invalid request arguments are rejected by the service; these checks go through the controller
+ * and the exception handler to make sure the client sees a 400 and not a 500.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeControllerTest {
+
+    @Mock
+    private RegionCacheManager cacheManager;
+
+    @Mock
+    private RegionCache cache;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EmployeeBulkWriter bulkWriter;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private EmployeeLookupIndex lookupIndex;
+
+    @Mock
+    private EmployeeImportService importService;
+
+    @Mock
+    private EmployeeExporter exporter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(cacheManager, employeeRepository, employeeMapper,
+                assignmentRepository, bulkWriter, nameIndex, lookupIndex);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EmployeeController(employeeService, importService, exporter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getAllEmployees_WithInvalidPagingArguments_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/all").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get("/employees/all").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees/all").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void exportEmployees_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Format must be json or csv"));
+        verifyNoInteractions(exporter);
+    }
+
+    @Test
+    void getAllEmployees_WithUnknownView_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/all").param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("View must be summary or full"));
+        mockMvc.perform(get("/employees/search-by-assignment/{id}", 1).param("view", "compact"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void searchSimilarEmployees_WithInvalidArguments_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/search/similar").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees/search/similar").param("q", "John").param("limit", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Limit must be between 1 and 100"));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void autocomplete_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/autocomplete").param("q", "jo").param("limit", "51"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Limit must be between 1 and 50"));
+        verifyNoInteractions(nameIndex);
+    }
+
+    @Test
+    void lookupEmployees_WithInvalidArguments_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/employees/lookup").param("field", "salary").param("prefix", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details").value("Field must be phoneNumber, email, firstName or lastName"));
+        mockMvc.perform(get("/employees/lookup").param("field", "email").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees/lookup").param("field", "email").param("prefix", "john")
+                        .param("cursor", "@@"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(lookupIndex);
+    }
+}
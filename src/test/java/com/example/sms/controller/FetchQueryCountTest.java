@@ -0,0 +1,138 @@
+package com.example.sms.controller;
+
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.entity.FeedBack;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the statements Hibernate prepares while serving the listing and get-by-id endpoints with
+ * cold caches. Requests go through the whole web stack, so lazy collections loaded while the
+ * response is mapped or written with the session still open are counted as well. Loading them
+ * one owner at a time would need one query per employee and per assignment.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "sms.cache.snapshot.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+class FetchQueryCountTest {
+
+    private static final int EMPLOYEES = 30;
+    private static final int ASSIGNMENTS_PER_EMPLOYEE = 3;
+    private static final int FEEDBACKS_PER_ASSIGNMENT = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private RegionCacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (employeeRepository.count() > 0) {
+                return;
+            }
+            for (int i = 0; i < EMPLOYEES; i++) {
+                Employee employee = new Employee("First" + i, "Last" + i,
+                        String.format("+37529%07d", i), "employee" + i + "@example.com");
+                for (int j = 0; j < ASSIGNMENTS_PER_EMPLOYEE; j++) {
+                    Assignment assignment = new Assignment("Assignment " + i + "-" + j, "Description");
+                    for (int k = 0; k < FEEDBACKS_PER_ASSIGNMENT; k++) {
+                        assignment.getFeedBacks().add(new FeedBack(null, "Comment " + k, LocalDateTime.now(), assignment));
+                    }
+                    employee.getAssignments().add(assignmentRepository.save(assignment));
+                }
+                employeeRepository.save(employee);
+            }
+        });
+        cacheManager.getRegions().forEach(RegionCache::clear);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllEmployees_ShouldLoadWholeGraphInThreeQueries() throws Exception {
+        mockMvc.perform(get("/employees/all").param("size", String.valueOf(EMPLOYEES)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(EMPLOYEES))
+                .andExpect(jsonPath("$.items[0].assignments.length()").value(ASSIGNMENTS_PER_EMPLOYEE))
+                .andExpect(jsonPath("$.items[0].assignments[0].feedBacks.length()").value(FEEDBACKS_PER_ASSIGNMENT));
+
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "ids, employees with assignments, feedbacks; was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getEmployee_ShouldLoadGraphInThreeQueries() throws Exception {
+        Long id = employeeRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        mockMvc.perform(get("/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignments.length()").value(ASSIGNMENTS_PER_EMPLOYEE));
+
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "employee, assignments, feedbacks; was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllAssignments_ShouldLoadFeedBacksInOneBatch() throws Exception {
+        mockMvc.perform(get("/assignments/all").param("size", "51"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(51))
+                .andExpect(jsonPath("$.items[50].feedBacks.length()").value(FEEDBACKS_PER_ASSIGNMENT));
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "assignments, feedbacks; was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAssignment_ShouldLoadFeedBacksInOneQuery() throws Exception {
+        Long id = assignmentRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        mockMvc.perform(get("/assignments/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.feedBacks.length()").value(FEEDBACKS_PER_ASSIGNMENT));
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "assignment, feedbacks; was " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.sms.mapper;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.entity.FeedBack;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.snapshot.RegionStamps;
+import com.example.sms.utils.cache.snapshot.VersionStamps;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The stamp a snapshot record gets from the entities its response was mapped from has to equal
+ * the one folded from the database rows on restore, or every entry would be dropped.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({EmployeeMapperImpl.class, AssignmentMapperImpl.class, ResponseStamps.class})
+class ResponseStampsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentMapper assignmentMapper;
+
+    @Autowired
+    private ResponseStamps responseStamps;
+
+    @Test
+    void stampOf_ShouldMatchDatabaseStampUntilGraphChanges() {
+        Assignment reviewed = new Assignment("Report", "Quarterly report");
+        reviewed.getFeedBacks().add(new FeedBack(null, "Good", LocalDateTime.now(), reviewed));
+        Assignment pending = new Assignment("Audit", "Yearly audit");
+        entityManager.persist(reviewed);
+        entityManager.persist(pending);
+        Employee assigned = new Employee("John", "Doe", "+375291234567", "john.doe@example.com");
+        assigned.getAssignments().add(reviewed);
+        assigned.getAssignments().add(pending);
+        Employee idle = new Employee("Jane", "Roe", "+375297654321", "jane.roe@example.com");
+        entityManager.persist(assigned);
+        entityManager.persist(idle);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Employee employee : employeeRepository.findAll()) {
+            assertEquals(databaseStamp(employeeRepository.findVersionRows(List.of(employee.getId())), employee.getId()),
+                    ResponseStamps.stampOf(employee));
+        }
+        Assignment cached = assignmentRepository.findById(reviewed.getId()).orElseThrow();
+        long stamp = ResponseStamps.stampOf(cached);
+        assertEquals(databaseStamp(assignmentRepository.findVersionRows(List.of(reviewed.getId())), reviewed.getId()),
+                stamp);
+
+        cached.setTitle("Report v2");
+        entityManager.flush();
+
+        assertNotEquals(stamp,
+                databaseStamp(assignmentRepository.findVersionRows(List.of(reviewed.getId())), reviewed.getId()));
+    }
+
+    @Test
+    void toAssignmentResponse_WhenCachedAsMapped_ShouldKeepItsStamp() {
+        Assignment assignment = new Assignment("Report", "Quarterly report");
+        entityManager.persist(assignment);
+        entityManager.flush();
+        Cache<Object, Object> cache = new Cache<>(10);
+        RegionStamps stamps = new RegionStamps(cache.getCapacity());
+        cache.addListener(stamps);
+        responseStamps.trackAssignments(stamps);
+
+        AssignmentResponse response = assignmentMapper.toAssignmentResponse(assignment);
+        cache.put(assignment.getId(), response);
+
+        assertEquals(ResponseStamps.stampOf(assignment), stamps.stampOf(assignment.getId(), response));
+        assertNull(stamps.stampOf(assignment.getId(), assignmentMapper.toAssignmentResponse(assignment)));
+    }
+
+    private static long databaseStamp(List<Object[]> rows, Long id) {
+        return VersionStamps.fold(rows).get(id);
+    }
+}
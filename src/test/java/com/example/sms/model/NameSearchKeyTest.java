@@ -0,0 +1,28 @@
+package com.example.sms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchKeyTest {
+
+    @Test
+    void of_ShouldTrimUpperCaseAndDropBlankParts() {
+        assertEquals(new NameSearchKey("JOHN", null), NameSearchKey.of(" john ", "  "));
+    }
+
+    @Test
+    void matches_ShouldRequireEveryGivenPart() {
+        NameSearchKey key = NameSearchKey.of("jo", "doe");
+
+        assertTrue(key.matches("John", "Doe"));
+        assertFalse(key.matches("John", "Smith"));
+        assertFalse(key.matches(null, "Doe"));
+        assertTrue(NameSearchKey.of(null, null).matches("Jane", "Smith"));
+    }
+
+    @Test
+    void matches_WhenTermHasWildcard_ShouldMatchConservatively() {
+        assertTrue(NameSearchKey.of("J_n", null).matches("Anna", "Doe"));
+    }
+}
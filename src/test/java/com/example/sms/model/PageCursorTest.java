@@ -0,0 +1,31 @@
+package com.example.sms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void decode_ShouldReadBackEncodedCursor() {
+        PageCursor cursor = new PageCursor(42L, true);
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("42"));
+        assertEquals(cursor, PageCursor.decode(token));
+    }
+
+    @Test
+    void first_ShouldStartBeforeEveryId() {
+        assertEquals(Long.MIN_VALUE, PageCursor.first(false).lastId());
+        assertEquals(Long.MAX_VALUE, PageCursor.first(true).lastId());
+    }
+
+    @Test
+    void decode_WhenTokenIsMalformed_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("@@"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("eDox"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("YTp4"));
+    }
+}
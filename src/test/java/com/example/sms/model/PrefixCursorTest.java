@@ -0,0 +1,23 @@
+package com.example.sms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixCursorTest {
+
+    @Test
+    void decode_ShouldReadBackEncodedCursor() {
+        PrefixCursor cursor = new PrefixCursor("john:doe@example.com", -42L);
+
+        assertEquals(cursor, PrefixCursor.decode(cursor.encode()));
+        assertEquals(new PrefixCursor("", 7L), PrefixCursor.decode(new PrefixCursor("", 7L).encode()));
+    }
+
+    @Test
+    void decode_WhenTokenIsMalformed_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> PrefixCursor.decode("@@"));
+        assertThrows(IllegalArgumentException.class, () -> PrefixCursor.decode("OmtleQ"));
+        assertThrows(IllegalArgumentException.class, () -> PrefixCursor.decode("eDprZXk"));
+    }
+}
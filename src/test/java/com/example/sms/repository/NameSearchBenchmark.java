@@ -0,0 +1,80 @@
+package com.example.sms.repository;
+
+import com.example.sms.SmsApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts an embedded PostgreSQL and the application against it with Flyway and the startup
+ * index creation disabled, fills employees with the given number of rows (1M by default) and
+ * times the name searches. It then applies the migrations, which add the trigram indexes, and
+ * times the same searches again.
+ */
+final class NameSearchBenchmark {
+
+    private static final int RUNS = 20;
+
+    private NameSearchBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SmsApplication.class)
+                     .web(WebApplicationType.NONE)
+                     .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "--spring.datasource.username=postgres",
+                             "--spring.jpa.hibernate.ddl-auto=create",
+                             "--spring.flyway.enabled=false",
+                             "--sms.search.trigram-indexes.enabled=false",
+                             "--sms.cache.snapshot.enabled=false")) {
+
+            DataSource dataSource = context.getBean(DataSource.class);
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbc.update("INSERT INTO employees (id, version, first_name, last_name, phone_number, email) "
+                    + "SELECT g, 0, 'First' || g, 'Last' || g, '+37529' || lpad(g::text, 7, '0'), "
+                    + "'employee' || g || '@example.com' FROM generate_series(1, ?) g", rows);
+            jdbc.execute("ANALYZE employees");
+
+            EmployeeRepository repository = context.getBean(EmployeeRepository.class);
+            run("seq scan", repository, rows);
+
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+            jdbc.execute("ANALYZE employees");
+            run("trigram", repository, rows);
+        }
+    }
+
+    private static void run(String label, EmployeeRepository repository, int rows) {
+        String term = String.valueOf(rows / 2 + 7);
+        time(label, "first name", () -> repository.findIdsByName(term, null));
+        time(label, "last name", () -> repository.findIdsByName(null, term));
+        time(label, "full name", () -> repository.findIdsByName("First" + term, "Last" + term));
+        time(label, "similar", () -> repository.findIdsBySimilarName("Frist" + term + " Lsat" + term, 10));
+    }
+
+    private static void time(String label, String search, Supplier<List<Long>> query) {
+        int found = query.get().size();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / RUNS;
+        System.out.printf("%-8s %-10s found=%d latency=%dus%n", label, search, found, micros);
+    }
+}
@@ -3,26 +3,32 @@ package com.example.sms.service;
 import com.example.sms.dto.request.AssignmentRequest;
 import com.example.sms.dto.request.FeedBackRequest;
 import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.AssignmentSummaryResponse;
 import com.example.sms.dto.response.FeedBackResponse;
+import com.example.sms.dto.response.PageResponse;
 import com.example.sms.entity.Assignment;
 import com.example.sms.entity.Employee;
 import com.example.sms.entity.FeedBack;
 import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
 import com.example.sms.mapper.AssignmentMapper;
 import com.example.sms.mapper.FeedBackMapper;
 import com.example.sms.repository.AssignmentRepository;
 import com.example.sms.repository.EmployeeRepository;
 import com.example.sms.repository.FeedBackRepository;
 import com.example.sms.service.implementation.AssignmentServiceImpl;
-import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -37,6 +43,15 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class AssignmentServiceImplTest {
 
+    @Mock
+    private RegionCacheManager cacheManager;
+
+    @Mock
+    private RegionCache employeeCache;
+
+    @Mock
+    private RegionCache missingIds;
+
     @Mock
     private AssignmentRepository assignmentRepository;
 
@@ -52,10 +67,6 @@ class AssignmentServiceImplTest {
     @Mock
     private FeedBackRepository feedBackRepository;
 
-    @Mock
-    private Cache<Long, AssignmentResponse> cache;
-
-    @InjectMocks
     private AssignmentServiceImpl assignmentService;
 
     private Assignment assignment;
@@ -68,6 +79,11 @@ class AssignmentServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        when(cacheManager.getCache(CacheNames.EMPLOYEES)).thenReturn(employeeCache);
+        when(cacheManager.getCache(CacheNames.MISSING_ASSIGNMENTS)).thenReturn(missingIds);
+        assignmentService = new AssignmentServiceImpl(cacheManager, assignmentRepository, assignmentMapper,
+                employeeRepository, feedBackMapper, feedBackRepository);
+
         // Инициализация тестовых данных
         assignment = new Assignment();
         assignment.setId(1L);
@@ -94,51 +110,49 @@ class AssignmentServiceImplTest {
         employee.setAssignments(new ArrayList<>());
 
         // Сбрасываем моки перед каждым тестом
-        reset(assignmentRepository, assignmentMapper, employeeRepository, feedBackMapper, feedBackRepository, cache);
+        reset(assignmentRepository, assignmentMapper, employeeRepository, feedBackMapper, feedBackRepository);
     }
 
-    // Тесты для метода getAll
+    // Тесты для метода getPage
     @Test
-    void getAll_WhenAssignmentsExist_ShouldReturnList() {
+    void getPage_WhenAssignmentsExist_ShouldReturnPage() {
         // Arrange
         List<Assignment> assignments = List.of(assignment);
         List<AssignmentResponse> responses = List.of(assignmentResponse);
 
-        when(assignmentRepository.findAll()).thenReturn(assignments);
+        when(assignmentRepository.findPageAfter(Long.MIN_VALUE, PageRequest.of(0, 51))).thenReturn(assignments);
         when(assignmentMapper.toAssignmentResponseList(assignments)).thenReturn(responses);
 
         // Act
-        List<AssignmentResponse> result = assignmentService.getAll();
+        PageResponse<AssignmentResponse> result = assignmentService.getPage(null, 50, "asc");
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(assignmentResponse, result.get(0));
-        verify(assignmentRepository).findAll();
-        verify(assignmentMapper).toAssignmentResponseList(assignments);
+        assertEquals(1, result.items().size());
+        assertEquals(assignmentResponse, result.items().get(0));
+        assertNull(result.nextCursor());
+        verify(assignmentRepository, never()).findAll();
     }
 
-    // Тесты для метода getById
     @Test
-    void getById_WhenInCache_ShouldReturnFromCache() {
+    void getSummaryPage_ShouldReturnProjectionsWithoutMapping() {
         // Arrange
-        when(cache.containsKey(1L)).thenReturn(true);
-        when(cache.get(1L)).thenReturn(assignmentResponse);
+        AssignmentSummaryResponse summary = new AssignmentSummaryResponse(1L, "Title", "Description");
+        when(assignmentRepository.findSummariesBefore(Long.MAX_VALUE, PageRequest.of(0, 51))).thenReturn(List.of(summary));
 
         // Act
-        AssignmentResponse result = assignmentService.getById(1L);
+        PageResponse<AssignmentSummaryResponse> result = assignmentService.getSummaryPage(null, 50, "desc");
 
         // Assert
-        assertEquals(assignmentResponse, result);
-        verify(cache).containsKey(1L);
-        verify(cache).get(1L);
-        verify(assignmentRepository, never()).findById(anyLong());
+        assertEquals(List.of(summary), result.items());
+        assertNull(result.nextCursor());
+        verify(assignmentMapper, never()).toAssignmentResponseList(any());
     }
 
+    // Тесты для метода getById
     @Test
-    void getById_WhenNotInCacheAndExists_ShouldReturnAndCache() {
+    void getById_WhenExists_ShouldReturnAssignment() {
         // Arrange
-        when(cache.containsKey(1L)).thenReturn(false);
         when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
         when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(assignmentResponse);
 
@@ -147,26 +161,32 @@ class AssignmentServiceImplTest {
 
         // Assert
         assertEquals(assignmentResponse, result);
-        verify(cache).containsKey(1L);
         verify(assignmentRepository).findById(1L);
         verify(assignmentMapper).toAssignmentResponse(assignment);
-        verify(cache).put(1L, assignmentResponse);
     }
 
     @Test
     void getById_WhenNotFound_ShouldThrowNotFound() {
         // Arrange
-        when(cache.containsKey(1L)).thenReturn(false);
         when(assignmentRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> assignmentService.getById(1L));
-        assertEquals("404 NOT_FOUND \"Assignment not found\"", exception.getMessage());
-        verify(cache).containsKey(1L);
+        assertEquals("Assignment not found with id = 1", exception.getMessage());
         verify(assignmentRepository).findById(1L);
+        verify(missingIds).put(1L, Boolean.TRUE);
         verify(assignmentMapper, never()).toAssignmentResponse(any());
-        verify(cache, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void getById_WhenIdKnownMissing_ShouldNotQueryRepository() {
+        // Arrange
+        when(missingIds.get(1L)).thenReturn(new SimpleValueWrapper(Boolean.TRUE));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> assignmentService.getById(1L));
+        verify(assignmentRepository, never()).findById(any());
     }
 
     // Тесты для метода create
@@ -187,6 +207,7 @@ class AssignmentServiceImplTest {
         verify(assignmentMapper).toAssignment(assignmentRequest);
         verify(assignmentRepository).save(assignment);
         verify(assignmentMapper).toAssignmentResponse(assignment);
+        verify(missingIds).evict(1L);
     }
 
     @Test
@@ -212,7 +233,6 @@ class AssignmentServiceImplTest {
         when(assignmentMapper.partialUpdate(assignmentRequest, assignment)).thenReturn(assignment);
         when(assignmentRepository.save(assignment)).thenReturn(assignment);
         when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(assignmentResponse);
-        when(cache.containsKey(1L)).thenReturn(true);
 
         // Act
         AssignmentResponse result = assignmentService.update(1L, assignmentRequest);
@@ -223,9 +243,8 @@ class AssignmentServiceImplTest {
         verify(assignmentRepository).findById(1L);
         verify(assignmentMapper).partialUpdate(assignmentRequest, assignment);
         verify(assignmentRepository).save(assignment);
-        verify(assignmentMapper, times(2)).toAssignmentResponse(assignment);
-        verify(cache).containsKey(1L);
-        verify(cache).put(1L, assignmentResponse);
+        verify(assignmentMapper).toAssignmentResponse(assignment);
+        verify(employeeCache).evictDependents(1L);
     }
 
     @Test
@@ -272,8 +291,8 @@ class AssignmentServiceImplTest {
         assertTrue(employee.getAssignments().isEmpty()); // Теперь список должен быть пуст
         verify(assignmentRepository).findById(assignmentId);
         verify(employeeRepository).findAll();
-        verify(cache).remove(assignmentId);
         verify(assignmentRepository).deleteById(assignmentId);
+        verify(employeeCache).evictDependents(assignmentId);
     }
 
     @Test
@@ -287,8 +306,8 @@ class AssignmentServiceImplTest {
         assertEquals("404 NOT_FOUND \"Assignment not found with id = 1\"", exception.getMessage());
         verify(assignmentRepository).findById(1L);
         verify(employeeRepository, never()).findAll();
-        verify(cache, never()).remove(anyLong());
         verify(assignmentRepository, never()).deleteById(anyLong());
+        verify(employeeCache, never()).evictDependents(any());
     }
 
     // Тесты для метода addFeedBack
@@ -299,7 +318,6 @@ class AssignmentServiceImplTest {
         when(feedBackMapper.toFeedBack(feedBackRequest)).thenReturn(feedBack);
         when(assignmentRepository.save(assignment)).thenReturn(assignment);
         when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(assignmentResponse);
-        when(cache.containsKey(1L)).thenReturn(true);
 
         // Act
         AssignmentResponse result = assignmentService.addFeedBack(1L, feedBackRequest);
@@ -311,9 +329,8 @@ class AssignmentServiceImplTest {
         verify(assignmentRepository).findById(1L);
         verify(feedBackMapper).toFeedBack(feedBackRequest);
         verify(assignmentRepository).save(assignment);
-        verify(assignmentMapper, times(2)).toAssignmentResponse(assignment);
-        verify(cache).containsKey(1L);
-        verify(cache).put(1L, assignmentResponse);
+        verify(assignmentMapper).toAssignmentResponse(assignment);
+        verify(employeeCache).evictDependents(1L);
     }
 
     @Test
@@ -340,7 +357,6 @@ class AssignmentServiceImplTest {
         when(feedBackRepository.findById(feedBackId)).thenReturn(Optional.of(feedBack));
         when(assignmentRepository.save(assignment)).thenReturn(assignment);
         when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(assignmentResponse);
-        when(cache.containsKey(assignmentId)).thenReturn(true);
 
         // Act
         AssignmentResponse result = assignmentService.deleteFeedBack(assignmentId, feedBackId);
@@ -352,9 +368,7 @@ class AssignmentServiceImplTest {
         verify(feedBackRepository).findById(feedBackId);
         verify(feedBackRepository).delete(feedBack);
         verify(assignmentRepository).save(assignment);
-        verify(assignmentMapper, times(2)).toAssignmentResponse(assignment);
-        verify(cache).containsKey(assignmentId);
-        verify(cache).put(assignmentId, assignmentResponse);
+        verify(assignmentMapper).toAssignmentResponse(assignment);
     }
 
     @Test
@@ -412,7 +426,6 @@ class AssignmentServiceImplTest {
         when(feedBackMapper.toFeedBackResponse(feedBack)).thenReturn(feedBackResponse);
         when(assignmentRepository.save(assignment)).thenReturn(assignment);
         when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(assignmentResponse);
-        when(cache.containsKey(1L)).thenReturn(true);
 
         // Act
         FeedBackResponse result = assignmentService.updateFeedBack(1L, 1L, feedBackRequest);
@@ -425,8 +438,6 @@ class AssignmentServiceImplTest {
         verify(assignmentRepository).save(assignment);
         verify(feedBackRepository).save(feedBack);
         verify(feedBackMapper).toFeedBackResponse(feedBack);
-        verify(cache).containsKey(1L);
-        verify(cache).put(1L, assignmentResponse);
     }
 
     @Test
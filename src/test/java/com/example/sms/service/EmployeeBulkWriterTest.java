@@ -0,0 +1,221 @@
+package com.example.sms.service;
+
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Employee;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.service.implementation.EmployeeBulkWriter;
+import com.example.sms.service.implementation.EmployeeLookupIndex;
+import com.example.sms.service.implementation.EmployeeNameIndex;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeBulkWriterTest {
+
+    @Mock
+    private RegionCacheManager cacheManager;
+
+    @Mock
+    private RegionCache cache;
+
+    @Mock
+    private RegionCache missingIds;
+
+    @Mock
+    private RegionCache searchCache;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private EmployeeLookupIndex lookupIndex;
+
+    private final AtomicLong ids = new AtomicLong(100);
+    private final List<Employee> saved = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(cacheManager.getCache(CacheNames.EMPLOYEES)).thenReturn(cache);
+        when(cacheManager.getCache(CacheNames.MISSING_EMPLOYEES)).thenReturn(missingIds);
+        when(cacheManager.getCache(CacheNames.EMPLOYEE_SEARCH)).thenReturn(searchCache);
+        when(employeeMapper.toEmployee(any())).thenAnswer(invocation -> {
+            EmployeeRequest request = invocation.getArgument(0);
+            return new Employee(request.firstName(), request.lastName(), request.phoneNumber(), request.email());
+        });
+        when(employeeMapper.partialUpdate(any(), any())).thenAnswer(invocation -> {
+            EmployeeRequest request = invocation.getArgument(0);
+            Employee employee = invocation.getArgument(1);
+            employee.setFirstName(request.firstName());
+            employee.setLastName(request.lastName());
+            employee.setPhoneNumber(request.phoneNumber());
+            employee.setEmail(request.email());
+            return employee;
+        });
+        when(employeeMapper.toEmployeeResponse(any())).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    employee.getPhoneNumber(), employee.getEmail(), List.of());
+        });
+        when(employeeRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Employee> batch = new ArrayList<>();
+            for (Employee employee : (Iterable<Employee>) invocation.getArgument(0)) {
+                if (employee.getId() == null) {
+                    employee.setId(ids.incrementAndGet());
+                }
+                batch.add(employee);
+            }
+            saved.addAll(batch);
+            return batch;
+        });
+    }
+
+    private EmployeeBulkWriter writer(int batchSize) {
+        return new EmployeeBulkWriter(cacheManager, employeeRepository, employeeMapper, entityManager, transactionManager,
+                nameIndex, lookupIndex, batchSize);
+    }
+
+    private static EmployeeRequest request(String firstName, String phoneNumber, String email) {
+        return new EmployeeRequest(firstName, "Doe", phoneNumber, email);
+    }
+
+    private static Employee stored(long id, String firstName, String phoneNumber, String email) {
+        Employee employee = new Employee(firstName, "Doe", phoneNumber, email);
+        employee.setId(id);
+        return employee;
+    }
+
+    @Test
+    void upsert_ShouldCreateAndUpdateWithOneLookupPerChunk() {
+        Employee john = stored(1L, "John", "+375291111111", "john@example.com");
+        when(employeeRepository.findByPhoneNumberInOrEmailIn(any(), any())).thenReturn(List.of(john));
+
+        List<BulkRowResponse> rows = writer(500).upsert(List.of(
+                request("Johnny", "+375291111111", "johnny@example.com"),
+                request("Jane", "+375292222222", "jane@example.com")));
+
+        assertEquals(BulkRowStatus.UPDATED, rows.get(0).status());
+        assertEquals(1L, rows.get(0).employee().id());
+        assertEquals("johnny@example.com", john.getEmail());
+        assertEquals(BulkRowStatus.CREATED, rows.get(1).status());
+        assertEquals(1, rows.get(1).index());
+        verify(employeeRepository, times(1)).findByPhoneNumberInOrEmailIn(any(), any());
+        verify(employeeRepository, never()).findAll();
+        verify(employeeRepository, never()).existsByPhoneNumber(any());
+        verify(employeeRepository).flush();
+        verify(cache).evict(1L);
+        verify(missingIds).evict(101L);
+        verify(searchCache).evictIf(any());
+        verify(nameIndex).put(1L, "Johnny", "Doe");
+        verify(nameIndex).put(101L, "Jane", "Doe");
+        verify(lookupIndex).put(101L, "Jane", "Doe", "+375292222222", "jane@example.com");
+    }
+
+    @Test
+    void upsert_WhenPhoneAndEmailBelongToDifferentEmployees_ShouldReportConflict() {
+        Employee john = stored(1L, "John", "+375291111111", "john@example.com");
+        Employee jane = stored(2L, "Jane", "+375292222222", "jane@example.com");
+        when(employeeRepository.findByPhoneNumberInOrEmailIn(any(), any())).thenReturn(List.of(john, jane));
+
+        List<BulkRowResponse> rows = writer(500).upsert(List.of(
+                request("John", "+375291111111", "jane@example.com")));
+
+        assertEquals(BulkRowStatus.CONFLICT, rows.get(0).status());
+        assertEquals("Email jane@example.com is already in use by another employee", rows.get(0).message());
+        assertNull(rows.get(0).employee());
+        assertEquals("john@example.com", john.getEmail());
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void upsert_WhenRowsOfOneBatchShareKeys_ShouldResolveThemInMemory() {
+        when(employeeRepository.findByPhoneNumberInOrEmailIn(any(), any())).thenReturn(List.of());
+
+        List<BulkRowResponse> rows = writer(500).upsert(List.of(
+                request("Jane", "+375292222222", "jane@example.com"),
+                request("Janet", "+375292222222", "janet@example.com"),
+                request("Ann", "+375293333333", "ann@example.com"),
+                request("Ann", "+375293333333", "janet@example.com")));
+
+        assertEquals(BulkRowStatus.CREATED, rows.get(0).status());
+        assertEquals(BulkRowStatus.UPDATED, rows.get(1).status());
+        assertEquals(rows.get(0).employee().id(), rows.get(1).employee().id());
+        assertEquals("Jane", rows.get(0).employee().firstName());
+        assertEquals("jane@example.com", rows.get(0).employee().email());
+        assertEquals("Janet", rows.get(1).employee().firstName());
+        assertEquals("janet@example.com", rows.get(1).employee().email());
+        assertEquals(BulkRowStatus.CREATED, rows.get(2).status());
+        assertEquals(BulkRowStatus.CONFLICT, rows.get(3).status());
+        assertEquals(2, saved.size());
+        verify(missingIds, times(2)).evict(any());
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void upsert_ShouldWriteInChunksOfBatchSize() {
+        when(employeeRepository.findByPhoneNumberInOrEmailIn(any(), any())).thenReturn(List.of());
+
+        List<BulkRowResponse> rows = writer(2).upsert(List.of(
+                request("Ann", "+375291111111", "ann@example.com"),
+                request("Bob", "+375292222222", "bob@example.com"),
+                request("Eve", "+375293333333", "eve@example.com")));
+
+        assertEquals(List.of(0, 1, 2), rows.stream().map(BulkRowResponse::index).toList());
+        verify(employeeRepository, times(2)).findByPhoneNumberInOrEmailIn(any(), any());
+        verify(employeeRepository, times(2)).flush();
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void upsert_WhenChunkIsRejected_ShouldFailOnlyThatChunk() {
+        when(employeeRepository.findByPhoneNumberInOrEmailIn(any(), any())).thenReturn(List.of());
+        doNothing().doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(employeeRepository).flush();
+
+        List<BulkRowResponse> rows = writer(1).upsert(List.of(
+                request("Ann", "+375291111111", "ann@example.com"),
+                request("Bob", "+375292222222", "bob@example.com")));
+
+        assertEquals(BulkRowStatus.CREATED, rows.get(0).status());
+        assertEquals(BulkRowStatus.FAILED, rows.get(1).status());
+        assertEquals(1, rows.get(1).index());
+        verify(transactionManager).rollback(any());
+        verify(missingIds, times(1)).evict(any());
+    }
+}
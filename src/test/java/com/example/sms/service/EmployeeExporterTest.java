@@ -0,0 +1,123 @@
+package com.example.sms.service;
+
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.ExportFormat;
+import com.example.sms.service.implementation.EmployeeExporter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeExporterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Employee> query;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManager.createQuery(anyString(), eq(Employee.class))).thenReturn(query);
+        when(query.setHint(anyString(), any())).thenReturn(query);
+        when(employeeMapper.toEmployeeResponse(any())).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    employee.getPhoneNumber(), employee.getEmail(), List.of());
+        });
+    }
+
+    private void stored(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Employee employee = new Employee("First" + id, "Last" + id, "+37529000000" + id, "e" + id + "@example.com");
+            employee.setId(id);
+            employees.add(employee);
+        }
+        Assignment assignment = new Assignment();
+        assignment.setId(7L);
+        employees.get(0).getAssignments().add(assignment);
+        when(query.getResultStream()).thenReturn(employees.stream().onClose(() -> streamClosed.set(true)));
+    }
+
+    private EmployeeExporter exporter(int fetchSize) {
+        return new EmployeeExporter(entityManager, transactionManager, employeeMapper, objectMapper, fetchSize);
+    }
+
+    @Test
+    void export_AsJson_ShouldWriteArrayAndClearContextAfterEveryChunk() throws IOException {
+        stored(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exporter(2).export(ExportFormat.JSON, out);
+
+        List<EmployeeResponse> employees = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
+        assertEquals(5, written);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), employees.stream().map(EmployeeResponse::id).toList());
+        verify(query).setHint(HibernateHints.HINT_FETCH_SIZE, 2);
+        verify(entityManager, times(3)).clear();
+        assertTrue(streamClosed.get());
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndOneLinePerEmployee() throws IOException {
+        stored(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter(500).export(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("id,firstName,lastName,phoneNumber,email,assignmentIds", lines[0]);
+        assertTrue(lines[1].startsWith("1,First1,Last1,"));
+        assertTrue(lines[1].endsWith(",7"));
+        assertTrue(lines[2].startsWith("2,First2,Last2,"));
+        verify(employeeMapper, never()).toEmployeeResponse(any());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void export_WhenTableIsEmpty_ShouldWriteEmptyArray() throws IOException {
+        stored(1);
+        when(query.getResultStream()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exporter(10).export(ExportFormat.JSON, out));
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+}
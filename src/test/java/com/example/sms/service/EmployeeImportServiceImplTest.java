@@ -0,0 +1,221 @@
+package com.example.sms.service;
+
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.model.ImportFormat;
+import com.example.sms.model.ImportStatus;
+import com.example.sms.service.implementation.EmployeeBulkWriter;
+import com.example.sms.service.implementation.EmployeeImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeImportServiceImplTest {
+
+    private static final String NDJSON = """
+            {"firstName":"John","lastName":"Doe","phoneNumber":"+375291111111","email":"john@example.com"}
+            {"firstName":"Jane","lastName":"Roe","phoneNumber":"+375292222222","email":"jane@example.com"}
+            {"firstName":"Jack","lastName":"Poe","phoneNumber":"+375293333333","email":"jack@example.com"}
+            {"firstName":"Jill","lastName":"Moe","phoneNumber":"+375294444444","email":"jill@example.com"}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<EmployeeRequest>> chunks = new ArrayList<>();
+
+    @Mock
+    private EmployeeBulkWriter bulkWriter;
+
+    @Mock
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        when(validator.validate(any(EmployeeRequest.class))).thenReturn(Set.of());
+        when(bulkWriter.upsert(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+    }
+
+    private List<BulkRowResponse> created(List<EmployeeRequest> requests) {
+        chunks.add(List.copyOf(requests));
+        List<BulkRowResponse> rows = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new BulkRowResponse(i, BulkRowStatus.CREATED, null, null));
+        }
+        return rows;
+    }
+
+    private EmployeeImportServiceImpl service(int batchSize) {
+        return new EmployeeImportServiceImpl(bulkWriter, validator, objectMapper, batchSize, Duration.ofHours(1), 100);
+    }
+
+    private List<BulkRowResponse> run(EmployeeImportServiceImpl service, ImportStatus status,
+                                      String body, ImportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.importRows(status, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+        List<BulkRowResponse> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readValue(line, BulkRowResponse.class));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void importRows_ShouldCommitInChunksAndStreamEveryRow() throws IOException {
+        EmployeeImportServiceImpl service = service(3);
+        ImportStatus status = service.begin(null);
+
+        List<BulkRowResponse> rows = run(service, status, NDJSON, ImportFormat.NDJSON);
+
+        assertEquals(List.of(0, 1, 2, 3), rows.stream().map(BulkRowResponse::index).toList());
+        assertTrue(rows.stream().allMatch(row -> row.status() == BulkRowStatus.CREATED));
+        assertEquals(List.of(3, 1), chunks.stream().map(List::size).toList());
+        assertEquals("Jill", chunks.get(1).get(0).firstName());
+        assertEquals(ImportStatus.COMPLETED, status.getStatus());
+        assertEquals(4, status.getCommittedRows());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importRows_ShouldReportInvalidRowsWithoutWritingThem() throws IOException {
+        ConstraintViolation<EmployeeRequest> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Invalid email format");
+        when(validator.validate(argThat((EmployeeRequest request) -> request != null
+                && "Jane".equals(request.firstName())))).thenReturn(Set.of(violation));
+        EmployeeImportServiceImpl service = service(10);
+
+        List<BulkRowResponse> rows = run(service, service.begin(null), NDJSON, ImportFormat.NDJSON);
+
+        assertEquals(4, rows.size());
+        assertEquals(BulkRowStatus.INVALID, rows.get(1).status());
+        assertEquals("Invalid email format", rows.get(1).message());
+        assertEquals(List.of(0, 1, 2, 3), rows.stream().map(BulkRowResponse::index).toList());
+        assertEquals(List.of("John", "Jack", "Jill"),
+                chunks.get(0).stream().map(EmployeeRequest::firstName).toList());
+    }
+
+    @Test
+    void importRows_ShouldReadCsvWithHeader() throws IOException {
+        String csv = """
+                firstName,lastName,phoneNumber,email
+                John,Doe,+375291111111,john@example.com
+                Jane,Roe,+375292222222,jane@example.com
+                """;
+        EmployeeImportServiceImpl service = service(10);
+
+        List<BulkRowResponse> rows = run(service, service.begin(null), csv, ImportFormat.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals(new EmployeeRequest("Jane", "Roe", "+375292222222", "jane@example.com"),
+                chunks.get(0).get(1));
+    }
+
+    @Test
+    void importRows_ShouldStopOnRolledBackChunkAndResumeAfterLastCommit() throws IOException {
+        when(bulkWriter.upsert(anyList()))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)))
+                .thenAnswer(invocation -> {
+                    List<EmployeeRequest> requests = invocation.getArgument(0);
+                    chunks.add(List.copyOf(requests));
+                    return List.of(
+                            new BulkRowResponse(0, BulkRowStatus.FAILED, null, "Batch rolled back: timeout"),
+                            new BulkRowResponse(1, BulkRowStatus.FAILED, null, "Batch rolled back: timeout"));
+                })
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+        EmployeeImportServiceImpl service = service(2);
+        ImportStatus status = service.begin(null);
+
+        List<BulkRowResponse> first = run(service, status, NDJSON, ImportFormat.NDJSON);
+
+        assertEquals(BulkRowStatus.FAILED, first.get(3).status());
+        assertEquals(ImportStatus.FAILED, status.getStatus());
+        assertEquals(2, status.getCommittedRows());
+
+        ImportStatus resumed = service.begin(status.getId());
+        List<BulkRowResponse> second = run(service, resumed, NDJSON, ImportFormat.NDJSON);
+
+        assertSame(status, resumed);
+        assertEquals(List.of(2, 3), second.stream().map(BulkRowResponse::index).toList());
+        assertEquals(List.of("Jack", "Jill"), chunks.get(2).stream().map(EmployeeRequest::firstName).toList());
+        assertEquals(ImportStatus.COMPLETED, status.getStatus());
+        assertEquals(4, status.getCommittedRows());
+    }
+
+    @Test
+    void importRows_ShouldCommitPendingRowsAndStopAtUnreadableRow() throws IOException {
+        String body = """
+                {"firstName":"John","lastName":"Doe","phoneNumber":"+375291111111","email":"john@example.com"}
+                {"firstName":"Jane","lastName":
+                """;
+        EmployeeImportServiceImpl service = service(10);
+        ImportStatus status = service.begin(null);
+
+        List<BulkRowResponse> rows = run(service, status, body, ImportFormat.NDJSON);
+
+        assertEquals(BulkRowStatus.CREATED, rows.get(0).status());
+        assertEquals(BulkRowStatus.INVALID, rows.get(1).status());
+        assertEquals(1, rows.get(1).index());
+        assertEquals(ImportStatus.FAILED, status.getStatus());
+        assertEquals(1, status.getCommittedRows());
+    }
+
+    @Test
+    void begin_ShouldRejectUnknownAndRunningImports() {
+        EmployeeImportServiceImpl service = service(10);
+        ImportStatus status = service.begin(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.begin("missing"));
+        assertThrows(ConflictException.class, () -> service.begin(status.getId()));
+    }
+
+    @Test
+    void begin_ShouldForgetImportsFinishedLongerThanRetention() throws IOException {
+        EmployeeImportServiceImpl service = new EmployeeImportServiceImpl(
+                bulkWriter, validator, objectMapper, 10, Duration.ZERO, 100);
+        ImportStatus finished = service.begin(null);
+        run(service, finished, NDJSON, ImportFormat.NDJSON);
+        ImportStatus running = service.begin(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getStatus(finished.getId()));
+        assertSame(running, service.getStatus(running.getId()));
+    }
+
+    @Test
+    void begin_WhenTrackingLimitReached_ShouldDropOldestFinishedOrReject() throws IOException {
+        EmployeeImportServiceImpl service = new EmployeeImportServiceImpl(
+                bulkWriter, validator, objectMapper, 10, Duration.ofHours(1), 2);
+        ImportStatus finished = service.begin(null);
+        run(service, finished, NDJSON, ImportFormat.NDJSON);
+        ImportStatus running = service.begin(null);
+        ImportStatus next = service.begin(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getStatus(finished.getId()));
+        assertSame(running, service.getStatus(running.getId()));
+        assertSame(next, service.getStatus(next.getId()));
+        assertThrows(ConflictException.class, () -> service.begin(null));
+    }
+}
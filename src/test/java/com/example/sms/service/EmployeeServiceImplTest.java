@@ -1,26 +1,46 @@
 package com.example.sms.service;
 
 import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.dto.response.EmployeeNameResponse;
 import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.EmployeeSummaryResponse;
+import com.example.sms.dto.response.PageResponse;
 import com.example.sms.entity.Assignment;
 import com.example.sms.entity.Employee;
+import com.example.sms.exception.BadRequestException;
 import com.example.sms.exception.ConflictException;
+import com.example.sms.exception.ResourceNotFoundException;
 import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.model.LookupField;
+import com.example.sms.model.NameSearchKey;
+import com.example.sms.model.PageCursor;
+import com.example.sms.model.PrefixCursor;
 import com.example.sms.repository.AssignmentRepository;
 import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.service.implementation.EmployeeBulkWriter;
+import com.example.sms.service.implementation.EmployeeLookupIndex;
+import com.example.sms.service.implementation.EmployeeNameIndex;
 import com.example.sms.service.implementation.EmployeeServiceImpl;
-import com.example.sms.utils.cache.Cache;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import com.example.sms.utils.search.PrefixIndex;
+import com.example.sms.utils.search.TrigramIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,7 +50,16 @@ import static org.mockito.Mockito.*;
 class EmployeeServiceImplTest {
 
     @Mock
-    private Cache<Long, EmployeeResponse> cache;
+    private RegionCacheManager cacheManager;
+
+    @Mock
+    private RegionCache cache;
+
+    @Mock
+    private RegionCache missingIds;
+
+    @Mock
+    private RegionCache searchCache;
 
     @Mock
     private EmployeeRepository employeeRepository;
@@ -41,7 +70,15 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
-    @InjectMocks
+    @Mock
+    private EmployeeBulkWriter bulkWriter;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private EmployeeLookupIndex lookupIndex;
+
     private EmployeeServiceImpl employeeService;
 
     private Employee employee;
@@ -51,6 +88,14 @@ class EmployeeServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        when(cacheManager.getCache(CacheNames.EMPLOYEES)).thenReturn(cache);
+        when(cacheManager.getCache(CacheNames.MISSING_EMPLOYEES)).thenReturn(missingIds);
+        when(cacheManager.getCache(CacheNames.EMPLOYEE_SEARCH)).thenReturn(searchCache);
+        when(searchCache.get(any(), any(Callable.class)))
+                .thenAnswer(invocation -> invocation.<Callable<?>>getArgument(1).call());
+        employeeService = new EmployeeServiceImpl(cacheManager, employeeRepository, employeeMapper, assignmentRepository,
+                bulkWriter, nameIndex, lookupIndex);
+
         employee = new Employee();
         employee.setId(1L);
         employee.setFirstName("John");
@@ -67,35 +112,130 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void getAll_ShouldReturnListOfEmployees() {
-        when(employeeRepository.findAll()).thenReturn(List.of(employee));
-        when(employeeMapper.toEmployeeResponseList(List.of(employee))).thenReturn(List.of(employeeResponse));
+    void getPage_WhenMoreRowsExist_ShouldReturnPageAndCursor() {
+        when(employeeRepository.findIdsAfter(Long.MIN_VALUE, PageRequest.of(0, 2))).thenReturn(List.of(1L, 3L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of(1L, employeeResponse));
 
-        List<EmployeeResponse> responses = employeeService.getAll();
+        PageResponse<EmployeeResponse> page = employeeService.getPage(null, 1, "asc");
 
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        verify(employeeRepository).findAll();
-        verify(employeeMapper).toEmployeeResponseList(List.of(employee));
+        assertEquals(List.of(employeeResponse), page.items());
+        assertEquals(new PageCursor(1L, false), PageCursor.decode(page.nextCursor()));
+        verify(employeeRepository, never()).findAll();
     }
 
     @Test
-    void getById_WhenEmployeeExistsInCache_ShouldReturnEmployee() {
-        when(cache.containsKey(1L)).thenReturn(true);
-        when(cache.get(1L)).thenReturn(employeeResponse);
+    void getPage_WithDescendingCursor_ShouldContinueBeforeLastId() {
+        String cursor = new PageCursor(5L, true).encode();
+        when(employeeRepository.findIdsBefore(5L, PageRequest.of(0, 11))).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of(1L, employeeResponse));
 
-        EmployeeResponse response = employeeService.getById(1L);
+        PageResponse<EmployeeResponse> page = employeeService.getPage(cursor, 10, "asc");
 
-        assertNotNull(response);
-        assertEquals(1L, response.id());
-        verify(cache).containsKey(1L);
-        verify(cache).get(1L);
-        verify(employeeRepository, never()).findById(anyLong());
+        assertEquals(List.of(employeeResponse), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getPage_WithInvalidArguments_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> employeeService.getPage("not-a-cursor", 10, "asc"));
+        assertThrows(BadRequestException.class, () -> employeeService.getPage(null, 0, "asc"));
+        assertThrows(BadRequestException.class, () -> employeeService.getPage(null, 10, "name"));
+    }
+
+    @Test
+    void getSummaryPage_ShouldReadProjectionsWithoutLoadingEntities() {
+        EmployeeSummaryResponse first = new EmployeeSummaryResponse(1L, "John", "Doe", "+375291234567", "john.doe@example.com");
+        EmployeeSummaryResponse second = new EmployeeSummaryResponse(3L, "Jane", "Doe", "+375291234568", "jane.doe@example.com");
+        when(employeeRepository.findSummariesAfter(Long.MIN_VALUE, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+
+        PageResponse<EmployeeSummaryResponse> page = employeeService.getSummaryPage(null, 1, "asc");
+
+        assertEquals(List.of(first), page.items());
+        assertEquals(new PageCursor(1L, false), PageCursor.decode(page.nextCursor()));
+        verify(employeeRepository, never()).findAllById(any());
+        verify(cache, never()).getAll(any());
+    }
+
+    @Test
+    void searchSummariesByInitials_ShouldUseCachedEmployeesAndProjectTheRest() {
+        EmployeeSummaryResponse cachedSummary = new EmployeeSummaryResponse(1L, "John", "Doe", "+375291234567", "john.doe@example.com");
+        EmployeeSummaryResponse loadedSummary = new EmployeeSummaryResponse(4L, "John", "Doe", "+375291234569", "john.d@example.com");
+        when(employeeRepository.findIdsByName("JOHN", "DOE")).thenReturn(List.of(4L, 1L));
+        when(cache.getAll(List.of(4L, 1L))).thenReturn(Map.of(1L, employeeResponse));
+        when(employeeMapper.toEmployeeSummary(employeeResponse)).thenReturn(cachedSummary);
+        when(employeeRepository.findSummariesByIdIn(List.of(4L))).thenReturn(List.of(loadedSummary));
+
+        List<EmployeeSummaryResponse> responses = employeeService.searchSummariesByInitials("John", "Doe");
+
+        assertEquals(List.of(loadedSummary, cachedSummary), responses);
+        verify(employeeRepository, never()).findAllById(any());
+        verify(cache, never()).putAll(any());
     }
 
     @Test
-    void getById_WhenEmployeeExistsNotInCache_ShouldFetchAndCache() {
-        when(cache.containsKey(1L)).thenReturn(false);
+    void autocomplete_ShouldAnswerFromNameIndex() {
+        when(nameIndex.search("jo", 10)).thenReturn(List.of(new TrigramIndex.Match(1L, "John", "Doe")));
+
+        List<EmployeeNameResponse> responses = employeeService.autocomplete("jo", 10);
+
+        assertEquals(List.of(new EmployeeNameResponse(1L, "John", "Doe")), responses);
+        verifyNoInteractions(employeeRepository, cache);
+        assertThrows(BadRequestException.class, () -> employeeService.autocomplete("jo", 51));
+    }
+
+    @Test
+    void searchByPrefix_ShouldPageByKeyAndResolveSummaries() {
+        EmployeeSummaryResponse summary = new EmployeeSummaryResponse(1L, "John", "Doe", "+375291234567", "john.doe@example.com");
+        PrefixIndex.Hit hit = new PrefixIndex.Hit("+375291234567", 1L);
+        PrefixIndex.Hit after = new PrefixIndex.Hit("+375291000000", 9L);
+        when(lookupIndex.search(LookupField.PHONE_NUMBER, "+37529", after, 2))
+                .thenReturn(List.of(hit, new PrefixIndex.Hit("+375291234568", 2L)));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of());
+        when(employeeRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary));
+
+        PageResponse<EmployeeSummaryResponse> page = employeeService.searchByPrefix(LookupField.PHONE_NUMBER,
+                "+37529", new PrefixCursor("+375291000000", 9L).encode(), 1);
+
+        assertEquals(List.of(summary), page.items());
+        assertEquals(new PrefixCursor("+375291234567", 1L), PrefixCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void searchByPrefix_WithInvalidArguments_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> employeeService.searchByPrefix(LookupField.EMAIL, " ", null, 10));
+        assertThrows(BadRequestException.class,
+                () -> employeeService.searchByPrefix(LookupField.EMAIL, "john", "@@", 10));
+        assertThrows(BadRequestException.class,
+                () -> employeeService.searchByPrefix(LookupField.EMAIL, "john", null, 0));
+    }
+
+    @Test
+    void searchSimilar_ShouldKeepRankingOrder() {
+        EmployeeResponse other = new EmployeeResponse(2L, "Jon", "Doe", "+375291234568", "jon.doe@example.com", List.of());
+        when(employeeRepository.findIdsBySimilarName("Jhon Doe", 10)).thenReturn(List.of(2L, 1L));
+        when(cache.getAll(List.of(2L, 1L))).thenReturn(Map.of(1L, employeeResponse, 2L, other));
+
+        assertEquals(List.of(other, employeeResponse), employeeService.searchSimilar(" Jhon Doe ", 10));
+    }
+
+    @Test
+    void searchSimilar_WithInvalidArguments_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> employeeService.searchSimilar(" ", 10));
+        assertThrows(BadRequestException.class, () -> employeeService.searchSimilar("John", 0));
+        assertThrows(BadRequestException.class, () -> employeeService.searchSimilar("John", 101));
+        verify(employeeRepository, never()).findIdsBySimilarName(any(), anyInt());
+    }
+
+    @Test
+    void searchSummariesByInitials_WhenNothingFound_ShouldThrowNotFound() {
+        when(employeeRepository.findIdsByName("JOHN", null)).thenReturn(List.of());
+
+        assertThrows(ResponseStatusException.class, () -> employeeService.searchSummariesByInitials("John", null));
+    }
+
+    @Test
+    void getById_WhenEmployeeExists_ShouldReturnEmployee() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
         when(employeeMapper.toEmployeeResponse(employee)).thenReturn(employeeResponse);
 
@@ -103,25 +243,33 @@ class EmployeeServiceImplTest {
 
         assertNotNull(response);
         assertEquals(1L, response.id());
-        verify(cache).containsKey(1L);
         verify(employeeRepository).findById(1L);
-        verify(employeeMapper, times(2)).toEmployeeResponse(employee);
-        verify(cache).put(1L, employeeResponse);
+        verify(employeeMapper).toEmployeeResponse(employee);
     }
 
     @Test
     void getById_WhenEmployeeNotFound_ShouldThrowException() {
-        when(cache.containsKey(1L)).thenReturn(false);
         when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
 
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> employeeService.getById(1L));
 
-        assertEquals("404 NOT_FOUND \"Employee not found with such id = 1\"", exception.getMessage());
+        assertEquals("Employee not found with such id = 1", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
         verify(employeeRepository).findById(1L);
+        verify(missingIds).put(1L, Boolean.TRUE);
         verifyNoInteractions(employeeMapper);
     }
 
+    @Test
+    void getById_WhenIdKnownMissing_ShouldNotQueryRepository() {
+        when(missingIds.get(1L)).thenReturn(new SimpleValueWrapper(Boolean.TRUE));
+
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getById(1L));
+
+        verify(employeeRepository, never()).findById(any());
+    }
+
     @Test
     void create_WhenPhoneNumberExists_ShouldThrowConflictException() {
         when(employeeRepository.existsByPhoneNumber("+375291234567")).thenReturn(true);
@@ -165,6 +313,10 @@ class EmployeeServiceImplTest {
         verify(employeeRepository).save(employee);
         verify(employeeMapper).toEmployee(employeeRequest);
         verify(employeeMapper).toEmployeeResponse(employee);
+        verify(missingIds).evict(1L);
+        verify(searchCache).evictIf(any());
+        verify(nameIndex).put(1L, "John", "Doe");
+        verify(lookupIndex).put(1L, "John", "Doe", "+375291234567", "john.doe@example.com");
     }
 
     @Test
@@ -235,143 +387,180 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void update_WhenEmployeeInCache_ShouldUpdateCache() {
+    void update_WhenNameChanges_ShouldEvictSearchesForOldAndNewName() {
         EmployeeRequest updateRequest = new EmployeeRequest("Jane", "Smith", "+375299876543", "jane.smith@example.com");
-        when(employeeRepository.existsByPhoneNumber(updateRequest.phoneNumber())).thenReturn(false);
-        when(employeeRepository.existsByEmail(updateRequest.email())).thenReturn(false);
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeMapper.partialUpdate(updateRequest, employee)).thenReturn(employee);
+        when(employeeMapper.partialUpdate(updateRequest, employee)).thenAnswer(invocation -> {
+            employee.setFirstName("Jane");
+            employee.setLastName("Smith");
+            return employee;
+        });
         when(employeeRepository.save(employee)).thenReturn(employee);
-        when(employeeMapper.toEmployeeResponse(employee)).thenReturn(employeeResponse);
-        when(cache.containsKey(1L)).thenReturn(true);
 
-        EmployeeResponse response = employeeService.update(1L, updateRequest);
+        employeeService.update(1L, updateRequest);
 
-        assertNotNull(response);
-        verify(cache).containsKey(1L);
-        verify(cache).put(1L, employeeResponse);
-        verify(employeeRepository).save(employee);
+        verify(searchCache, times(2)).evictIf(any());
+    }
+
+    @Test
+    void update_WhenNameUnchanged_ShouldKeepCachedSearches() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeMapper.partialUpdate(employeeRequest, employee)).thenReturn(employee);
+        when(employeeRepository.save(employee)).thenReturn(employee);
+
+        employeeService.update(1L, employeeRequest);
+
+        verify(searchCache, never()).evictIf(any());
     }
 
     @Test
     void delete_WhenEmployeeExists_ShouldDeleteEmployee() {
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(employeeRepository).deleteById(1L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
 
         employeeService.delete(1L);
 
-        verify(employeeRepository).existsById(1L);
-        verify(employeeRepository).deleteById(1L);
-        verify(cache).remove(1L);
+        verify(employeeRepository).delete(employee);
+        verify(searchCache).evictIf(any());
+        verify(nameIndex).remove(1L);
+        verify(lookupIndex).remove(1L);
     }
 
     @Test
     void delete_WhenEmployeeNotFound_ShouldThrowException() {
-        when(employeeRepository.existsById(1L)).thenReturn(false);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> employeeService.delete(1L));
 
         assertEquals("404 NOT_FOUND \"Employee not found with id = 1\"", exception.getMessage());
-        verify(employeeRepository).existsById(1L);
-        verify(employeeRepository, never()).deleteById(anyLong());
+        verify(employeeRepository, never()).delete(any());
+        verify(searchCache, never()).evictIf(any());
     }
 
     @Test
     void searchEmployeesByFirstName_WhenFound_ShouldReturnEmployees() {
-        when(employeeRepository.findByFirstName("John")).thenReturn(List.of(employee));
+        when(employeeRepository.findIdsByName("JOHN", null)).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of()); // Cache miss
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
         when(employeeMapper.toEmployeeResponseList(List.of(employee))).thenReturn(List.of(employeeResponse));
-        when(cache.get(1L)).thenReturn(null); // Cache miss
 
         List<EmployeeResponse> responses = employeeService.searchEmployeesByFirstName("John");
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository).findByFirstName("John");
-        verify(cache).put(1L, employeeResponse);
+        verify(employeeRepository).findIdsByName("JOHN", null);
+        verify(cache).putAll(Map.of(1L, employeeResponse));
     }
 
     @Test
     void searchEmployeesByFirstName_WhenFoundInCache_ShouldReturnCachedEmployees() {
-        when(employeeRepository.findByFirstName("John")).thenReturn(List.of(employee));
-        when(employeeMapper.toEmployeeResponseList(List.of(employee))).thenReturn(List.of(employeeResponse));
-        when(cache.get(1L)).thenReturn(employeeResponse); // Cache hit
+        when(employeeRepository.findIdsByName("JOHN", null)).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of(1L, employeeResponse)); // Cache hit
 
         List<EmployeeResponse> responses = employeeService.searchEmployeesByFirstName("John");
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository).findByFirstName("John");
-        verify(cache, never()).put(anyLong(), any());
+        verify(employeeRepository).findIdsByName("JOHN", null);
+        verify(employeeRepository, never()).findAllById(any());
+        verify(cache, never()).putAll(any());
+    }
+
+    @Test
+    void searchEmployeesByFirstName_ShouldCacheIdsUnderNormalizedName() {
+        when(searchCache.get(eq(NameSearchKey.of("john ", null)), any(Callable.class))).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of(1L, employeeResponse));
+
+        List<EmployeeResponse> responses = employeeService.searchEmployeesByFirstName(" John");
+
+        assertEquals(List.of(employeeResponse), responses);
+        verify(employeeRepository, never()).findIdsByName(any(), any());
+    }
+
+    @Test
+    void searchEmployeesByFirstName_WhenPartlyCached_ShouldLoadOnlyMisses() {
+        Employee other = new Employee();
+        other.setId(2L);
+        EmployeeResponse otherResponse = new EmployeeResponse(2L, "Johnny", "Roe", "+375297654321",
+                "johnny.roe@example.com", List.of());
+        when(employeeRepository.findIdsByName("JOHN", null)).thenReturn(List.of(1L, 2L));
+        when(cache.getAll(List.of(1L, 2L))).thenReturn(Map.of(1L, employeeResponse));
+        when(employeeRepository.findAllById(List.of(2L))).thenReturn(List.of(other));
+        when(employeeMapper.toEmployeeResponseList(List.of(other))).thenReturn(List.of(otherResponse));
+
+        List<EmployeeResponse> responses = employeeService.searchEmployeesByFirstName("John");
+
+        assertEquals(List.of(employeeResponse, otherResponse), responses);
+        verify(employeeRepository).findAllById(List.of(2L));
+        verify(cache).putAll(Map.of(2L, otherResponse));
     }
 
     @Test
     void searchEmployeesByFirstName_WhenNotFound_ShouldThrowException() {
-        when(employeeRepository.findByFirstName("John")).thenReturn(Collections.emptyList());
-        when(employeeMapper.toEmployeeResponseList(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(employeeRepository.findIdsByName("JOHN", null)).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> employeeService.searchEmployeesByFirstName("John"));
 
         assertEquals("404 NOT_FOUND \"Nothing found\"", exception.getMessage());
-        verify(employeeRepository).findByFirstName("John");
+        verify(employeeRepository).findIdsByName("JOHN", null);
     }
 
     @Test
     void searchEmployeesByLastName_WhenFound_ShouldReturnEmployees() {
-        when(employeeRepository.findByLastName("Doe")).thenReturn(List.of(employee));
+        when(employeeRepository.findIdsByName(null, "DOE")).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of()); // Cache miss
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
         when(employeeMapper.toEmployeeResponseList(List.of(employee))).thenReturn(List.of(employeeResponse));
-        when(cache.get(1L)).thenReturn(null); // Cache miss
 
         List<EmployeeResponse> responses = employeeService.searchEmployeesByLastName("Doe");
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository).findByLastName("Doe");
-        verify(cache).put(1L, employeeResponse);
+        verify(employeeRepository).findIdsByName(null, "DOE");
+        verify(cache).putAll(Map.of(1L, employeeResponse));
     }
 
     @Test
     void searchEmployeesByLastName_WhenNotFound_ShouldThrowException() {
-        when(employeeRepository.findByLastName("Doe")).thenReturn(Collections.emptyList());
-        when(employeeRepository.findByLastName("Doe")).thenReturn(Collections.emptyList());
-        when(employeeMapper.toEmployeeResponseList(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(employeeRepository.findIdsByName(null, "DOE")).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> employeeService.searchEmployeesByLastName("Doe"));
 
         assertEquals("404 NOT_FOUND \"Nothing found\"", exception.getMessage());
-        verify(employeeRepository).findByLastName("Doe");
+        verify(employeeRepository).findIdsByName(null, "DOE");
     }
 
     @Test
     void searchEmployeesByAssignmentId_WhenFound_ShouldReturnEmployees() {
-        when(employeeRepository.findEmployeesByAssignmentId(2L)).thenReturn(List.of(employee));
+        when(assignmentRepository.existsById(2L)).thenReturn(true);
+        when(employeeRepository.findIdsByAssignmentId(2L)).thenReturn(List.of(1L));
+        when(cache.getAll(List.of(1L))).thenReturn(Map.of()); // Cache miss
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
         when(employeeMapper.toEmployeeResponseList(List.of(employee))).thenReturn(List.of(employeeResponse));
-        when(cache.get(1L)).thenReturn(null); // Cache miss
 
         List<EmployeeResponse> responses = employeeService.searchEmployeesByAssignmentId(2L);
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository).findEmployeesByAssignmentId(2L);
-        verify(cache).put(1L, employeeResponse);
+        verify(employeeRepository).findIdsByAssignmentId(2L);
+        verify(cache).putAll(Map.of(1L, employeeResponse));
     }
 
     @Test
     void searchEmployeesByAssignmentId_WhenNotFound_ShouldThrowException() {
-        when(employeeRepository.findEmployeesByAssignmentId(2L)).thenReturn(Collections.emptyList());
-        when(employeeMapper.toEmployeeResponseList(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(employeeRepository.findIdsByAssignmentId(2L)).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> employeeService.searchEmployeesByAssignmentId(2L));
 
         assertEquals("404 NOT_FOUND \"Nothing found\"", exception.getMessage());
-        verify(employeeRepository).findEmployeesByAssignmentId(2L);
+        verify(employeeRepository).findIdsByAssignmentId(2L);
     }
 
     @Test
@@ -399,68 +588,11 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void bulkUpsertEmployees_WhenNewEmployee_ShouldCreate() {
-        when(employeeRepository.existsByPhoneNumber("+375291234567")).thenReturn(false);
-        when(employeeRepository.existsByEmail("john.doe@example.com")).thenReturn(false);
-        when(employeeMapper.toEmployee(employeeRequest)).thenReturn(employee);
-        when(employeeRepository.save(employee)).thenReturn(employee);
-        when(employeeMapper.toEmployeeResponse(employee)).thenReturn(employeeResponse);
-
-        List<EmployeeResponse> responses = employeeService.bulkUpsertEmployees(List.of(employeeRequest));
-
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository, times(2)).existsByPhoneNumber("+375291234567");
-        verify(employeeRepository, times(2)).existsByEmail("john.doe@example.com"); // Ожидаем 2 вызова
-        verify(employeeRepository).save(employee);
-    }
-
-    @Test
-    void bulkUpsertEmployees_WhenExistingEmployeeByPhone_ShouldUpdate() {
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(1L);
-        existingEmployee.setPhoneNumber("+375291234567");
-        existingEmployee.setEmail("old@example.com");
-        when(employeeRepository.existsByPhoneNumber("+375291234567")).thenReturn(true);
-        when(employeeRepository.existsByEmail("john.doe@example.com")).thenReturn(false);
-        when(employeeRepository.findAll()).thenReturn(List.of(existingEmployee));
-        when(employeeMapper.partialUpdate(employeeRequest, existingEmployee)).thenReturn(existingEmployee);
-        when(employeeRepository.save(existingEmployee)).thenReturn(existingEmployee);
-        when(employeeMapper.toEmployeeResponse(existingEmployee)).thenReturn(employeeResponse);
-
-        List<EmployeeResponse> responses = employeeService.bulkUpsertEmployees(List.of(employeeRequest));
-
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository).existsByPhoneNumber("+375291234567");
-        verify(employeeRepository, times(2)).existsByEmail("john.doe@example.com");
-        verify(employeeRepository).findAll();
-        verify(employeeRepository).save(existingEmployee);
-    }
-
-    @Test
-    void bulkUpsertEmployees_WhenExistingEmployeeByEmail_ShouldUpdate() {
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(1L);
-        existingEmployee.setPhoneNumber("old+375291234567");
-        existingEmployee.setEmail("john.doe@example.com");
-        when(employeeRepository.existsByPhoneNumber("+375291234567")).thenReturn(false);
-        when(employeeRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
-        when(employeeRepository.findAll()).thenReturn(List.of(existingEmployee));
-        when(employeeMapper.partialUpdate(employeeRequest, existingEmployee)).thenReturn(existingEmployee);
-        when(employeeRepository.save(existingEmployee)).thenReturn(existingEmployee);
-        when(employeeMapper.toEmployeeResponse(existingEmployee)).thenReturn(employeeResponse);
+    void bulkUpsertEmployees_ShouldDelegateToBulkWriter() {
+        List<BulkRowResponse> rows = List.of(new BulkRowResponse(0, BulkRowStatus.CREATED, employeeResponse, null));
+        when(bulkWriter.upsert(List.of(employeeRequest))).thenReturn(rows);
 
-        List<EmployeeResponse> responses = employeeService.bulkUpsertEmployees(List.of(employeeRequest));
-
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals(employeeResponse, responses.get(0));
-        verify(employeeRepository, times(2)).existsByPhoneNumber("+375291234567");
-        verify(employeeRepository).existsByEmail("john.doe@example.com");
-        verify(employeeRepository).findAll();
-        verify(employeeRepository).save(existingEmployee);
+        assertEquals(rows, employeeService.bulkUpsertEmployees(List.of(employeeRequest)));
+        verify(employeeRepository, never()).findAll();
     }
 }
\ No newline at end of file
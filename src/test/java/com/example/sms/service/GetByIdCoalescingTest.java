@@ -0,0 +1,173 @@
+package com.example.sms.service;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.entity.Assignment;
+import com.example.sms.entity.Employee;
+import com.example.sms.exception.ResourceNotFoundException;
+import com.example.sms.mapper.AssignmentMapper;
+import com.example.sms.mapper.EmployeeMapper;
+import com.example.sms.mapper.FeedBackMapper;
+import com.example.sms.repository.AssignmentRepository;
+import com.example.sms.repository.EmployeeRepository;
+import com.example.sms.repository.FeedBackRepository;
+import com.example.sms.service.implementation.AssignmentServiceImpl;
+import com.example.sms.service.implementation.EmployeeBulkWriter;
+import com.example.sms.service.implementation.EmployeeLookupIndex;
+import com.example.sms.service.implementation.EmployeeNameIndex;
+import com.example.sms.service.implementation.EmployeeServiceImpl;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.CacheSpec;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.RegionCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache.ValueRetrievalException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the services the way {@code @Cacheable(sync = true)} does, through
+ * {@link RegionCache#get(Object, Callable)}, with many concurrent misses on one id.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GetByIdCoalescingTest {
+
+    private static final int REQUESTS = 1_000;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private AssignmentMapper assignmentMapper;
+
+    @Mock
+    private FeedBackMapper feedBackMapper;
+
+    @Mock
+    private FeedBackRepository feedBackRepository;
+
+    @Mock
+    private EmployeeBulkWriter bulkWriter;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private EmployeeLookupIndex lookupIndex;
+
+    private RegionCacheManager cacheManager;
+    private EmployeeServiceImpl employeeService;
+    private AssignmentServiceImpl assignmentService;
+    private CountDownLatch arrived;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new RegionCacheManager(Map.of(), CacheSpec.ofCapacity(100));
+        employeeService = new EmployeeServiceImpl(cacheManager, employeeRepository, employeeMapper, assignmentRepository,
+                bulkWriter, nameIndex, lookupIndex);
+        assignmentService = new AssignmentServiceImpl(cacheManager, assignmentRepository, assignmentMapper,
+                employeeRepository, feedBackMapper, feedBackRepository);
+        arrived = new CountDownLatch(REQUESTS);
+    }
+
+    @Test
+    void employeeGetById_WhenMissedConcurrently_ShouldLoadOnce() throws Exception {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", "+375291234567",
+                "john.doe@example.com", List.of());
+        when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+            arrived.await(10, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        when(employeeMapper.toEmployeeResponse(employee)).thenReturn(response);
+        RegionCache cache = cacheManager.getCache(CacheNames.EMPLOYEES);
+
+        List<Object> results = fireConcurrently(() -> cache.get(1L, () -> employeeService.getById(1L)));
+
+        assertEquals(REQUESTS, results.size());
+        results.forEach(result -> assertSame(response, result));
+        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeMapper, times(1)).toEmployeeResponse(employee);
+    }
+
+    @Test
+    void assignmentGetById_WhenMissedConcurrently_ShouldLoadOnce() throws Exception {
+        Assignment assignment = new Assignment();
+        assignment.setId(1L);
+        AssignmentResponse response = new AssignmentResponse(1L, "Report", "Quarterly report", List.of());
+        when(assignmentRepository.findById(1L)).thenAnswer(invocation -> {
+            arrived.await(10, TimeUnit.SECONDS);
+            return Optional.of(assignment);
+        });
+        when(assignmentMapper.toAssignmentResponse(assignment)).thenReturn(response);
+        RegionCache cache = cacheManager.getCache(CacheNames.ASSIGNMENTS);
+
+        List<Object> results = fireConcurrently(() -> cache.get(1L, () -> assignmentService.getById(1L)));
+
+        results.forEach(result -> assertSame(response, result));
+        verify(assignmentRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getById_WhenLoadFails_ShouldPassFailureToWaitersAndNotCache() throws Exception {
+        when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+            arrived.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        RegionCache cache = cacheManager.getCache(CacheNames.EMPLOYEES);
+
+        List<Object> results = fireConcurrently(() -> {
+            try {
+                return cache.get(1L, () -> employeeService.getById(1L));
+            } catch (ValueRetrievalException e) {
+                return e.getCause();
+            }
+        });
+
+        results.forEach(result -> assertInstanceOf(ResourceNotFoundException.class, result));
+        assertNull(cache.get(1L));
+    }
+
+    private List<Object> fireConcurrently(Callable<Object> request) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return request.call();
+                }));
+            }
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.SmsApplication;
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.BulkRowResponse;
+import com.example.sms.model.BulkRowStatus;
+import com.example.sms.repository.EmployeeRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts an embedded PostgreSQL and the application against it, fills employees with the
+ * given number of stored rows (100k by default) and matches a batch of upsert requests (10k by
+ * default, half of them updates) against it through the real {@link EmployeeRepository}: once
+ * with one lookup query per row, and once with one IN query per chunk as
+ * {@link EmployeeBulkWriter} does. It then writes the batch through the bulk writer. Prints the
+ * time and the number of rows read or written by each pass.
+ */
+final class BulkUpsertBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int RUNS = 3;
+
+    private BulkUpsertBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int stored = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SmsApplication.class)
+                     .web(WebApplicationType.NONE)
+                     .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "--spring.datasource.username=postgres",
+                             "--spring.jpa.hibernate.ddl-auto=create",
+                             "--spring.flyway.enabled=false",
+                             "--sms.cache.snapshot.enabled=false",
+                             "--sms.bulk.batch-size=" + CHUNK_SIZE)) {
+
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+            jdbc.update("INSERT INTO employees (id, version, first_name, last_name, phone_number, email) "
+                    + "SELECT g, 0, 'First' || g, 'Last' || g, '+37529' || lpad(g::text, 7, '0'), "
+                    + "'employee' || g || '@example.com' FROM generate_series(0, ? - 1) g", stored);
+            jdbc.execute("ALTER SEQUENCE employees_seq RESTART WITH " + (stored + 1_000));
+            jdbc.execute("ANALYZE employees");
+
+            List<EmployeeRequest> batch = new ArrayList<>(requests);
+            for (long i = 0; i < requests; i++) {
+                long id = i % 2 == 0 ? i * (stored / requests) % stored : stored + i;
+                batch.add(new EmployeeRequest("First" + id, "Last" + id, phone(id), "employee" + id + "@example.com"));
+            }
+
+            EmployeeRepository repository = context.getBean(EmployeeRepository.class);
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                long perRowRead = perRowLookups(repository, batch);
+                long perRow = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                long chunkedRead = chunkedLookups(repository, batch);
+                long chunked = System.nanoTime() - start;
+
+                System.out.printf("requests=%d stored=%d per-row lookups: %dms, %d rows read | "
+                                + "chunked lookups: %dms, %d rows read%n",
+                        requests, stored, perRow / 1_000_000, perRowRead, chunked / 1_000_000, chunkedRead);
+            }
+
+            long start = System.nanoTime();
+            List<BulkRowResponse> rows = context.getBean(EmployeeBulkWriter.class).upsert(batch);
+            long upsert = System.nanoTime() - start;
+            System.out.printf("bulk upsert: %dms, created=%d updated=%d%n", upsert / 1_000_000,
+                    count(rows, BulkRowStatus.CREATED), count(rows, BulkRowStatus.UPDATED));
+        }
+    }
+
+    private static long perRowLookups(EmployeeRepository repository, List<EmployeeRequest> batch) {
+        long rowsRead = 0;
+        for (EmployeeRequest request : batch) {
+            rowsRead += repository.findByPhoneNumberInOrEmailIn(
+                    Set.of(request.phoneNumber()), Set.of(request.email())).size();
+        }
+        return rowsRead;
+    }
+
+    private static long chunkedLookups(EmployeeRepository repository, List<EmployeeRequest> batch) {
+        long rowsRead = 0;
+        for (int from = 0; from < batch.size(); from += CHUNK_SIZE) {
+            List<EmployeeRequest> chunk = batch.subList(from, Math.min(from + CHUNK_SIZE, batch.size()));
+            Set<String> phoneNumbers = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            for (EmployeeRequest request : chunk) {
+                phoneNumbers.add(request.phoneNumber());
+                emails.add(request.email());
+            }
+            rowsRead += repository.findByPhoneNumberInOrEmailIn(phoneNumbers, emails).size();
+        }
+        return rowsRead;
+    }
+
+    private static long count(List<BulkRowResponse> rows, BulkRowStatus status) {
+        return rows.stream().filter(row -> row.status() == status).count();
+    }
+
+    private static String phone(long id) {
+        return String.format("+37529%07d", id);
+    }
+}
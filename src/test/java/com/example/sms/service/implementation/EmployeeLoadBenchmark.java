@@ -0,0 +1,85 @@
+package com.example.sms.service.implementation;
+
+import com.example.sms.SmsApplication;
+import com.example.sms.dto.request.EmployeeLoadRequest;
+import com.example.sms.dto.request.EmployeeRequest;
+import com.example.sms.dto.response.EmployeeLoadResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts an embedded PostgreSQL and the application against it, then inserts the given
+ * number of new employees (100k by default) through the JPA {@link EmployeeBulkWriter} and
+ * as many through the {@link EmployeeCopyLoader}, and finally reloads the COPY file so every
+ * row is an update. Prints rows per second for each pass.
+ */
+final class EmployeeLoadBenchmark {
+
+    private EmployeeLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SmsApplication.class)
+                     .web(WebApplicationType.NONE)
+                     .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "--spring.datasource.username=postgres",
+                             "--spring.jpa.hibernate.ddl-auto=create",
+                             "--sms.cache.snapshot.enabled=false",
+                             "--sms.bulk.copy-load.enabled=true")) {
+
+            EmployeeBulkWriter bulkWriter = context.getBean(EmployeeBulkWriter.class);
+            EmployeeCopyLoader copyLoader = context.getBean(EmployeeCopyLoader.class);
+
+            List<EmployeeRequest> requests = new ArrayList<>(rows);
+            for (long id = 0; id < rows; id++) {
+                requests.add(new EmployeeRequest("First" + id, "Last" + id, phone(id), email(id)));
+            }
+            long start = System.nanoTime();
+            bulkWriter.upsert(requests);
+            print("jpa insert", rows, System.nanoTime() - start);
+
+            byte[] ndjson = ndjson(rows, rows);
+            start = System.nanoTime();
+            EmployeeLoadResponse inserted = copyLoader.load(new ByteArrayInputStream(ndjson));
+            print("copy insert", inserted.created(), System.nanoTime() - start);
+
+            start = System.nanoTime();
+            EmployeeLoadResponse updated = copyLoader.load(new ByteArrayInputStream(ndjson));
+            print("copy update", updated.updated(), System.nanoTime() - start);
+        }
+    }
+
+    private static byte[] ndjson(long from, int rows) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long id = from; id < from + rows; id++) {
+            mapper.writeValue(out, new EmployeeLoadRequest("First" + id, "Last" + id, phone(id), email(id), List.of()));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static void print(String label, int rows, long nanos) {
+        System.out.printf("%-12s rows=%d time=%dms rows/s=%d%n",
+                label, rows, nanos / 1_000_000, rows * 1_000_000_000L / Math.max(1, nanos));
+    }
+
+    private static String phone(long id) {
+        return String.format("+37529%07d", id);
+    }
+
+    private static String email(long id) {
+        return "employee" + id + "@example.com";
+    }
+}
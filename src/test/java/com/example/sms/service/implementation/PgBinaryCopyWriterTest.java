@@ -0,0 +1,80 @@
+package com.example.sms.service.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgBinaryCopyWriterTest {
+
+    @Test
+    void writer_ShouldFrameRowsWithHeaderAndTrailer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(bytes)) {
+            writer.startRow(3);
+            writer.writeInt(7);
+            writer.writeText("Иван");
+            writer.writeText(null);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertArrayEquals(PgBinaryCopyWriter.SIGNATURE, in.readNBytes(PgBinaryCopyWriter.SIGNATURE.length));
+        assertEquals(0, in.readInt());
+        assertEquals(0, in.readInt());
+        assertEquals(3, in.readShort());
+        assertEquals(4, in.readInt());
+        assertEquals(7, in.readInt());
+        byte[] name = "Иван".getBytes(StandardCharsets.UTF_8);
+        assertEquals(name.length, in.readInt());
+        assertArrayEquals(name, in.readNBytes(name.length));
+        assertEquals(-1, in.readInt());
+        assertEquals(-1, in.readShort());
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void writeBigintArray_ShouldEncodeOneDimensionalArray() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(bytes)) {
+            writer.startRow(1);
+            writer.writeBigintArray(Arrays.asList(5L, null));
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.skipNBytes(PgBinaryCopyWriter.SIGNATURE.length + 2 * Integer.BYTES + Short.BYTES);
+        assertEquals(5 * Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(20, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(8, in.readInt());
+        assertEquals(5L, in.readLong());
+        assertEquals(-1, in.readInt());
+        assertEquals(-1, in.readShort());
+    }
+
+    @Test
+    void writeBigintArray_ShouldWriteEmptyListAsZeroDimensions() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(bytes)) {
+            writer.startRow(1);
+            writer.writeBigintArray(List.of());
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.skipNBytes(PgBinaryCopyWriter.SIGNATURE.length + 2 * Integer.BYTES + Short.BYTES);
+        assertEquals(3 * Integer.BYTES, in.readInt());
+        assertEquals(0, in.readInt());
+        assertEquals(0, in.readInt());
+        assertEquals(20, in.readInt());
+        assertEquals(-1, in.readShort());
+    }
+}
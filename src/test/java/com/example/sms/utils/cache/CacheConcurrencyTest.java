@@ -0,0 +1,88 @@
+package com.example.sms.utils.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void get_WhenCalledConcurrently_ShouldNotLoseFrequencyUpdates() throws Exception {
+        Cache<Long, String> cache = new Cache<>(1_024);
+        cache.put(1L, "one");
+        int readsPerThread = 5_000;
+
+        runConcurrently(() -> {
+            for (int i = 0; i < readsPerThread; i++) {
+                assertEquals("one", cache.get(1L));
+            }
+        });
+
+        assertEquals(1 + THREADS * readsPerThread, cache.frequency(1L));
+    }
+
+    @Test
+    void mixedOperations_WhenRunConcurrently_ShouldKeepCacheConsistent() throws Exception {
+        int capacity = 512;
+        Cache<Long, Long> cache = new Cache<>(capacity);
+        int operationsPerThread = 20_000;
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < operationsPerThread; i++) {
+                long key = random.nextLong(capacity * 4L);
+                switch (random.nextInt(4)) {
+                    case 0 -> cache.put(key, key);
+                    case 1 -> cache.remove(key);
+                    default -> {
+                        Long value = cache.get(key);
+                        if (value != null) {
+                            assertEquals(key, value);
+                        }
+                    }
+                }
+            }
+        });
+
+        assertTrue(cache.size() <= capacity);
+        for (long key = 0; key < capacity * 4L; key++) {
+            Long value = cache.get(key);
+            assertEquals(value != null, cache.containsKey(key));
+        }
+        for (int i = 0; i < capacity * 2; i++) {
+            cache.put(capacity * 4L + i, 0L);
+        }
+        assertEquals(capacity, cache.size());
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sms.utils.cache;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures a put into a full cache, which has to evict one entry, as capacity grows from 10^3
+ * to 10^6 entries. All entries sit in one segment so that a scan over the entries would show.
+ * The time per put should stay about the same for every capacity. Run {@link #main} on the
+ * test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CacheEvictionBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int capacity;
+
+    @Param({"LFU", "W_TINY_LFU"})
+    public EvictionPolicy evictionPolicy;
+
+    private Cache<Long, Long> cache;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        cache = new Cache<>(new CacheSpec(capacity, 1, evictionPolicy));
+        for (next = 0; next < capacity; next++) {
+            cache.put(next, next);
+        }
+    }
+
+    @Benchmark
+    public void putEvicting() {
+        long key = next++;
+        cache.put(key, key);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheEvictionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
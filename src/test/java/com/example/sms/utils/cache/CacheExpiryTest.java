@@ -0,0 +1,138 @@
+package com.example.sms.utils.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheExpiryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    private Cache<Long, String> cache(Duration expireAfterWrite, Duration expireAfterAccess,
+                                      Duration refreshAfterWrite) {
+        return new Cache<>(new CacheSpec(1_000, CacheSpec.DEFAULT_CONCURRENCY_LEVEL, EvictionPolicy.W_TINY_LFU,
+                expireAfterWrite, expireAfterAccess, refreshAfterWrite), ticker);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void get_WhenWriteTtlPassed_ShouldMiss() {
+        Cache<Long, String> cache = cache(Duration.ofMinutes(10), null, null);
+        cache.put(1L, "one");
+
+        advance(Duration.ofMinutes(9));
+        assertEquals("one", cache.get(1L));
+        advance(Duration.ofMinutes(1));
+
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.stats().expirationCount());
+    }
+
+    @Test
+    void get_WhenAccessedWithinIdleTime_ShouldStayCached() {
+        Cache<Long, String> cache = cache(null, Duration.ofSeconds(30), null);
+        cache.put(1L, "one");
+
+        for (int i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(20));
+            assertEquals("one", cache.get(1L));
+        }
+        advance(Duration.ofSeconds(30));
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void cleanUp_ShouldExpireEntriesAcrossWheelLevels() {
+        Cache<Long, String> cache = cache(null, null, null);
+        Cache<Long, String> expiring = cache(Duration.ofHours(3), null, null);
+        for (long key = 0; key < 500; key++) {
+            expiring.put(key, "v" + key);
+            cache.put(key, "v" + key);
+        }
+
+        advance(Duration.ofHours(2));
+        expiring.cleanUp();
+        assertEquals(500, expiring.size());
+
+        advance(Duration.ofHours(1));
+        expiring.cleanUp();
+        assertEquals(0, expiring.size());
+        assertEquals(500, expiring.stats().expirationCount());
+        assertEquals(500, cache.size());
+    }
+
+    @Test
+    void put_WhenEntryRewritten_ShouldRestartWriteTtl() {
+        Cache<Long, String> cache = cache(Duration.ofSeconds(10), null, null);
+        cache.put(1L, "one");
+        advance(Duration.ofSeconds(8));
+        cache.put(1L, "uno");
+        advance(Duration.ofSeconds(8));
+
+        cache.cleanUp();
+
+        assertEquals("uno", cache.get(1L));
+    }
+
+    @Test
+    void get_WhenRefreshDue_ShouldServeOldValueAndReloadInBackground() {
+        Cache<Long, String> cache = cache(Duration.ofMinutes(10), null, Duration.ofMinutes(8));
+        List<Runnable> pending = new ArrayList<>();
+        AtomicInteger loads = new AtomicInteger();
+        cache.refreshWith(key -> "fresh-" + loads.incrementAndGet(), pending::add);
+        cache.put(1L, "stale");
+
+        advance(Duration.ofMinutes(9));
+        assertEquals("stale", cache.get(1L));
+        assertEquals("stale", cache.get(1L));
+        assertEquals(1, pending.size());
+
+        pending.getFirst().run();
+        advance(Duration.ofMinutes(5));
+
+        assertEquals("fresh-1", cache.get(1L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenRefreshFindsNothing_ShouldRemoveEntry() {
+        Cache<Long, String> cache = cache(Duration.ofMinutes(10), null, Duration.ofMinutes(1));
+        cache.refreshWith(key -> null, Runnable::run);
+        cache.put(1L, "deleted");
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("deleted", cache.get(1L));
+
+        assertFalse(cache.containsKey(1L));
+    }
+
+    @Test
+    void completeRefresh_WhenEntryWrittenMeanwhile_ShouldKeepNewerValue() {
+        Cache<Long, String> cache = cache(Duration.ofMinutes(10), null, Duration.ofMinutes(1));
+        List<Runnable> pending = new ArrayList<>();
+        cache.refreshWith(key -> "reloaded", pending::add);
+        cache.put(1L, "old");
+        advance(Duration.ofMinutes(2));
+        cache.get(1L);
+
+        cache.put(1L, "written");
+        pending.getFirst().run();
+
+        assertEquals("written", cache.get(1L));
+    }
+
+    @Test
+    void constructor_WhenDurationNotPositive_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> cache(Duration.ZERO, null, null));
+    }
+}
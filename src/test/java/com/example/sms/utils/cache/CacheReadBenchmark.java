@@ -0,0 +1,67 @@
+package com.example.sms.utils.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures hit throughput as reader threads are added, with a single segment (the case where
+ * every hit used to queue on one lock) and with the default striping. Total throughput should
+ * grow with the thread count in both. Run {@link #main} on the test classpath after
+ * {@code mvn test-compile}, it repeats the benchmark for 1, 2, 4 and 8 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheReadBenchmark {
+
+    private static final int KEYS = 1 << 12;
+
+    @Param({"1", "16"})
+    public int concurrencyLevel;
+
+    private Cache<Long, Long> cache;
+
+    @State(Scope.Thread)
+    public static class Reader {
+        long next = ThreadLocalRandom.current().nextInt(KEYS);
+    }
+
+    @Setup
+    public void setUp() {
+        cache = new Cache<>(new CacheSpec(KEYS * 2, concurrencyLevel, EvictionPolicy.W_TINY_LFU));
+        for (long key = 0; key < KEYS; key++) {
+            cache.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Long get(Reader reader) {
+        return cache.get(reader.next++ & (KEYS - 1));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            new Runner(new OptionsBuilder()
+                    .include(CacheReadBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.sms.utils.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTest {
+
+    @Test
+    void put_WhenFull_ShouldEvictLeastFrequentlyUsed() {
+        Cache<Long, String> cache = new Cache<>(3);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(3L);
+
+        cache.put(4L, "four");
+
+        assertFalse(cache.containsKey(2L));
+        assertTrue(cache.containsKey(1L));
+        assertTrue(cache.containsKey(3L));
+        assertTrue(cache.containsKey(4L));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void put_WhenFrequenciesTie_ShouldEvictLeastRecentlyUsed() {
+        Cache<Long, String> cache = new Cache<>(2);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+
+        cache.put(3L, "three");
+
+        assertNull(cache.get(1L));
+        assertEquals("two", cache.get(2L));
+        assertEquals("three", cache.get(3L));
+    }
+
+    @Test
+    void put_WhenKeyExists_ShouldReplaceValueAndCountAccess() {
+        Cache<Long, String> cache = new Cache<>(2);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(1L, "uno");
+
+        cache.put(3L, "three");
+
+        assertEquals("uno", cache.get(1L));
+        assertFalse(cache.containsKey(2L));
+    }
+
+    @Test
+    void remove_WhenLeastFrequentKeyRemoved_ShouldMoveMinimumToNextBucket() {
+        Cache<Long, String> cache = new Cache<>(3);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.get(2L);
+        cache.put(3L, "three");
+        cache.get(3L);
+        cache.get(3L);
+
+        cache.remove(1L);
+
+        assertEquals(2L, cache.findKey());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void clearCache_ShouldDropAllEntries() {
+        Cache<Long, String> cache = new Cache<>(3);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+
+        cache.clearCache();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.findKey());
+        cache.put(3L, "three");
+        assertEquals("three", cache.get(3L));
+    }
+
+    @Test
+    void put_WhenCapacityIsLarge_ShouldKeepSizeBoundedAndHotKeys() {
+        int capacity = 20_000;
+        Cache<Long, Long> cache = new Cache<>(capacity);
+        for (long i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+            cache.get(i);
+        }
+
+        for (long i = 1_000; i < 5 * capacity; i++) {
+            cache.put(i, i);
+        }
+
+        assertEquals(capacity, cache.size());
+        for (long i = 0; i < 1_000; i++) {
+            assertEquals(i, cache.get(i));
+        }
+    }
+
+    @Test
+    void getAll_ShouldReturnPresentKeysInRequestOrder() {
+        Cache<Long, String> cache = new Cache<>(1_000);
+        cache.putAll(Map.of(1L, "one", 2L, "two", 3L, "three"));
+
+        Map<Long, String> found = cache.getAll(List.of(3L, 4L, 1L));
+
+        assertEquals(List.of(3L, 1L), List.copyOf(found.keySet()));
+        assertEquals("one", found.get(1L));
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void putAll_WhenOverCapacity_ShouldStayBounded() {
+        Cache<Long, Long> cache = new Cache<>(100);
+        Map<Long, Long> entries = new HashMap<>();
+        for (long i = 0; i < 1_000; i++) {
+            entries.put(i, i);
+        }
+
+        cache.putAll(entries);
+
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void snapshot_ShouldListLiveEntriesMostFrequentFirst() {
+        Cache<Long, String> cache = new Cache<>(10);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+        cache.get(2L);
+        cache.get(2L);
+        cache.get(3L);
+
+        assertEquals(List.of(2L, 3L, 1L), List.copyOf(cache.snapshot().keySet()));
+        assertEquals(3, cache.stats().hitCount());
+    }
+
+    @Test
+    void putIfGeneration_WhenKeyWrittenOrRemovedMeanwhile_ShouldNotPut() {
+        Cache<Long, String> cache = new Cache<>(10);
+        long beforePut = cache.generation(1L);
+        cache.put(1L, "new");
+        assertFalse(cache.putIfGeneration(1L, "stale", beforePut));
+        assertEquals("new", cache.get(1L));
+
+        long beforeRemove = cache.generation(1L);
+        cache.remove(1L);
+        assertFalse(cache.putIfGeneration(1L, "stale", beforeRemove));
+        assertFalse(cache.containsKey(1L));
+
+        assertTrue(cache.putIfGeneration(1L, "loaded", cache.generation(1L)));
+        assertEquals("loaded", cache.get(1L));
+    }
+
+    @Test
+    void stats_ShouldCountEveryOperation() {
+        Cache<Long, String> cache = new Cache<>(2);
+        cache.put(1L, "one");
+        cache.put(1L, "uno");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+        cache.get(3L);
+        cache.get(4L);
+
+        CacheStats stats = cache.stats();
+        assertEquals(4, stats.putCount());
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.evictionCount());
+        assertEquals(2, stats.size());
+    }
+
+    @Test
+    void constructor_WhenCapacityNotPositive_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new Cache<Long, String>(0));
+    }
+}
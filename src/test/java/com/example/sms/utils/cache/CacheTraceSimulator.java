@@ -0,0 +1,87 @@
+package com.example.sms.utils.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Replays {@code getById} key streams against a {@link Cache} as a read-through cache
+ * and reports the hit rate. Recorded traces are plain text files with one id per line,
+ * run {@link #main} with the trace path and capacity to compare every eviction policy.
+ */
+final class CacheTraceSimulator {
+
+    private CacheTraceSimulator() {
+    }
+
+    static double replay(EvictionPolicy policy, int capacity, long[] trace) {
+        Cache<Long, Long> cache = new Cache<>(
+                new CacheSpec(capacity, CacheSpec.DEFAULT_CONCURRENCY_LEVEL, policy));
+        for (long key : trace) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.stats().hitRate();
+    }
+
+    static long[] load(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+        }
+    }
+
+    /**
+     * Zipf-distributed ids whose hot set moves to a new id range every {@code phaseLength} requests.
+     */
+    static long[] shiftingZipf(int length, int phaseLength, int keySpace, double skew, long seed) {
+        Random random = new Random(seed);
+        double[] cumulative = zipfCumulative(keySpace, skew);
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            long offset = (long) (i / phaseLength) * keySpace;
+            trace[i] = offset + sample(cumulative, random.nextDouble());
+        }
+        return trace;
+    }
+
+    private static double[] zipfCumulative(int keySpace, double skew) {
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < keySpace; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double value) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long[] trace = load(Path.of(args[0]));
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            System.out.printf("%-12s capacity=%d hitRate=%.4f%n", policy, capacity, replay(policy, capacity, trace));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.FeedBackResponse;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheWeightTest {
+
+    private static final Weigher<String, String> BY_LENGTH = (key, value) -> value.length();
+
+    private static Cache<String, String> cache(int capacity, long maximumWeight) {
+        return new Cache<>(new CacheSpec(capacity, 1, EvictionPolicy.LFU).withMaximumWeight(maximumWeight),
+                Ticker.system(), BY_LENGTH);
+    }
+
+    @Test
+    void put_WhenOverWeight_ShouldEvictUntilBudgetHolds() {
+        Cache<String, String> cache = cache(100, 10);
+        cache.put("a", "xxxx");
+        cache.get("a");
+        cache.put("b", "xxxx");
+        cache.put("c", "xxxxx");
+
+        assertEquals(9, cache.weightedSize());
+        assertEquals("xxxx", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    void put_WhenEntryHeavierThanBudget_ShouldNotKeepIt() {
+        Cache<String, String> cache = cache(100, 10);
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+
+        cache.put("a", "x".repeat(11));
+
+        assertNull(cache.get("a"));
+        assertEquals("xxxx", cache.get("b"));
+        assertEquals(4, cache.weightedSize());
+    }
+
+    @Test
+    void put_WhenValueGetsHeavier_ShouldEvictOthers() {
+        Cache<String, String> cache = cache(100, 10);
+        cache.put("a", "xxx");
+        cache.put("b", "xxx");
+        cache.get("b");
+
+        cache.put("b", "xxxxxxxx");
+
+        assertNull(cache.get("a"));
+        assertEquals(8, cache.weightedSize());
+    }
+
+    @Test
+    void remove_ShouldReleaseWeight() {
+        Cache<String, String> cache = cache(100, 10);
+        cache.put("a", "xxx");
+        cache.put("b", "xxx");
+
+        cache.remove("a");
+        assertEquals(3, cache.weightedSize());
+        cache.clearCache();
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    void region_WhenPayloadsAreAdversarial_ShouldStayWithinBudget() {
+        long budget = 64L << 20;
+        RegionCache region = new RegionCache(CacheNames.EMPLOYEES,
+                new CacheSpec(100_000, CacheSpec.DEFAULT_CONCURRENCY_LEVEL, EvictionPolicy.W_TINY_LFU)
+                        .withMaximumWeight(budget));
+        String comment = "x".repeat(400);
+        List<FeedBackResponse> feedBacks = Collections.nCopies(20,
+                new FeedBackResponse(1L, comment, LocalDateTime.of(2025, 1, 1, 9, 0)));
+        AssignmentResponse heavy = new AssignmentResponse(1L, "Assignment", comment, feedBacks);
+
+        for (long id = 0; id < 5_000; id++) {
+            List<AssignmentResponse> assignments = switch ((int) (id % 100)) {
+                case 0 -> Collections.nCopies(500, heavy);
+                case 1, 2, 3, 4, 5, 6, 7, 8, 9 -> Collections.nCopies(20, heavy);
+                default -> List.of();
+            };
+            region.put(id, new EmployeeResponse(id, "First" + id, "Last" + id, "+375290000000",
+                    "employee" + id + "@example.com", assignments));
+            assertTrue(region.weightedSize() <= budget, "weighted size " + region.weightedSize() + " at " + id);
+        }
+
+        Map<Object, Object> entries = region.getNativeCache().snapshot();
+        long expected = 0;
+        RecordWeigher weigher = new RecordWeigher();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            expected += weigher.weigh(entry.getKey(), entry.getValue());
+        }
+        assertEquals(expected, region.weightedSize());
+        assertTrue(region.weightedSize() > budget / 2, "budget should be used, was " + region.weightedSize());
+        assertEquals(budget, region.stats().maximumWeight());
+        assertNull(region.get(0L), "an entry heavier than a segment share must not be cached");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sms.utils.cache;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyIndexTest {
+
+    private static RegionCache employees(int capacity) {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(capacity));
+        cache.trackDependencies(value -> (List<?>) value);
+        return cache;
+    }
+
+    @Test
+    void evictDependents_ShouldEvictOnlyEntriesEmbeddingDependency() {
+        RegionCache cache = employees(10);
+        cache.put(1L, List.of(10L, 20L));
+        cache.put(2L, List.of(20L));
+        cache.put(3L, List.of(30L));
+
+        int evicted = cache.evictDependents(20L);
+
+        assertEquals(2, evicted);
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(0, cache.evictDependents(10L));
+    }
+
+    @Test
+    void get_WhenDependentsEvictedWhileLoading_ShouldServeButNotKeepResult() {
+        RegionCache cache = employees(10);
+
+        assertEquals(List.of(20L), cache.get(1L, () -> {
+            cache.evictDependents(20L);
+            return List.of(20L);
+        }));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void put_WhenValueReplaced_ShouldReindexDependencies() {
+        DependencyIndex index = new DependencyIndex(value -> (List<?>) value);
+        Cache<Object, Object> cache = new Cache<>(10);
+        cache.addListener(index);
+        cache.put(1L, List.of(10L, 20L));
+
+        cache.put(1L, List.of(20L, 30L));
+
+        assertEquals(Set.of(), index.dependentsOf(10L));
+        assertEquals(Set.of(1L), index.dependentsOf(20L));
+        assertEquals(Set.of(1L), index.dependentsOf(30L));
+    }
+
+    @Test
+    void onRemoval_WhenEntryEvictedOrCleared_ShouldDropIndexEntries() {
+        DependencyIndex index = new DependencyIndex(value -> (List<?>) value);
+        Cache<Object, Object> cache = new Cache<>(1);
+        cache.addListener(index);
+        cache.put(1L, List.of(10L));
+
+        cache.put(2L, List.of(20L));
+
+        assertEquals(Set.of(), index.dependentsOf(10L));
+        assertEquals(Set.of(2L), index.dependentsOf(20L));
+
+        cache.clearCache();
+
+        assertEquals(Set.of(), index.dependentsOf(20L));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.FeedBackResponse;
+import com.example.sms.utils.cache.codec.EmployeeResponseCodec;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fills the employees region with the given number of entries (1M by default) once with
+ * every entry on the heap and once with a small heap tier in front of the off-heap store,
+ * then prints retained heap and the GC count and time spent while filling and re-reading.
+ * Run {@link #main} with a fixed heap, e.g. {@code -Xmx4g}, so the collections are comparable.
+ */
+final class OffHeapFootprintComparison {
+
+    private static final int HEAP_TIER_CAPACITY = 10_000;
+
+    private OffHeapFootprintComparison() {
+    }
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long offHeapBytes = args.length > 1 ? Long.parseLong(args[1]) : 2L << 30;
+
+        run("on-heap", new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(entries)), entries);
+
+        RegionCache tiered = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(HEAP_TIER_CAPACITY));
+        tiered.enableOffHeap(new EmployeeResponseCodec(), offHeapBytes);
+        run("off-heap", tiered, entries);
+    }
+
+    private static void run(String label, RegionCache cache, int entries) {
+        try (cache) {
+            System.gc();
+            long heapBefore = usedHeap();
+            long[] gcBefore = gcTotals();
+
+            for (long id = 0; id < entries; id++) {
+                cache.put(id, employee(id));
+            }
+            for (long id = 0; id < entries; id += 97) {
+                cache.get(id);
+            }
+
+            long[] gcAfter = gcTotals();
+            System.gc();
+            long retained = usedHeap() - heapBefore;
+            long offHeap = cache.getOffHeapStore() == null ? 0 : cache.getOffHeapStore().reservedBytes();
+            System.out.printf("%-8s entries=%d heapRetained=%dMB offHeapReserved=%dMB gcCount=%d gcTime=%dms%n",
+                    label, entries, retained >> 20, offHeap >> 20,
+                    gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+        }
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private static EmployeeResponse employee(long id) {
+        return new EmployeeResponse(id, "First" + id, "Last" + id, "+375290000000",
+                "employee" + id + "@example.com",
+                List.of(new AssignmentResponse(id % 500, "Assignment " + (id % 500), "Quarterly report",
+                        List.of(new FeedBackResponse(id, "Reviewed", LocalDateTime.of(2025, 1, 1, 9, 0))))));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.utils.cache.codec.EmployeeResponseCodec;
+import com.example.sms.utils.cache.codec.ValueCodec;
+import com.example.sms.utils.cache.offheap.OffHeapStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTierTest {
+
+    @Test
+    void get_WhenEvictedFromHeap_ShouldServeFromOffHeapAndPromoteOnSecondRead() {
+        try (RegionCache cache = regionWithOffHeap(2)) {
+            cache.put(1L, employee(1L));
+            cache.put(2L, employee(2L));
+            cache.put(3L, employee(3L));
+            Long demoted = cache.getNativeCache().containsKey(1L) ? 2L : 1L;
+
+            assertEquals(1, cache.getOffHeapStore().size());
+            assertEquals(employee(demoted), cache.get(demoted).get());
+            assertFalse(cache.getNativeCache().containsKey(demoted));
+            assertEquals(employee(demoted), cache.get(demoted).get());
+
+            assertTrue(cache.getNativeCache().containsKey(demoted));
+            assertNull(cache.getOffHeapStore().get(demoted));
+        }
+    }
+
+    @Test
+    void evict_ShouldRemoveFromBothTiers() {
+        try (RegionCache cache = regionWithOffHeap(1)) {
+            cache.put(1L, employee(1L));
+            cache.put(2L, employee(2L));
+
+            cache.evict(1L);
+            cache.evict(2L);
+
+            assertNull(cache.get(1L));
+            assertNull(cache.get(2L));
+            assertEquals(0, cache.getOffHeapStore().size());
+        }
+    }
+
+    @Test
+    void clear_ShouldDropOffHeapEntries() {
+        try (RegionCache cache = regionWithOffHeap(1)) {
+            cache.put(1L, employee(1L));
+            cache.put(2L, employee(2L));
+
+            cache.clear();
+
+            assertEquals(0, cache.getOffHeapStore().size());
+        }
+    }
+
+    @Test
+    void get_WhenDemotedEntryPastWriteTtl_ShouldMiss() {
+        AtomicLong now = new AtomicLong();
+        Ticker ticker = now::get;
+        Cache<Object, Object> cache = new Cache<>(
+                new CacheSpec(1, 1, EvictionPolicy.LFU, Duration.ofMinutes(10), null, null), ticker);
+        @SuppressWarnings("unchecked")
+        ValueCodec<Object> codec = (ValueCodec<Object>) (ValueCodec<?>) new EmployeeResponseCodec();
+        try (OffHeapTier tier = new OffHeapTier(new OffHeapStore(1 << 20), codec, ticker,
+                Duration.ofMinutes(10).toNanos())) {
+            cache.addListener(tier);
+            cache.put(1L, employee(1L));
+            now.addAndGet(Duration.ofMinutes(6).toNanos());
+            cache.put(2L, employee(2L));
+
+            assertEquals(employee(1L), tier.get(1L).value());
+            now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+            assertNull(tier.get(1L));
+            assertEquals(0, tier.store().size());
+        }
+    }
+
+    @Test
+    void restore_WhenKeyPutMeanwhile_ShouldKeepNewerValue() {
+        Cache<Object, Object> cache = new Cache<>(10);
+        cache.put(1L, employee(2L));
+
+        assertFalse(cache.restore(1L, employee(1L), 0L, cache.generation(1L)));
+        assertEquals(employee(2L), cache.get(1L));
+    }
+
+    @Test
+    void restore_WhenKeyEvictedSinceGenerationRead_ShouldNotRestore() {
+        Cache<Object, Object> cache = new Cache<>(10);
+        long generation = cache.generation(1L);
+        cache.remove(1L);
+
+        assertFalse(cache.restore(1L, employee(1L), 0L, generation));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void evict_WhenDemotionStillPending_ShouldNotServeOldValue() {
+        Cache<Object, Object> cache = new Cache<>(1);
+        @SuppressWarnings("unchecked")
+        ValueCodec<Object> codec = (ValueCodec<Object>) (ValueCodec<?>) new EmployeeResponseCodec();
+        try (OffHeapTier tier = new OffHeapTier(new OffHeapStore(1 << 20), codec, Ticker.system(), 0)) {
+            cache.addListener(tier);
+            cache.put(1L, employee(1L));
+            cache.put(2L, employee(2L));
+            assertEquals(employee(1L), tier.get(1L).value());
+
+            cache.remove(1L);
+            tier.demotePending();
+
+            assertNull(tier.get(1L));
+            assertEquals(0, tier.store().size());
+        }
+    }
+
+    @Test
+    void evictDependents_WhenOffHeapStoreDropsDemotedEntries_ShouldNotReportThem() {
+        try (RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, new CacheSpec(1, 1, EvictionPolicy.LFU))) {
+            cache.enableOffHeap(new EmployeeResponseCodec(), OffHeapStore.DEFAULT_SLAB_SIZE);
+            cache.trackDependencies(value -> List.of(0L));
+            for (long id = 0; id < 20_000; id++) {
+                cache.put(id, employee(id));
+            }
+            int held = cache.getNativeCache().size() + cache.getOffHeapStore().size();
+
+            assertTrue(cache.getOffHeapStore().evictionCount() > 0);
+            assertEquals(held, cache.evictDependents(0L));
+            assertEquals(0, cache.evictDependents(0L));
+        }
+    }
+
+    @Test
+    void evictDependents_WhenDemotedEntryEvicted_ShouldNotReportItAgain() {
+        try (RegionCache cache = regionWithOffHeap(1)) {
+            cache.trackDependencies(value -> List.of(0L));
+            cache.put(1L, employee(1L));
+            cache.put(2L, employee(2L));
+
+            cache.evict(1L);
+            cache.evict(2L);
+
+            assertEquals(0, cache.evictDependents(0L));
+        }
+    }
+
+    private static RegionCache regionWithOffHeap(int capacity) {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES,
+                new CacheSpec(capacity, 1, EvictionPolicy.LFU));
+        cache.enableOffHeap(new EmployeeResponseCodec(), 1 << 20);
+        return cache;
+    }
+
+    private static EmployeeResponse employee(Long id) {
+        return new EmployeeResponse(id, "First" + id, "Last" + id, "+37529000000" + id,
+                "user" + id + "@example.com", List.of());
+    }
+}
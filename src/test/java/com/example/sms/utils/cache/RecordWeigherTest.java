@@ -0,0 +1,46 @@
+package com.example.sms.utils.cache;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.FeedBackResponse;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordWeigherTest {
+
+    private final RecordWeigher weigher = new RecordWeigher();
+
+    @Test
+    void sizeOf_ShouldCountStringsByEncoding() {
+        assertEquals(24 + 24, RecordWeigher.sizeOf("John"));
+        assertEquals(24 + 24, RecordWeigher.sizeOf("Иван"));
+        assertEquals(24 + 120, RecordWeigher.sizeOf("x".repeat(100)));
+        assertEquals(24 + 216, RecordWeigher.sizeOf("ж".repeat(100)));
+    }
+
+    @Test
+    void weigh_ShouldIncludeKeyAndEntryOverhead() {
+        assertEquals(RecordWeigher.ENTRY_OVERHEAD + 24 + 16, weigher.weigh(1L, Boolean.TRUE));
+    }
+
+    @Test
+    void weigh_ShouldGrowWithTheRecordGraph() {
+        int small = weigher.weigh(1L, employee(2, 2));
+        int large = weigher.weigh(1L, employee(200, 20));
+
+        assertTrue(small > RecordWeigher.ENTRY_OVERHEAD);
+        assertTrue(large > 100L * small, small + " vs " + large);
+    }
+
+    static EmployeeResponse employee(int assignments, int feedBacks) {
+        List<FeedBackResponse> comments = Collections.nCopies(feedBacks,
+                new FeedBackResponse(1L, "Reviewed, see notes", LocalDateTime.of(2025, 1, 1, 9, 0)));
+        return new EmployeeResponse(1L, "John", "Doe", "+375291234567", "john.doe@example.com",
+                Collections.nCopies(assignments,
+                        new AssignmentResponse(1L, "Assignment", "Quarterly report", comments)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.sms.utils.cache;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionCacheManagerTest {
+
+    @Test
+    void getCache_ShouldUseRegionSpecOrDefault() {
+        RegionCacheManager manager = new RegionCacheManager(
+                Map.of(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10)), CacheSpec.ofCapacity(5));
+
+        assertEquals(10, manager.getCache(CacheNames.EMPLOYEES).getNativeCache().getCapacity());
+        assertEquals(5, manager.getCache(CacheNames.ASSIGNMENTS).getNativeCache().getCapacity());
+        assertSame(manager.getCache(CacheNames.ASSIGNMENTS), manager.getCache(CacheNames.ASSIGNMENTS));
+        assertTrue(manager.getCacheNames().contains(CacheNames.ASSIGNMENTS));
+    }
+
+    @Test
+    void get_WhenMissing_ShouldLoadOnceAndCache() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+
+        assertEquals("one", cache.get(1L, () -> "one"));
+        assertEquals("one", cache.get(1L, () -> "other"));
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void get_WhenLoaderFails_ShouldWrapException() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+
+        assertThrows(ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void get_ShouldRecordLoadCountsAndTime() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+
+        cache.get(1L, () -> {
+            Thread.sleep(5);
+            return "one";
+        });
+        assertThrows(ValueRetrievalException.class, () -> cache.get(2L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(1, stats.loadFailureCount());
+        assertTrue(stats.totalLoadTime() >= 5_000_000, "load time " + stats.totalLoadTime());
+        assertTrue(stats.averageLoadPenalty() > 0);
+    }
+
+    @Test
+    void evictIf_ShouldRemoveOnlyMatchingKeys() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEE_SEARCH, CacheSpec.ofCapacity(10));
+        cache.put("JOHN", "a");
+        cache.put("JANE", "b");
+
+        assertEquals(1, cache.evictIf(key -> ((String) key).startsWith("JO")));
+        assertNull(cache.get("JOHN"));
+        assertNotNull(cache.get("JANE"));
+    }
+
+    @Test
+    void get_WhenEvictedWhileLoading_ShouldServeButNotKeepResult() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEE_SEARCH, CacheSpec.ofCapacity(10));
+
+        assertEquals("stale", cache.get("JOHN", () -> {
+            cache.evictIf(key -> true);
+            return "stale";
+        }));
+        assertNull(cache.get("JOHN"));
+    }
+
+    @Test
+    void get_WhenPutWhileLoading_ShouldServeLoadButKeepPutValue() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+
+        assertEquals("stale", cache.get(1L, () -> {
+            cache.put(1L, "updated");
+            return "stale";
+        }));
+        assertEquals("updated", cache.get(1L).get());
+    }
+
+    @Test
+    void get_WhenKeyEvictedWhileLoading_ShouldNotKeepResult() {
+        RegionCache cache = new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(10));
+
+        assertEquals("deleted", cache.get(1L, () -> {
+            cache.evict(1L);
+            return "deleted";
+        }));
+        assertNull(cache.get(1L));
+    }
+}
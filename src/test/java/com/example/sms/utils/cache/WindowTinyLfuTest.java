@@ -0,0 +1,85 @@
+package com.example.sms.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowTinyLfuTest {
+
+    private static CacheSpec tinyLfu(int capacity) {
+        return new CacheSpec(capacity, CacheSpec.DEFAULT_CONCURRENCY_LEVEL, EvictionPolicy.W_TINY_LFU);
+    }
+
+    @Test
+    void put_WhenCandidateIsColder_ShouldKeepFrequentlyUsedEntries() {
+        Cache<Long, Long> cache = new Cache<>(tinyLfu(100));
+        for (long key = 0; key < 100; key++) {
+            cache.put(key, key);
+            cache.get(key);
+            cache.get(key);
+        }
+
+        for (long key = 1_000; key < 1_500; key++) {
+            cache.put(key, key);
+        }
+
+        assertEquals(100, cache.size());
+        int retained = 0;
+        for (long key = 0; key < 100; key++) {
+            if (cache.containsKey(key)) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 95, "retained " + retained);
+    }
+
+    @Test
+    void frequency_WhenCountersAge_ShouldHalveOldPopularity() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(10, sketch.frequency("hot"));
+
+        for (int i = 0; i < 150; i++) {
+            sketch.increment("other-" + i);
+        }
+
+        assertTrue(sketch.frequency("hot") <= 6, "frequency " + sketch.frequency("hot"));
+    }
+
+    @Test
+    void replay_WhenHotSetShifts_ShouldBeatPlainLfu() {
+        long[] trace = CacheTraceSimulator.shiftingZipf(400_000, 50_000, 20_000, 0.9, 42);
+
+        double lfu = CacheTraceSimulator.replay(EvictionPolicy.LFU, 1_000, trace);
+        double tinyLfu = CacheTraceSimulator.replay(EvictionPolicy.W_TINY_LFU, 1_000, trace);
+
+        assertTrue(tinyLfu > lfu, "W-TinyLFU " + tinyLfu + " vs LFU " + lfu);
+    }
+
+    @Test
+    void replay_WhenWorkloadIsStable_ShouldMatchPlainLfu() {
+        long[] trace = CacheTraceSimulator.shiftingZipf(200_000, Integer.MAX_VALUE, 20_000, 0.9, 7);
+
+        double lfu = CacheTraceSimulator.replay(EvictionPolicy.LFU, 1_000, trace);
+        double tinyLfu = CacheTraceSimulator.replay(EvictionPolicy.W_TINY_LFU, 1_000, trace);
+
+        assertTrue(tinyLfu > lfu - 0.02, "W-TinyLFU " + tinyLfu + " vs LFU " + lfu);
+    }
+
+    @Test
+    void clearCache_ShouldResetAllQueues() {
+        Cache<Long, Long> cache = new Cache<>(tinyLfu(10));
+        for (long key = 0; key < 20; key++) {
+            cache.put(key, key);
+        }
+
+        cache.clearCache();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.findKey());
+        cache.put(1L, 1L);
+        assertEquals(1L, cache.get(1L));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.sms.utils.cache.codec;
+
+import com.example.sms.dto.response.AssignmentResponse;
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.dto.response.FeedBackResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeResponseCodecTest {
+
+    private final EmployeeResponseCodec codec = new EmployeeResponseCodec();
+
+    @Test
+    void encode_ShouldRoundTripNestedResponse() {
+        EmployeeResponse employee = new EmployeeResponse(1L, "Иван", "Petrov", "+375291234567",
+                "ivan@example.com", List.of(new AssignmentResponse(10L, "Report", null,
+                        List.of(new FeedBackResponse(100L, "Good", LocalDateTime.of(2025, 3, 1, 12, 30))))));
+
+        assertEquals(employee, Codecs.fromBytes(codec, Codecs.toBytes(codec, employee)));
+    }
+
+    @Test
+    void encode_ShouldPreserveNulls() {
+        EmployeeResponse employee = new EmployeeResponse(null, null, null, null, null, null);
+
+        assertEquals(employee, Codecs.fromBytes(codec, Codecs.toBytes(codec, employee)));
+    }
+}
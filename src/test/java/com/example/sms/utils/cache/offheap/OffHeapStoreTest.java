@@ -0,0 +1,108 @@
+package com.example.sms.utils.cache.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStoreTest {
+
+    @Test
+    void put_ShouldRoundTripBytesAndWriteTime() {
+        try (OffHeapStore store = new OffHeapStore(1 << 20)) {
+            store.put(1L, 42L, new byte[]{1, 2, 3});
+
+            OffHeapStore.Entry entry = store.get(1L);
+
+            assertArrayEquals(new byte[]{1, 2, 3}, entry.bytes());
+            assertEquals(42L, entry.writeTime());
+            assertFalse(entry.hot());
+            assertTrue(store.get(1L).hot());
+            assertNull(store.get(2L));
+        }
+    }
+
+    @Test
+    void remove_ShouldFreeBlockForReuse() {
+        try (OffHeapStore store = new OffHeapStore(1 << 20)) {
+            store.put(1L, 0L, new byte[100]);
+            long allocated = store.allocatedBytes();
+
+            assertTrue(store.remove(1L));
+            assertFalse(store.remove(1L));
+            assertEquals(0, store.allocatedBytes());
+            store.put(2L, 0L, new byte[100]);
+
+            assertEquals(allocated, store.allocatedBytes());
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void put_WhenBudgetExhausted_ShouldDropOtherEntries() {
+        try (OffHeapStore store = new OffHeapStore(64 * 1024, 16 * 1024)) {
+            for (long key = 0; key < 1_000; key++) {
+                assertTrue(store.put(key, 0L, new byte[200]));
+            }
+
+            assertTrue(store.size() < 1_000);
+            assertTrue(store.evictionCount() > 0);
+            assertTrue(store.reservedBytes() <= 64 * 1024);
+            assertNotNull(store.get(999L));
+        }
+    }
+
+    @Test
+    void put_WhenEntryLargerThanBudget_ShouldReject() {
+        try (OffHeapStore store = new OffHeapStore(1024, 1024)) {
+            assertFalse(store.put(1L, 0L, new byte[4096]));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void clear_ShouldDropEntriesAndKeepStoreUsable() {
+        try (OffHeapStore store = new OffHeapStore(1 << 20)) {
+            for (long key = 0; key < 100; key++) {
+                store.put(key, 0L, new byte[64]);
+            }
+
+            store.clear();
+
+            assertEquals(0, store.size());
+            assertEquals(0, store.allocatedBytes());
+            store.put(1L, 7L, new byte[]{9});
+            assertEquals(7L, store.get(1L).writeTime());
+        }
+    }
+
+    @Test
+    void put_WhenEntriesDropped_ShouldReportEvictedKeys() {
+        try (OffHeapStore store = new OffHeapStore(64 * 1024, 16 * 1024)) {
+            List<Long> evicted = new ArrayList<>();
+            store.onEviction(evicted::add);
+            for (long key = 0; key < 1_000; key++) {
+                store.put(key, 0L, new byte[200]);
+            }
+
+            assertEquals(store.evictionCount(), evicted.size());
+            for (long key : evicted) {
+                assertNull(store.get(key));
+            }
+        }
+    }
+
+    @Test
+    void remove_WhenWriteTimeChanged_ShouldKeepNewerEntry() {
+        try (OffHeapStore store = new OffHeapStore(1 << 20)) {
+            store.put(1L, 1L, new byte[]{1});
+            store.put(1L, 2L, new byte[]{2});
+
+            assertFalse(store.remove(1L, 1L));
+            assertEquals(2L, store.get(1L).writeTime());
+            assertTrue(store.remove(1L, 2L));
+            assertNull(store.get(1L));
+        }
+    }
+}
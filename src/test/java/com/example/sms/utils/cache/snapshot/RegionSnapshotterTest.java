@@ -0,0 +1,212 @@
+package com.example.sms.utils.cache.snapshot;
+
+import com.example.sms.dto.response.EmployeeResponse;
+import com.example.sms.utils.cache.CacheNames;
+import com.example.sms.utils.cache.CacheSpec;
+import com.example.sms.utils.cache.EvictionPolicy;
+import com.example.sms.utils.cache.RegionCache;
+import com.example.sms.utils.cache.codec.EmployeeResponseCodec;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    private final EmployeeResponseCodec codec = new EmployeeResponseCodec();
+    private final Map<Long, Long> database = new HashMap<>();
+    private final VersionStamps current = ids -> {
+        Map<Long, Long> current = new HashMap<>();
+        for (Long id : ids) {
+            if (database.containsKey(id)) {
+                current.put(id, database.get(id));
+            }
+        }
+        return current;
+    };
+
+    @Test
+    void restore_ShouldPutBackEntriesWithUnchangedStamp() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(100);
+        RegionStamps sourceStamps = stampsOf(source);
+        for (long id = 1; id <= 3; id++) {
+            put(source, sourceStamps, id, 1L);
+            database.put(id, 1L);
+        }
+
+        assertEquals(3, snapshotter.save(source, codec, sourceStamps));
+        database.put(2L, 2L);
+        database.remove(3L);
+        RegionCache target = region(100);
+
+        assertEquals(1, snapshotter.restore(target, codec, stampsOf(target), current));
+        assertEquals(employee(1L), target.get(1L).get());
+        assertNull(target.get(2L));
+        assertNull(target.get(3L));
+    }
+
+    @Test
+    void restore_WhenCachedValueWasStaleAtSave_ShouldDropIt() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(100);
+        RegionStamps sourceStamps = stampsOf(source);
+        put(source, sourceStamps, 1L, 1L);
+        database.put(1L, 2L);
+
+        snapshotter.save(source, codec, sourceStamps);
+
+        RegionCache target = region(100);
+        assertEquals(0, snapshotter.restore(target, codec, stampsOf(target), current));
+    }
+
+    @Test
+    void save_ShouldSkipValuesWithoutStamp() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(100);
+        RegionStamps sourceStamps = stampsOf(source);
+        put(source, sourceStamps, 1L, 0L);
+        put(source, sourceStamps, 2L, 0L);
+        source.put(2L, employee(2L));
+        source.put(3L, employee(3L));
+
+        assertEquals(1, snapshotter.save(source, codec, sourceStamps));
+        source.evict(1L);
+        assertEquals(0, snapshotter.save(source, codec, sourceStamps));
+    }
+
+    @Test
+    void save_AfterRestore_ShouldWriteRestoredEntriesAgain() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(100);
+        RegionStamps sourceStamps = stampsOf(source);
+        put(source, sourceStamps, 1L, 0L);
+        database.put(1L, 0L);
+        snapshotter.save(source, codec, sourceStamps);
+        RegionCache target = region(100);
+        RegionStamps targetStamps = stampsOf(target);
+
+        assertEquals(1, snapshotter.restore(target, codec, targetStamps, current));
+        assertEquals(1, snapshotter.save(target, codec, targetStamps));
+        RegionCache restoredAgain = region(100);
+        assertEquals(1, snapshotter.restore(restoredAgain, codec, stampsOf(restoredAgain), current));
+    }
+
+    @Test
+    void restore_ShouldKeepAgeIncludingDowntime() throws IOException {
+        Instant savedAt = Instant.parse("2025-01-01T00:00:00Z");
+        RegionSnapshotter before = new RegionSnapshotter(directory, Clock.fixed(savedAt, ZoneOffset.UTC));
+        RegionSnapshotter after = new RegionSnapshotter(directory,
+                Clock.fixed(savedAt.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+        CacheSpec spec = new CacheSpec(100, 1, EvictionPolicy.LFU, Duration.ofMinutes(5), null, null);
+        RegionCache source = new RegionCache(CacheNames.EMPLOYEES, spec);
+        RegionStamps sourceStamps = stampsOf(source);
+        put(source, sourceStamps, 1L, 0L);
+        database.put(1L, 0L);
+        before.save(source, codec, sourceStamps);
+
+        RegionCache early = new RegionCache(CacheNames.EMPLOYEES, spec);
+        RegionCache late = new RegionCache(CacheNames.EMPLOYEES, spec);
+        assertEquals(1, before.restore(early, codec, stampsOf(early), current));
+        assertEquals(0, after.restore(late, codec, stampsOf(late), current));
+    }
+
+    @Test
+    void restore_ShouldStopAtCapacityKeepingHottestEntries() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(3_000);
+        RegionStamps sourceStamps = stampsOf(source);
+        for (long id = 0; id < 2_500; id++) {
+            put(source, sourceStamps, id, 0L);
+            database.put(id, 0L);
+        }
+        source.get(2_499L);
+        source.get(2_499L);
+        snapshotter.save(source, codec, sourceStamps);
+        RegionCache target = region(1);
+
+        assertEquals(1, snapshotter.restore(target, codec, stampsOf(target), current));
+        assertEquals(employee(2_499L), target.get(2_499L).get());
+    }
+
+    @Test
+    void restore_WhenFileTruncated_ShouldRestoreCompleteRecords() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache source = region(100);
+        RegionStamps sourceStamps = stampsOf(source);
+        put(source, sourceStamps, 1L, 0L);
+        put(source, sourceStamps, 2L, 0L);
+        database.put(1L, 0L);
+        database.put(2L, 0L);
+        snapshotter.save(source, codec, sourceStamps);
+        Path file = snapshotter.fileOf(CacheNames.EMPLOYEES);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        RegionCache target = region(100);
+        assertEquals(1, snapshotter.restore(target, codec, stampsOf(target), current));
+    }
+
+    @Test
+    void restore_WhenFileMissingOrForeign_ShouldRestoreNothing() throws IOException {
+        RegionSnapshotter snapshotter = new RegionSnapshotter(directory);
+        RegionCache target = region(100);
+        RegionStamps targetStamps = stampsOf(target);
+
+        assertEquals(0, snapshotter.restore(target, codec, targetStamps, current));
+        Files.write(snapshotter.fileOf(CacheNames.EMPLOYEES), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        assertEquals(0, snapshotter.restore(target, codec, targetStamps, current));
+    }
+
+    @Test
+    void fold_ShouldChangeStampWhenAnyRowChanges() {
+        Object[] first = {1L, 0L, 10L, 0L, 100L, 0L};
+        Object[] second = {1L, 0L, 10L, 0L, 101L, 0L};
+        Object[] secondUpdated = {1L, 0L, 10L, 0L, 101L, 1L};
+        Object[] withoutFeedBack = {1L, 0L, 10L, 0L, null, null};
+        Long stamp = stampOf(first, second);
+
+        assertEquals(stamp, stampOf(second, first));
+        assertNotEquals(stamp, stampOf(first));
+        assertNotEquals(stamp, stampOf(first, secondUpdated));
+        assertNotEquals(stamp, stampOf(withoutFeedBack));
+    }
+
+    private static Long stampOf(Object[]... rows) {
+        return VersionStamps.fold(Arrays.asList(rows)).get(1L);
+    }
+
+    private static RegionCache region(int capacity) {
+        return new RegionCache(CacheNames.EMPLOYEES, CacheSpec.ofCapacity(capacity));
+    }
+
+    private static RegionStamps stampsOf(RegionCache region) {
+        RegionStamps stamps = new RegionStamps(region.getNativeCache().getCapacity());
+        region.getNativeCache().addListener(stamps);
+        return stamps;
+    }
+
+    private static void put(RegionCache region, RegionStamps stamps, long id, long stamp) {
+        EmployeeResponse value = employee(id);
+        stamps.offer(id, value, stamp);
+        region.put(id, value);
+    }
+
+    private static EmployeeResponse employee(long id) {
+        return new EmployeeResponse(id, "First" + id, "Last" + id, null, "user" + id + "@example.com", List.of());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.sms.utils.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private static List<Long> ids(List<PrefixIndex.Hit> hits) {
+        return hits.stream().map(PrefixIndex.Hit::id).toList();
+    }
+
+    private static PrefixIndex phones() {
+        PrefixIndex index = new PrefixIndex();
+        index.replace(List.of(
+                new PrefixIndex.Hit("+375291111111", 1L),
+                new PrefixIndex.Hit("+375331111111", 2L),
+                new PrefixIndex.Hit("+375292222222", 3L),
+                new PrefixIndex.Hit("+375440000000", 4L)), index.sequence());
+        return index;
+    }
+
+    @Test
+    void search_ShouldReturnKeysStartingWithPrefixInKeyOrder() {
+        PrefixIndex index = phones();
+
+        assertEquals(List.of(1L, 3L), ids(index.search("+37529", null, 10)));
+        assertEquals(List.of(1L, 3L, 2L, 4L), ids(index.search("+375", null, 10)));
+        assertEquals(List.of(), ids(index.search("+37530", null, 10)));
+    }
+
+    @Test
+    void search_WithCursor_ShouldPageStrictlyAfterIt() {
+        PrefixIndex index = phones();
+
+        List<PrefixIndex.Hit> first = index.search("+375", null, 2);
+        List<PrefixIndex.Hit> second = index.search("+375", first.get(1), 2);
+
+        assertEquals(List.of(1L, 3L), ids(first));
+        assertEquals(List.of(2L, 4L), ids(second));
+        assertEquals(List.of(), ids(index.search("+375", second.get(1), 2)));
+    }
+
+    @Test
+    void putAndRemove_ShouldOverrideSnapshotUntilCompacted() {
+        PrefixIndex index = phones();
+        index.put(3L, "+375339999999");
+        index.put(5L, "+375291500000");
+        index.remove(1L);
+
+        assertEquals(List.of(5L), ids(index.search("+37529", null, 10)));
+        assertEquals(List.of(2L, 3L), ids(index.search("+37533", null, 10)));
+        assertEquals(3, index.deltaSize());
+
+        index.compact();
+
+        assertEquals(0, index.deltaSize());
+        assertEquals(List.of(5L, 2L, 3L, 4L), ids(index.search("+375", null, 10)));
+    }
+
+    @Test
+    void replace_ShouldKeepChangesNewerThanTheLoad() {
+        PrefixIndex index = phones();
+        index.put(1L, "+375290000001");
+        long loaded = index.sequence();
+        index.put(6L, "+375290000006");
+
+        index.replace(List.of(new PrefixIndex.Hit("+375290000001", 1L)), loaded);
+
+        assertEquals(List.of(1L, 6L), ids(index.search("+37529", null, 10)));
+        assertEquals(1, index.deltaSize());
+    }
+
+    @Test
+    void search_ShouldMatchAMapOfRandomWrites() {
+        PrefixIndex index = new PrefixIndex();
+        Map<Long, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                String key = "k" + random.nextInt(1000);
+                index.put(id, key);
+                expected.put(id, key);
+            }
+            if (i % 1000 == 0) {
+                index.compact();
+            }
+        }
+
+        List<Long> all = new ArrayList<>();
+        PrefixIndex.Hit after = null;
+        List<PrefixIndex.Hit> page;
+        do {
+            page = index.search("k1", after, 7);
+            all.addAll(ids(page));
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        List<Long> wanted = expected.entrySet().stream()
+                .filter(entry -> entry.getValue().startsWith("k1"))
+                .sorted(Map.Entry.<Long, String>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(wanted, all);
+    }
+}
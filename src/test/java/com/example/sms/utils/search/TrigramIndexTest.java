@@ -0,0 +1,78 @@
+package com.example.sms.utils.search;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private static List<Long> ids(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::id).toList();
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixesIgnoringCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "John", "Doe");
+        index.put(2L, "Johanna", "Smith");
+        index.put(3L, "Ivan", "Johnson");
+        index.put(4L, "Anna", "Maria Doelle");
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("jo", 10)));
+        assertEquals(List.of(1L, 3L), ids(index.search("JOHN", 10)));
+        assertEquals(List.of(1L, 4L), ids(index.search("doe", 10)));
+        assertEquals(List.of(1L), ids(index.search(" john   d ", 10)));
+        assertEquals(List.of(4L), ids(index.search("maria d", 10)));
+        assertEquals(List.of(), ids(index.search("ohn", 10)));
+        assertEquals(new TrigramIndex.Match(1L, "John", "Doe"), index.search("john doe", 10).get(0));
+    }
+
+    @Test
+    void search_ShouldStopAtLimitAndIgnoreShortQueries() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 0; id < 100; id++) {
+            index.put(id, "Name" + id, "Last");
+        }
+
+        assertEquals(List.of(0L, 1L, 2L), ids(index.search("name", 3)));
+        assertEquals(List.of(5L, 50L, 51L), ids(index.search("name5", 3)));
+        assertTrue(index.search("n", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+        assertTrue(index.search("name", 0).isEmpty());
+    }
+
+    @Test
+    void putAndRemove_ShouldKeepIndexCurrent() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "John", "Doe");
+        index.put(1L, "Jack", "Doe");
+        index.put(2L, "John", null);
+
+        assertEquals(List.of(2L), ids(index.search("john", 10)));
+        assertEquals(List.of(1L), ids(index.search("jack", 10)));
+
+        index.remove(1L);
+
+        assertTrue(index.search("jack", 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void put_WhenDeadEntriesOutnumberLiveOnes_ShouldCompactAndKeepResults() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 0; id < 3000; id++) {
+            index.put(id, "First" + id, "Last" + id);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (long id = 0; id < 3000; id += 2) {
+                index.put(id, "Renamed" + round + "x" + id, "Last" + id);
+            }
+        }
+
+        assertEquals(3000, index.size());
+        assertEquals(List.of(10L), ids(index.search("renamed2x10 l", 10)));
+        assertTrue(index.search("renamed0x", 10).isEmpty());
+        assertEquals(List.of(11L), ids(index.search("first11 last11", 10)));
+    }
+}